@@ -0,0 +1,33 @@
+package hr.fer.projekt.clique.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs benchmarks of this module with GC profiler attached, so that
+ * allocation rate of every benchmark is reported next to its running
+ * time. Accepts all standard JMH command line options, for example
+ * {@code -p graph=gnp:1000:0.05 BronKerbosch}.
+ */
+public class BenchmarkApplication {
+
+    /**
+     * Runs benchmarks selected by given JMH command line options.
+     *
+     * @param args JMH command line options
+     * @throws CommandLineOptionException if options given are malformed
+     * @throws RunnerException            if benchmarks fail to run
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,78 @@
+package hr.fer.projekt.clique.benchmark;
+
+import hr.fer.projekt.clique.generator.BarabasiAlbertGenerator;
+import hr.fer.projekt.clique.generator.ErdosRenyiGenerator;
+import hr.fer.projekt.clique.generator.GraphGenerator;
+import hr.fer.projekt.clique.generator.MoonMoserGenerator;
+import org.jgrapht.UndirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.SimpleGraph;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Forms benchmark input graphs from textual specifications, which are
+ * used as values of JMH parameters. Supported specifications are:
+ * <p>
+ * 'gnp:&lt;n&gt;:&lt;p&gt;' - random graph with n vertices, where every
+ * edge exists with probability p.
+ * <p>
+ * 'power-law:&lt;n&gt;:&lt;m&gt;' - Barabasi-Albert graph with n vertices,
+ * where every new vertex is connected to m existing vertices, so vertex
+ * degrees follow power law.
+ * <p>
+ * 'moon-moser:&lt;n&gt;' - graph with the largest possible number of
+ * maximal cliques among graphs with n vertices.
+ * <p>
+ * Random graphs are formed with fixed seed, so every benchmark run
+ * measures the same graph.
+ */
+public class BenchmarkGraphs {
+
+    /**
+     * Seed of random generator used for forming random graphs.
+     */
+    private static final long SEED = 42;
+
+    /**
+     * Forms graph described by given specification. Vertices are
+     * Integer objects from 0 to n - 1.
+     *
+     * @param specification graph specification
+     * @return undirected graph
+     * @throws IllegalArgumentException if specification is not supported
+     */
+    public static UndirectedGraph<Integer, DefaultEdge> create(String specification) {
+        String[] parts = specification.split(":");
+        GraphGenerator generator;
+        try {
+            switch (parts[0]) {
+                case "gnp":
+                    generator = new ErdosRenyiGenerator(Integer.parseInt(parts[1]), Double.parseDouble(parts[2]), SEED);
+                    break;
+                case "power-law":
+                    generator = new BarabasiAlbertGenerator(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]), SEED);
+                    break;
+                case "moon-moser":
+                    generator = new MoonMoserGenerator(Integer.parseInt(parts[1]));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported graph specification: " + specification);
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException exception) {
+            throw new IllegalArgumentException("Malformed graph specification: " + specification, exception);
+        }
+
+        UndirectedGraph<Integer, DefaultEdge> graph = new SimpleGraph<>(DefaultEdge.class);
+        for (int i = 0; i < generator.getVertexCount(); i++) {
+            graph.addVertex(i);
+        }
+        try {
+            generator.generate(graph::addEdge);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return graph;
+    }
+}
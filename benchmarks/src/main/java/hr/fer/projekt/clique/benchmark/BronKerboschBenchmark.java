@@ -0,0 +1,57 @@
+package hr.fer.projekt.clique.benchmark;
+
+import hr.fer.projekt.clique.algorithm.BronKerbosch;
+import org.jgrapht.UndirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of complete {@link BronKerbosch} traversal in every mode -
+ * plain, with pivot, with degeneracy ordering and with both - on graphs
+ * described in {@link BenchmarkGraphs}. Tracing is turned off, so only
+ * search and result storage are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BronKerboschBenchmark {
+
+    /**
+     * Specification of benchmark graph.
+     */
+    @Param({"gnp:1000:0.05", "gnp:200:0.3", "power-law:2000:8", "moon-moser:30"})
+    public String graph;
+
+    /**
+     * Algorithm mode - 'plain', 'pivot', 'degeneracy' or 'degeneracy-pivot'.
+     */
+    @Param({"plain", "pivot", "degeneracy", "degeneracy-pivot"})
+    public String mode;
+
+    /**
+     * Benchmark graph.
+     */
+    private UndirectedGraph<Integer, DefaultEdge> input;
+
+    @Setup
+    public void setUp() {
+        input = BenchmarkGraphs.create(graph);
+    }
+
+    @Benchmark
+    public int performTraversal() {
+        SilentOutputEnvironment<Integer> environment = new SilentOutputEnvironment<>();
+        new BronKerbosch<>(
+                input,
+                mode.startsWith("degeneracy"),
+                mode.endsWith("pivot"),
+                environment
+        ).performTraversal();
+        return environment.getMaximalCliques().size();
+    }
+}
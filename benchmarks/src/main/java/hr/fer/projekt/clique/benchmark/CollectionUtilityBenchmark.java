@@ -0,0 +1,71 @@
+package hr.fer.projekt.clique.benchmark;
+
+import hr.fer.projekt.clique.utility.CollectionUtility;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of set operations offered by {@link CollectionUtility}, on
+ * collections of boxed integers which overlap in given fraction of their
+ * elements. First collection is a list and second one a hash set, as
+ * candidate and neighbour collections are during graph traversal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectionUtilityBenchmark {
+
+    /**
+     * Number of elements of each collection.
+     */
+    @Param({"16", "1024", "65536"})
+    public int size;
+
+    /**
+     * Fraction of elements which are present in both collections.
+     */
+    @Param({"0.5"})
+    public double overlap;
+
+    /**
+     * First collection.
+     */
+    private List<Integer> first;
+
+    /**
+     * Second collection.
+     */
+    private Set<Integer> second;
+
+    @Setup
+    public void setUp() {
+        int shift = (int) Math.round(size * (1 - overlap));
+        first = new ArrayList<>();
+        second = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            first.add(i);
+            second.add(i + shift);
+        }
+        Collections.shuffle(first, new Random(size));
+    }
+
+    @Benchmark
+    public Collection<Integer> intersection() {
+        return CollectionUtility.intersection(first, second);
+    }
+
+    @Benchmark
+    public Collection<Integer> union() {
+        return CollectionUtility.union(first, second);
+    }
+
+    @Benchmark
+    public Collection<Integer> removeAll() {
+        return CollectionUtility.removeAll(first, second);
+    }
+}
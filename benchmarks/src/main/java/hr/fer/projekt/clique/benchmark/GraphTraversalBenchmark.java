@@ -0,0 +1,62 @@
+package hr.fer.projekt.clique.benchmark;
+
+import hr.fer.projekt.clique.utility.GraphTraversalUtility;
+import org.jgrapht.UndirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link GraphTraversalUtility} methods used by
+ * Bron-Kerbosch algorithm, on graphs described in {@link BenchmarkGraphs}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphTraversalBenchmark {
+
+    /**
+     * Specification of benchmark graph.
+     */
+    @Param({"gnp:1000:0.05", "gnp:200:0.5", "power-law:10000:8", "moon-moser:60"})
+    public String graph;
+
+    /**
+     * Benchmark graph.
+     */
+    private UndirectedGraph<Integer, DefaultEdge> input;
+
+    /**
+     * All graph vertices, used as candidates of neighbouring vertices.
+     */
+    private List<Integer> candidates;
+
+    /**
+     * Vertex whose neighbours are found in next invocation.
+     */
+    private int vertex;
+
+    @Setup
+    public void setUp() {
+        input = BenchmarkGraphs.create(graph);
+        candidates = new ArrayList<>(input.vertexSet());
+    }
+
+    @Benchmark
+    public Collection<Integer> neighbouringVertices() {
+        vertex = vertex + 1 == candidates.size() ? 0 : vertex + 1;
+        return GraphTraversalUtility.getNeighbouringVertices(input, candidates.get(vertex), candidates);
+    }
+
+    @Benchmark
+    public Collection<Integer> degeneracyOrdering() {
+        return GraphTraversalUtility.getDegeneracyOrdering(input);
+    }
+}
@@ -0,0 +1,102 @@
+package hr.fer.projekt.clique.benchmark;
+
+import hr.fer.projekt.clique.monitoring.SearchStatistics;
+import hr.fer.projekt.clique.output.OutputEnvironment;
+import hr.fer.projekt.clique.output.TraceLevel;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Output environment with tracing turned off, which only keeps results
+ * passed to it. Used in benchmarks, so that measurements do not include
+ * formatting or printing of algorithm steps.
+ *
+ * @param <V> variable type of vertices in graph
+ */
+public class SilentOutputEnvironment<V> implements OutputEnvironment<V> {
+
+    /**
+     * Maximal cliques passed to environment.
+     */
+    private Collection<Set<V>> maximalCliques = Collections.emptyList();
+
+    /**
+     * Maximum cliques passed to environment.
+     */
+    private Collection<Set<V>> maximumCliques = Collections.emptyList();
+
+    /**
+     * Search statistics passed to environment.
+     */
+    private SearchStatistics searchStatistics;
+
+    @Override
+    public TraceLevel getTraceLevel() {
+        return TraceLevel.OFF;
+    }
+
+    @Override
+    public void traversalStarted(String description) {
+    }
+
+    @Override
+    public void degeneracyOrderingComputed(Collection<V> degeneracyOrdering) {
+    }
+
+    @Override
+    public void callEntered(int depth,
+                            Collection<V> potentialClique,
+                            Collection<V> vertexCandidates,
+                            Collection<V> vertexFound) {
+    }
+
+    @Override
+    public void cliqueFound(int depth, Collection<V> clique) {
+    }
+
+    @Override
+    public void branchPruned(int depth, Collection<V> potentialClique) {
+    }
+
+    @Override
+    public void traversalFinished(boolean complete) {
+    }
+
+    @Override
+    public Collection<Set<V>> getMaximalCliques() {
+        return maximalCliques;
+    }
+
+    @Override
+    public void setMaximalCliques(Collection<Set<V>> maximalCliques) {
+        if (maximalCliques == null) {
+            throw new IllegalArgumentException("Maximal cliques passed can not be null.");
+        }
+        this.maximalCliques = maximalCliques;
+    }
+
+    @Override
+    public Collection<Set<V>> getMaximumCliques() {
+        return maximumCliques;
+    }
+
+    @Override
+    public void setMaximumCliques(Collection<Set<V>> maximumCliques) {
+        if (maximumCliques == null) {
+            throw new IllegalArgumentException("Maximum cliques passed can not be null.");
+        }
+        this.maximumCliques = maximumCliques;
+    }
+
+    @Override
+    public SearchStatistics getSearchStatistics() {
+        return searchStatistics;
+    }
+
+    @Override
+    public void setSearchStatistics(SearchStatistics searchStatistics) {
+        this.searchStatistics = searchStatistics;
+    }
+}
@@ -1,14 +1,36 @@
 package hr.fer.projekt.clique;
 
+import hr.fer.projekt.clique.algorithm.BitSetBronKerbosch;
 import hr.fer.projekt.clique.algorithm.BronKerbosch;
+import hr.fer.projekt.clique.algorithm.CliqueCounts;
+import hr.fer.projekt.clique.algorithm.CliqueFinder;
+import hr.fer.projekt.clique.algorithm.ComponentBronKerbosch;
+import hr.fer.projekt.clique.algorithm.IterativeBronKerbosch;
+import hr.fer.projekt.clique.algorithm.MaximumCliqueSolver;
+import hr.fer.projekt.clique.algorithm.ParallelBronKerbosch;
+import hr.fer.projekt.clique.algorithm.PivotStrategy;
+import hr.fer.projekt.clique.algorithm.SearchBudget;
+import hr.fer.projekt.clique.algorithm.SearchHandle;
+import hr.fer.projekt.clique.algorithm.SearchResult;
+import hr.fer.projekt.clique.cache.CachingCliqueFinder;
+import hr.fer.projekt.clique.cache.CliqueCache;
+import hr.fer.projekt.clique.graph.CompactGraph;
+import hr.fer.projekt.clique.input.GraphFormat;
 import hr.fer.projekt.clique.input.GraphLoader;
-import hr.fer.projekt.clique.output.OutputEnvironment;
+import hr.fer.projekt.clique.monitoring.SearchStatistics;
+import hr.fer.projekt.clique.output.TraceLevel;
+import hr.fer.projekt.clique.output.implementation.SpillingOutputEnvironment;
 import hr.fer.projekt.clique.output.implementation.StandardOutputEnvironment;
-import org.jgrapht.Graph;
 import org.jgrapht.graph.DefaultEdge;
 
-import java.nio.file.Path;
+import javax.management.JMException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
 import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Command line application which calculates maximal and maximum cliques
@@ -20,36 +42,434 @@ import java.nio.file.Paths;
  */
 public class Application {
 
+    /**
+     * Path argument which requests graph definition to be read
+     * from standard input.
+     */
+    private static final String STANDARD_INPUT_PATH = "-";
+
+    /**
+     * Prefix of optional argument which selects algorithm engine.
+     */
+    private static final String ENGINE_OPTION = "--engine=";
+
+    /**
+     * Prefix of optional argument which sets number of worker threads
+     * for parallel algorithm engine.
+     */
+    private static final String THREADS_OPTION = "--threads=";
+
+    /**
+     * Optional argument which requests maximal cliques to be printed
+     * as they are found instead of being stored until traversal ends.
+     */
+    private static final String STREAM_OPTION = "--stream";
+
+    /**
+     * Prefix of optional argument which selects pivot strategy.
+     */
+    private static final String PIVOT_STRATEGY_OPTION = "--pivot-strategy=";
+
+    /**
+     * Optional argument which requests only single maximum clique to be
+     * found with branch and bound algorithm.
+     */
+    private static final String MAXIMUM_OPTION = "--maximum";
+
+    /**
+     * Optional argument which requests maximal cliques to be only counted
+     * by their size, without being stored.
+     */
+    private static final String COUNT_OPTION = "--count";
+
+    /**
+     * Prefix of optional argument which sets smallest size of maximal
+     * cliques reported.
+     */
+    private static final String MIN_SIZE_OPTION = "--min-size=";
+
+    /**
+     * Prefix of optional argument which selects format of graph
+     * definition file.
+     */
+    private static final String FORMAT_OPTION = "--format=";
+
+    /**
+     * Prefix of optional argument which selects trace level.
+     */
+    private static final String TRACE_OPTION = "--trace=";
+
+    /**
+     * Optional argument which requests search statistics to be collected
+     * and published over JMX.
+     */
+    private static final String STATISTICS_OPTION = "--statistics";
+
+    /**
+     * Prefix of optional argument which limits traversal time.
+     */
+    private static final String TIME_LIMIT_OPTION = "--time-limit=";
+
+    /**
+     * Prefix of optional argument which limits number of recursive
+     * calls of traversal.
+     */
+    private static final String NODE_LIMIT_OPTION = "--node-limit=";
+
+    /**
+     * Prefix of optional argument which sets directory in which results
+     * are cached.
+     */
+    private static final String CACHE_OPTION = "--cache=";
+
+    /**
+     * Prefix of optional argument which sets directory to which maximal
+     * cliques are written instead of being held in memory.
+     */
+    private static final String SPILL_OPTION = "--spill=";
+
+    /**
+     * Largest total size of cliques cached in memory.
+     */
+    private static final long CACHE_SIZE = 1 << 24;
+
     /**
      * Entry point of a program. Three command line arguments are expected:
-     * 1. path to textual file with graph definition
+     * 1. path to textual file with graph definition, or '-' for graph
+     * definition read from standard input
      * 2. 'true' or 'false' - utilization of degeneracy ordering
      * 3. 'true' or 'false' - utilization of pivot environment
+     * <p>
+     * Optional arguments may follow:
+     * '--engine=standard', '--engine=bitset', '--engine=parallel',
+     * '--engine=components' or '--engine=iterative' - algorithm engine used,
+     * standard engine is used by default; components engine solves every
+     * connected component on its own, iterative engine searches without
+     * recursion
+     * '--threads=<number>' - number of worker threads used by parallel and
+     * components engines, number of available processors is used by default
+     * '--pivot-strategy=tomita', '--pivot-strategy=max-degree' or
+     * '--pivot-strategy=random-sample' - strategy for choosing pivot vertex,
+     * Tomita's strategy is used by default
+     * '--stream' - maximal cliques are printed to standard output as they are
+     * found, without being stored, and maximum cliques are not calculated
+     * '--count' - maximal cliques are only counted by their size, and number
+     * of cliques of every size is printed; tracing is turned off by default
+     * '--min-size=<number>' - standard engine reports only maximal cliques of
+     * at least given size, searching the part of graph which can hold them
+     * '--maximum' - single maximum clique is found by branch and bound algorithm
+     * without enumerating maximal cliques, other options are ignored
+     * '--trace=steps', '--trace=summary' or '--trace=off' - amount of algorithm
+     * steps printed, all steps are printed by default; if tracing is turned off
+     * only number of maximal cliques and clique number are printed
+     * '--format=text', '--format=binary', '--format=edge-list', '--format=dimacs'
+     * or '--format=metis' - format of graph definition file, recognized by file
+     * extension by default; graph read from standard input is always textual
+     * '--statistics' - search statistics of standard engine are collected,
+     * published as JMX MBean while traversal runs and printed after it ends
+     * '--time-limit=<milliseconds>' and '--node-limit=<number>' - standard engine
+     * stops once traversal takes longer or visits more recursive calls, and
+     * cliques found until then are reported as partial results
+     * '--cache=<directory>' - results are read from given directory if the same
+     * graph was traversed before and stored there otherwise; cache is not used
+     * while all steps are printed, traversal is limited or minimum size is set
+     * '--spill=<directory>' - maximal cliques are written to files in given
+     * directory as they are found, so their number is not limited by memory;
+     * only number of maximal cliques and clique number are printed
      *
      * @param args command line arguments
      */
     public static void main(String[] args) {
 
-        if (args.length != 3) {
+        if (args.length < 3) {
             System.err.println("Three command line arguments expected. ");
             System.exit(1);
         }
 
-        Path path = Paths.get(args[0]);
         boolean utilizeDegeneracyOrdering = Boolean.parseBoolean(args[1]);
         boolean utilizePivotEnvironment = Boolean.parseBoolean(args[2]);
 
-        OutputEnvironment<String> outputEnvironment = StandardOutputEnvironment.getInstance();
+        String engine = "standard";
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean stream = false;
+        PivotStrategy pivotStrategy = PivotStrategy.TOMITA;
+        boolean maximum = false;
+        boolean count = false;
+        int minSize = 0;
+        TraceLevel traceLevel = null;
+        GraphFormat format = null;
+        boolean statistics = false;
+        SearchBudget budget = SearchBudget.UNLIMITED;
+        String cacheDirectory = null;
+        String spillDirectory = null;
+        for (int i = 3; i < args.length; i++) {
+            if (args[i].startsWith(ENGINE_OPTION)) {
+                engine = args[i].substring(ENGINE_OPTION.length());
+            } else if (args[i].startsWith(THREADS_OPTION)) {
+                threads = parsePositive(args[i].substring(THREADS_OPTION.length()));
+            } else if (args[i].startsWith(PIVOT_STRATEGY_OPTION)) {
+                pivotStrategy = parsePivotStrategy(args[i].substring(PIVOT_STRATEGY_OPTION.length()));
+            } else if (args[i].equals(STREAM_OPTION)) {
+                stream = true;
+            } else if (args[i].equals(COUNT_OPTION)) {
+                count = true;
+            } else if (args[i].startsWith(MIN_SIZE_OPTION)) {
+                minSize = parsePositive(args[i].substring(MIN_SIZE_OPTION.length()));
+            } else if (args[i].equals(MAXIMUM_OPTION)) {
+                maximum = true;
+            } else if (args[i].startsWith(FORMAT_OPTION)) {
+                format = parseFormat(args[i].substring(FORMAT_OPTION.length()));
+            } else if (args[i].equals(STATISTICS_OPTION)) {
+                statistics = true;
+            } else if (args[i].startsWith(TIME_LIMIT_OPTION)) {
+                budget = budget.withTime(parsePositive(args[i].substring(TIME_LIMIT_OPTION.length())), TimeUnit.MILLISECONDS);
+            } else if (args[i].startsWith(NODE_LIMIT_OPTION)) {
+                budget = budget.withNodes(parsePositive(args[i].substring(NODE_LIMIT_OPTION.length())));
+            } else if (args[i].startsWith(CACHE_OPTION)) {
+                cacheDirectory = args[i].substring(CACHE_OPTION.length());
+            } else if (args[i].startsWith(SPILL_OPTION)) {
+                spillDirectory = args[i].substring(SPILL_OPTION.length());
+            } else if (args[i].startsWith(TRACE_OPTION)) {
+                traceLevel = parseTraceLevel(args[i].substring(TRACE_OPTION.length()));
+            } else {
+                System.err.println("Unknown argument: " + args[i]);
+                System.exit(1);
+            }
+        }
+
+        if (traceLevel == null) {
+            traceLevel = count ? TraceLevel.OFF : TraceLevel.STEPS;
+        }
+        if (count && (stream || spillDirectory != null)) {
+            System.err.println("Counting can not be combined with streaming or spilling of cliques.");
+            System.exit(1);
+        }
+
+        StandardOutputEnvironment<String> outputEnvironment = StandardOutputEnvironment.getInstance();
+        outputEnvironment.setTraceLevel(traceLevel);
 
         GraphLoader graphLoader = GraphLoader.getGraphLoader();
-        Graph<String, DefaultEdge> graph = graphLoader.loadStringGraph(path);
+        CompactGraph<String> graph;
+        if (args[0].equals(STANDARD_INPUT_PATH)) {
+            graph = graphLoader.loadCompactGraph(Channels.newChannel(System.in));
+        } else if (format != null) {
+            graph = graphLoader.loadCompactGraph(Paths.get(args[0]), format);
+        } else {
+            graph = graphLoader.loadCompactGraph(Paths.get(args[0]));
+        }
 
-        BronKerbosch<String, DefaultEdge> bronKerbosch = new BronKerbosch<>(
-                graph,
-                utilizeDegeneracyOrdering,
-                utilizePivotEnvironment,
-                outputEnvironment);
+        if (maximum) {
+            MaximumCliqueSolver<String> solver = new MaximumCliqueSolver<>(graph, outputEnvironment);
+            solver.performTraversal();
+            if (traceLevel == TraceLevel.OFF) {
+                System.out.println("Clique number: " + solver.getCliqueNumber());
+            }
+            return;
+        }
+
+        if (budget != SearchBudget.UNLIMITED && (!engine.equals("standard") || stream || count || spillDirectory != null)) {
+            System.err.println("Traversal limits are supported by standard engine storing cliques only.");
+            System.exit(1);
+        }
+
+        if (minSize > 0 && !engine.equals("standard")) {
+            System.err.println("Minimum clique size is supported by standard engine only.");
+            System.exit(1);
+        }
 
-        bronKerbosch.performTraversal();
+        SearchStatistics searchStatistics = null;
+        if (statistics) {
+            if (!engine.equals("standard")) {
+                System.err.println("Search statistics are collected by standard engine only.");
+                System.exit(1);
+            }
+            searchStatistics = new SearchStatistics();
+            try {
+                searchStatistics.register(args[0]);
+            } catch (JMException exception) {
+                System.err.println("Could not publish search statistics: " + exception.getMessage());
+            }
+        }
+
+        CliqueFinder<String> cliqueFinder;
+        BronKerbosch<String, DefaultEdge> limitedBronKerbosch = null;
+        switch (engine) {
+            case "standard":
+                BronKerbosch<String, DefaultEdge> bronKerbosch = new BronKerbosch<>(
+                        graph.toGraph(),
+                        utilizeDegeneracyOrdering,
+                        utilizePivotEnvironment,
+                        outputEnvironment);
+                bronKerbosch.setPivotStrategy(pivotStrategy);
+                bronKerbosch.setSearchStatistics(searchStatistics);
+                bronKerbosch.setMinimumCliqueSize(minSize);
+                cliqueFinder = bronKerbosch;
+                limitedBronKerbosch = budget != SearchBudget.UNLIMITED ? bronKerbosch : null;
+                break;
+            case "bitset":
+                BitSetBronKerbosch<String> bitSetBronKerbosch = new BitSetBronKerbosch<>(
+                        graph,
+                        utilizeDegeneracyOrdering,
+                        utilizePivotEnvironment,
+                        outputEnvironment);
+                bitSetBronKerbosch.setPivotStrategy(pivotStrategy);
+                cliqueFinder = bitSetBronKerbosch;
+                break;
+            case "parallel":
+                ParallelBronKerbosch<String> parallelBronKerbosch = new ParallelBronKerbosch<>(
+                        graph,
+                        utilizeDegeneracyOrdering,
+                        utilizePivotEnvironment,
+                        outputEnvironment,
+                        threads);
+                parallelBronKerbosch.setPivotStrategy(pivotStrategy);
+                cliqueFinder = parallelBronKerbosch;
+                break;
+            case "iterative":
+                IterativeBronKerbosch<String> iterativeBronKerbosch = new IterativeBronKerbosch<>(
+                        graph,
+                        utilizeDegeneracyOrdering,
+                        utilizePivotEnvironment,
+                        outputEnvironment);
+                iterativeBronKerbosch.setPivotStrategy(pivotStrategy);
+                cliqueFinder = iterativeBronKerbosch;
+                break;
+            case "components":
+                ComponentBronKerbosch<String> componentBronKerbosch = new ComponentBronKerbosch<>(
+                        graph,
+                        utilizeDegeneracyOrdering,
+                        utilizePivotEnvironment,
+                        outputEnvironment,
+                        threads);
+                componentBronKerbosch.setPivotStrategy(pivotStrategy);
+                cliqueFinder = componentBronKerbosch;
+                break;
+            default:
+                System.err.println("Unknown engine: " + engine);
+                System.exit(1);
+                return;
+        }
+
+        // Cached results hold all maximal cliques of graph.
+        if (cacheDirectory != null && minSize == 0) {
+            cliqueFinder = new CachingCliqueFinder<>(
+                    graph,
+                    cliqueFinder,
+                    outputEnvironment,
+                    new CliqueCache<>(CACHE_SIZE, Paths.get(cacheDirectory)));
+        }
+
+        if (count) {
+            CliqueCounts cliqueCounts = cliqueFinder.countCliques();
+            System.out.println(cliqueCounts);
+        } else if (spillDirectory != null) {
+            try (SpillingOutputEnvironment<String> spillingOutputEnvironment =
+                         new SpillingOutputEnvironment<>(graph.getVertices(), Paths.get(spillDirectory))) {
+                cliqueFinder.performTraversal(spillingOutputEnvironment);
+                System.out.println("Maximal cliques written: " + spillingOutputEnvironment.getCliqueCount()
+                        + ", clique number: " + spillingOutputEnvironment.getCliqueNumber());
+            } catch (IOException | UncheckedIOException exception) {
+                System.err.println("Could not write maximal cliques: " + exception.getMessage());
+                System.exit(1);
+            }
+        } else if (stream) {
+            cliqueFinder.performTraversal(clique -> {
+                synchronized (System.out) {
+                    System.out.println("Maximal clique: " + clique);
+                }
+                return true;
+            });
+        } else if (limitedBronKerbosch != null) {
+            SearchResult<String> result = limitedBronKerbosch.performTraversal(new SearchHandle(budget));
+            if (traceLevel == TraceLevel.OFF) {
+                System.out.println("Maximal cliques found: " + result.getMaximalCliques().size()
+                        + ", largest clique found: " + result.getLargestClique().size()
+                        + (result.isComplete() ? "" : ", traversal stopped before completion"));
+            }
+        } else {
+            cliqueFinder.performTraversal();
+            if (traceLevel == TraceLevel.OFF) {
+                Collection<Set<String>> maximumCliques = outputEnvironment.getMaximumCliques();
+                System.out.println("Maximal cliques found: " + outputEnvironment.getMaximalCliques().size()
+                        + ", clique number: "
+                        + (maximumCliques.isEmpty() ? 0 : maximumCliques.iterator().next().size()));
+            }
+        }
+
+        // Statistics are printed by output environment unless tracing is off.
+        if (searchStatistics != null && traceLevel == TraceLevel.OFF) {
+            System.out.println(searchStatistics);
+        }
+    }
+
+    /**
+     * Parses graph definition format given as command line argument,
+     * terminating application if value given does not name a format.
+     *
+     * @param value textual value, such as 'edge-list'
+     * @return parsed format
+     */
+    private static GraphFormat parseFormat(String value) {
+        try {
+            return GraphFormat.valueOf(value.toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException exception) {
+            System.err.println("Unknown graph format: " + value);
+            System.exit(1);
+            return null;
+        }
+    }
+
+    /**
+     * Parses trace level given as command line argument, terminating
+     * application if value given does not name a trace level.
+     *
+     * @param value textual value, such as 'summary'
+     * @return parsed trace level
+     */
+    private static TraceLevel parseTraceLevel(String value) {
+        try {
+            return TraceLevel.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException exception) {
+            System.err.println("Unknown trace level: " + value);
+            System.exit(1);
+            return null;
+        }
+    }
+
+    /**
+     * Parses pivot strategy given as command line argument, terminating
+     * application if value given does not name a pivot strategy.
+     *
+     * @param value textual value, such as 'max-degree'
+     * @return parsed pivot strategy
+     */
+    private static PivotStrategy parsePivotStrategy(String value) {
+        try {
+            return PivotStrategy.valueOf(value.toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException exception) {
+            System.err.println("Unknown pivot strategy: " + value);
+            System.exit(1);
+            return null;
+        }
+    }
+
+    /**
+     * Parses positive number given as command line argument, terminating
+     * application if value given is not a positive number.
+     *
+     * @param value textual value
+     * @return parsed number
+     */
+    private static int parsePositive(String value) {
+        try {
+            int number = Integer.parseInt(value);
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException ignorable) {
+        }
+        System.err.println("Positive number expected: " + value);
+        System.exit(1);
+        return 0;
     }
 }
@@ -183,7 +183,7 @@ public class ApplicationGUI extends JFrame {
                 fileChooser.setAcceptAllFileFilterUsed(false);
                 fileChooser.setFileFilter(new FileNameExtensionFilter(
                         "Graph definitions only",
-                        GraphLoader.SUPPORTED_EXTENSION)
+                        GraphLoader.SUPPORTED_EXTENSIONS.toArray(new String[0]))
                 );
                 int result = fileChooser.showDialog(null, null);
 
@@ -0,0 +1,342 @@
+package hr.fer.projekt.clique;
+
+import hr.fer.projekt.clique.algorithm.BitSetBronKerbosch;
+import hr.fer.projekt.clique.algorithm.BronKerbosch;
+import hr.fer.projekt.clique.algorithm.CliqueFinder;
+import hr.fer.projekt.clique.graph.CompactGraph;
+import hr.fer.projekt.clique.input.GraphFormat;
+import hr.fer.projekt.clique.input.GraphLoader;
+import hr.fer.projekt.clique.input.Utility;
+import hr.fer.projekt.clique.output.TraceLevel;
+import hr.fer.projekt.clique.output.implementation.TextOutputEnvironment;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Command line application which calculates number of maximal cliques
+ * and clique number of many graphs within a single run, printing one
+ * summary line per graph. Graphs are processed as a pipeline - while
+ * some graphs are loaded, others are traversed on a bounded pool of
+ * worker threads and summaries of finished ones are written, in order
+ * in which graphs were given. Number of graphs loaded but not yet
+ * summarized is bounded, so memory used does not depend on number of
+ * graphs.
+ */
+public class BatchApplication {
+
+    /**
+     * Prefix of optional argument which sets number of worker threads.
+     */
+    private static final String THREADS_OPTION = "--threads=";
+
+    /**
+     * Prefix of optional argument which selects algorithm engine.
+     */
+    private static final String ENGINE_OPTION = "--engine=";
+
+    /**
+     * Prefix of optional argument which selects format of graph
+     * definition files.
+     */
+    private static final String FORMAT_OPTION = "--format=";
+
+    /**
+     * Number of graphs in pipeline per worker thread.
+     */
+    private static final int GRAPHS_PER_THREAD = 2;
+
+    /**
+     * Entry point of a program. Three command line arguments are expected:
+     * 1. graphs processed - directory, whose files with supported extensions
+     * are processed, glob pattern, such as 'graphs/*.clq', or manifest file,
+     * which lists paths of graph definition files one per line, relative to
+     * manifest; empty lines and lines starting with '#' are skipped
+     * 2. 'true' or 'false' - utilization of degeneracy ordering
+     * 3. 'true' or 'false' - utilization of pivot environment
+     * <p>
+     * Optional arguments may follow:
+     * '--threads=&lt;number&gt;' - number of worker threads, number of available
+     * processors is used by default
+     * '--engine=standard' or '--engine=bitset' - algorithm engine used, standard
+     * engine is used by default
+     * '--format=text', '--format=binary', '--format=edge-list', '--format=dimacs'
+     * or '--format=metis' - format of all graph definition files, recognized by
+     * file extension by default
+     * <p>
+     * Every summary line holds tab separated path of graph definition file,
+     * number of maximal cliques, clique number and traversal time in
+     * milliseconds. Graphs which can not be loaded are reported with error
+     * message instead, and application exits with status 1 once all other
+     * graphs are processed.
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+
+        if (args.length < 3) {
+            exit("Three command line arguments expected. ");
+        }
+
+        boolean utilizeDegeneracyOrdering = Boolean.parseBoolean(args[1]);
+        boolean utilizePivotEnvironment = Boolean.parseBoolean(args[2]);
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        String engine = "standard";
+        GraphFormat format = null;
+        for (int i = 3; i < args.length; i++) {
+            if (args[i].startsWith(THREADS_OPTION)) {
+                try {
+                    threads = Integer.parseInt(args[i].substring(THREADS_OPTION.length()));
+                } catch (NumberFormatException exception) {
+                    threads = 0;
+                }
+                if (threads <= 0) {
+                    exit("Positive number of threads expected: " + args[i]);
+                }
+            } else if (args[i].startsWith(ENGINE_OPTION)) {
+                engine = args[i].substring(ENGINE_OPTION.length());
+                if (!engine.equals("standard") && !engine.equals("bitset")) {
+                    exit("Unknown engine: " + engine);
+                }
+            } else if (args[i].startsWith(FORMAT_OPTION)) {
+                try {
+                    format = GraphFormat.valueOf(args[i].substring(FORMAT_OPTION.length()).toUpperCase().replace('-', '_'));
+                } catch (IllegalArgumentException exception) {
+                    exit("Unknown graph format: " + args[i]);
+                }
+            } else {
+                exit("Unknown argument: " + args[i]);
+            }
+        }
+
+        List<Path> paths = null;
+        try {
+            paths = findGraphFiles(args[0]);
+        } catch (IOException | InvalidPathException exception) {
+            exit("Could not list graph definition files: " + exception.getMessage());
+        }
+
+        ExecutorService loaders = Executors.newFixedThreadPool(threads, BatchApplication::daemonThread);
+        ExecutorService solvers = Executors.newFixedThreadPool(threads, BatchApplication::daemonThread);
+        Deque<Path> pendingPaths = new ArrayDeque<>();
+        Deque<CompletableFuture<String>> pending = new ArrayDeque<>();
+        boolean failed = false;
+
+        for (Path path : paths) {
+            if (pending.size() >= threads * GRAPHS_PER_THREAD) {
+                failed |= write(pendingPaths.removeFirst(), pending.removeFirst());
+            }
+            GraphFormat graphFormat = format;
+            String solverEngine = engine;
+            pendingPaths.addLast(path);
+            pending.addLast(CompletableFuture
+                    .supplyAsync(() -> load(path, graphFormat), loaders)
+                    .thenApplyAsync(graph -> solve(graph, solverEngine,
+                            utilizeDegeneracyOrdering, utilizePivotEnvironment), solvers));
+        }
+        while (!pending.isEmpty()) {
+            failed |= write(pendingPaths.removeFirst(), pending.removeFirst());
+        }
+
+        loaders.shutdown();
+        solvers.shutdown();
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Waits for summary of a graph and writes it to standard output.
+     *
+     * @param path    path to file with graph definition
+     * @param summary summary of a graph
+     * @return true if graph could not be processed, false otherwise
+     */
+    private static boolean write(Path path, CompletableFuture<String> summary) {
+        try {
+            System.out.println(path + "\t" + summary.join());
+            return false;
+        } catch (CompletionException exception) {
+            Throwable cause = exception.getCause() == null ? exception : exception.getCause();
+            System.out.println(path + "\terror: " + cause);
+            return true;
+        }
+    }
+
+    /**
+     * Finds graph definition files described by given command line argument.
+     *
+     * @param input directory, glob pattern or manifest file
+     * @return paths of graph definition files, in order of processing
+     * @throws IOException if directory or manifest can not be read
+     */
+    private static List<Path> findGraphFiles(String input) throws IOException {
+
+        int globStart = findGlobStart(input);
+        if (globStart >= 0) {
+            String fileSeparator = FileSystems.getDefault().getSeparator();
+            int separator = Math.max(input.lastIndexOf('/', globStart), input.lastIndexOf(fileSeparator, globStart));
+            Path directory = Paths.get(separator < 0 ? "" : input.substring(0, separator + 1));
+            String pattern = input.substring(separator + 1);
+            if (pattern.contains("**")) {
+                return findMatchingFiles(directory, input, Integer.MAX_VALUE);
+            }
+            int depth = 1;
+            for (int i = 0; i < pattern.length(); i++) {
+                if (pattern.charAt(i) == '/' || fileSeparator.indexOf(pattern.charAt(i)) >= 0) {
+                    depth++;
+                }
+            }
+            if (depth > 1) {
+                return findMatchingFiles(directory, input, depth);
+            }
+
+            List<Path> paths = new ArrayList<>();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, pattern)) {
+                for (Path file : files) {
+                    if (Files.isRegularFile(file)) {
+                        paths.add(file);
+                    }
+                }
+            }
+            Collections.sort(paths);
+            return paths;
+        }
+
+        Path path = Paths.get(input);
+        if (Files.isDirectory(path)) {
+            try (Stream<Path> files = Files.list(path)) {
+                return files
+                        .filter(file -> Files.isRegularFile(file) && isGraphFile(file))
+                        .sorted()
+                        .collect(Collectors.toList());
+            }
+        }
+
+        List<Path> paths = new ArrayList<>();
+        Path directory = path.toAbsolutePath().getParent();
+        for (String line : Files.readAllLines(path)) {
+            line = line.trim();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                paths.add(directory.resolve(line));
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * Finds files matching glob pattern which spans several directory
+     * levels. Walk does not descend below number of levels which pattern
+     * can match.
+     *
+     * @param directory directory preceding first glob special character
+     * @param glob      glob pattern matched against whole path
+     * @param depth     maximum number of levels below directory to visit
+     * @return sorted paths of matching files
+     * @throws IOException if directory can not be read
+     */
+    private static List<Path> findMatchingFiles(Path directory, String glob, int depth) throws IOException {
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        try (Stream<Path> files = Files.walk(directory, depth)) {
+            return files
+                    .filter(path -> Files.isRegularFile(path) && matcher.matches(path))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Finds index of first glob special character in given argument.
+     *
+     * @param input command line argument
+     * @return index of first special character, -1 if there is none
+     */
+    private static int findGlobStart(String input) {
+        for (int i = 0; i < input.length(); i++) {
+            if ("*?[{".indexOf(input.charAt(i)) >= 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isGraphFile(Path path) {
+        String extension = Utility.getFileExtension(path.getFileName().toString());
+        return extension != null && GraphFormat.forExtension(extension) != null;
+    }
+
+    /**
+     * Loads graph from given file.
+     *
+     * @param path   path to file with graph definition
+     * @param format format of file, null if it should be recognized by
+     *               file extension
+     * @return undirected String graph in compact representation
+     * @throws hr.fer.projekt.clique.input.exception.GraphLoaderException
+     *         if graph can not be loaded
+     */
+    private static CompactGraph<String> load(Path path, GraphFormat format) {
+        GraphLoader graphLoader = GraphLoader.getGraphLoader();
+        return format == null
+                ? graphLoader.loadCompactGraph(path)
+                : graphLoader.loadCompactGraph(path, format);
+    }
+
+    /**
+     * Traverses given graph, counting maximal cliques as they are found
+     * without storing them.
+     *
+     * @param graph                     graph traversed
+     * @param engine                    name of algorithm engine
+     * @param utilizeDegeneracyOrdering utilization of degeneracy ordering
+     * @param utilizePivotEnvironment   utilization of pivot environment
+     * @return tab separated number of maximal cliques, clique number and
+     * traversal time in milliseconds
+     */
+    private static String solve(CompactGraph<String> graph,
+                                String engine,
+                                boolean utilizeDegeneracyOrdering,
+                                boolean utilizePivotEnvironment) {
+        TextOutputEnvironment<String> outputEnvironment = new TextOutputEnvironment<String>() {
+            @Override
+            protected void output(String text) {
+            }
+        };
+        outputEnvironment.setTraceLevel(TraceLevel.OFF);
+
+        long start = System.nanoTime();
+        CliqueFinder<String> cliqueFinder = engine.equals("bitset")
+                ? new BitSetBronKerbosch<>(graph, utilizeDegeneracyOrdering, utilizePivotEnvironment, outputEnvironment)
+                : new BronKerbosch<>(graph.toGraph(), utilizeDegeneracyOrdering, utilizePivotEnvironment, outputEnvironment);
+
+        long[] cliqueCount = new long[1];
+        int[] cliqueNumber = new int[1];
+        cliqueFinder.performTraversal(clique -> {
+            cliqueCount[0]++;
+            cliqueNumber[0] = Math.max(cliqueNumber[0], clique.size());
+            return true;
+        });
+        long time = System.nanoTime() - start;
+
+        return cliqueCount[0] + "\t" + cliqueNumber[0] + "\t" + String.format(Locale.ROOT, "%.3f", time / 1e6);
+    }
+
+    private static Thread daemonThread(Runnable runnable) {
+        Thread thread = new Thread(runnable);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static void exit(String message) {
+        System.err.println(message);
+        System.exit(1);
+    }
+}
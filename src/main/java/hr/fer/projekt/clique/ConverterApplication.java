@@ -0,0 +1,62 @@
+package hr.fer.projekt.clique;
+
+import hr.fer.projekt.clique.graph.CompactGraph;
+import hr.fer.projekt.clique.input.BinaryGraphFormat;
+import hr.fer.projekt.clique.input.GraphLoader;
+import hr.fer.projekt.clique.input.exception.GraphLoaderException;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Paths;
+
+/**
+ * Command line application which converts graph definition into
+ * {@link BinaryGraphFormat binary format}, so that later runs of
+ * clique algorithms can load graph without parsing text.
+ */
+public class ConverterApplication {
+
+    /**
+     * Path argument which requests graph definition to be read
+     * from standard input.
+     */
+    private static final String STANDARD_INPUT_PATH = "-";
+
+    /**
+     * Entry point of a program. Two command line arguments are expected:
+     * 1. path to file with graph definition, or '-' for textual graph
+     * definition read from standard input
+     * 2. path of binary graph definition file written
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+
+        if (args.length != 2) {
+            System.err.println("Two command line arguments expected. ");
+            System.exit(1);
+        }
+
+        GraphLoader graphLoader = GraphLoader.getGraphLoader();
+        CompactGraph<String> graph;
+        try {
+            graph = args[0].equals(STANDARD_INPUT_PATH)
+                    ? graphLoader.loadCompactGraph(Channels.newChannel(System.in))
+                    : graphLoader.loadCompactGraph(Paths.get(args[0]));
+        } catch (GraphLoaderException exception) {
+            System.err.println("Could not load graph definition: " + exception.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        try {
+            BinaryGraphFormat.write(graph, Paths.get(args[1]));
+        } catch (IOException exception) {
+            System.err.println("Could not write binary graph definition: " + exception.getMessage());
+            System.exit(1);
+        }
+
+        System.out.println("Converted graph with " + graph.getVertexCount() + " vertices and "
+                + graph.getEdgeCount() + " edges.");
+    }
+}
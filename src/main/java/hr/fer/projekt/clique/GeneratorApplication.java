@@ -0,0 +1,195 @@
+package hr.fer.projekt.clique;
+
+import hr.fer.projekt.clique.generator.*;
+import hr.fer.projekt.clique.input.GraphFormat;
+import hr.fer.projekt.clique.input.Utility;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line application which generates synthetic graphs with
+ * controlled properties and writes them as they are generated, so that
+ * graphs larger than available memory can be produced. Generation is
+ * seeded, so the same arguments always produce the same file.
+ */
+public class GeneratorApplication {
+
+    /**
+     * Path argument which requests graph definition to be written
+     * to standard output.
+     */
+    private static final String STANDARD_OUTPUT_PATH = "-";
+
+    /**
+     * Prefix of optional argument which sets seed of random generator.
+     */
+    private static final String SEED_OPTION = "--seed=";
+
+    /**
+     * Prefix of optional argument which selects format of graph
+     * definition written.
+     */
+    private static final String FORMAT_OPTION = "--format=";
+
+    /**
+     * Entry point of a program. Graph model, its parameters and output
+     * path are expected, where output path '-' stands for standard output:
+     * 'gnp &lt;n&gt; &lt;p&gt; &lt;output&gt;' - Erdos-Renyi random graph
+     * 'barabasi-albert &lt;n&gt; &lt;m&gt; &lt;output&gt;' - preferential
+     * attachment graph, m edges added with every vertex
+     * 'planted-clique &lt;n&gt; &lt;p&gt; &lt;k&gt; &lt;output&gt;' - random
+     * graph with clique of k vertices
+     * 'moon-moser &lt;n&gt; &lt;output&gt;' - graph with the largest number
+     * of maximal cliques
+     * 'dense &lt;n&gt; &lt;q&gt; &lt;output&gt;' - near-complete graph, every
+     * edge missing with probability q
+     * <p>
+     * Optional arguments may follow:
+     * '--seed=&lt;number&gt;' - seed of random generator, 0 by default
+     * '--format=text', '--format=edge-list' or '--format=dimacs' - format of
+     * graph definition, recognized by output file extension by default; graph
+     * written to standard output is textual by default
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+
+        long seed = 0;
+        GraphFormat format = null;
+        List<String> arguments = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith(SEED_OPTION)) {
+                try {
+                    seed = Long.parseLong(arg.substring(SEED_OPTION.length()));
+                } catch (NumberFormatException exception) {
+                    exit("Seed needs to be a number: " + arg);
+                }
+            } else if (arg.startsWith(FORMAT_OPTION)) {
+                try {
+                    format = GraphFormat.valueOf(arg.substring(FORMAT_OPTION.length()).toUpperCase().replace('-', '_'));
+                } catch (IllegalArgumentException exception) {
+                    exit("Unknown graph format: " + arg);
+                }
+            } else {
+                arguments.add(arg);
+            }
+        }
+
+        if (arguments.size() < 2) {
+            exit("Graph model, its parameters and output path expected.");
+        }
+        String output = arguments.get(arguments.size() - 1);
+        List<String> parameters = arguments.subList(1, arguments.size() - 1);
+
+        GraphGenerator generator = null;
+        try {
+            generator = createGenerator(arguments.get(0), parameters, seed);
+        } catch (NumberFormatException exception) {
+            exit("Malformed model parameter: " + exception.getMessage());
+        } catch (IllegalArgumentException exception) {
+            exit(exception.getMessage());
+        }
+
+        if (format == null) {
+            String extension = output.equals(STANDARD_OUTPUT_PATH)
+                    ? null
+                    : Utility.getFileExtension(Paths.get(output).getFileName().toString());
+            format = extension == null ? GraphFormat.TEXT : GraphFormat.forExtension(extension);
+            if (format == null) {
+                exit("Unsupported file type: " + output);
+            }
+        }
+
+        long edgeCount = 0;
+        try (OutputStream stream = output.equals(STANDARD_OUTPUT_PATH)
+                ? new NonClosingOutputStream(System.out)
+                : new BufferedOutputStream(Files.newOutputStream(Paths.get(output)))) {
+            edgeCount = GraphWriter.write(generator, format, stream);
+        } catch (IOException exception) {
+            exit("Could not write graph definition: " + exception.getMessage());
+        } catch (IllegalArgumentException exception) {
+            exit(exception.getMessage());
+        }
+
+        System.err.println("Generated graph with " + generator.getVertexCount() + " vertices and "
+                + edgeCount + " edges.");
+    }
+
+    /**
+     * Creates generator of given graph model.
+     *
+     * @param model      name of graph model
+     * @param parameters model parameters
+     * @param seed       seed of random generator
+     * @return graph generator
+     * @throws NumberFormatException    if parameter is not a number
+     * @throws IllegalArgumentException if model is unknown or parameters
+     *                                  are not valid
+     */
+    private static GraphGenerator createGenerator(String model, List<String> parameters, long seed) {
+        switch (model) {
+            case "gnp":
+                expectParameters(model, parameters, 2);
+                return new ErdosRenyiGenerator(
+                        Integer.parseInt(parameters.get(0)),
+                        Double.parseDouble(parameters.get(1)),
+                        seed);
+            case "barabasi-albert":
+                expectParameters(model, parameters, 2);
+                return new BarabasiAlbertGenerator(
+                        Integer.parseInt(parameters.get(0)),
+                        Integer.parseInt(parameters.get(1)),
+                        seed);
+            case "planted-clique":
+                expectParameters(model, parameters, 3);
+                return new PlantedCliqueGenerator(
+                        Integer.parseInt(parameters.get(0)),
+                        Double.parseDouble(parameters.get(1)),
+                        Integer.parseInt(parameters.get(2)),
+                        seed);
+            case "moon-moser":
+                expectParameters(model, parameters, 1);
+                return new MoonMoserGenerator(Integer.parseInt(parameters.get(0)));
+            case "dense":
+                expectParameters(model, parameters, 2);
+                return new ErdosRenyiGenerator(
+                        Integer.parseInt(parameters.get(0)),
+                        1 - Double.parseDouble(parameters.get(1)),
+                        seed);
+            default:
+                throw new IllegalArgumentException("Unknown graph model: " + model);
+        }
+    }
+
+    private static void expectParameters(String model, List<String> parameters, int count) {
+        if (parameters.size() != count) {
+            throw new IllegalArgumentException("Graph model " + model + " expects " + count + " parameters.");
+        }
+    }
+
+    private static void exit(String message) {
+        System.err.println(message);
+        System.exit(1);
+    }
+
+    /**
+     * Stream which writes to standard output without closing it.
+     */
+    private static class NonClosingOutputStream extends BufferedOutputStream {
+
+        NonClosingOutputStream(OutputStream stream) {
+            super(stream);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
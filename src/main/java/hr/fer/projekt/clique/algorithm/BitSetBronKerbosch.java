@@ -0,0 +1,351 @@
+package hr.fer.projekt.clique.algorithm;
+
+import hr.fer.projekt.clique.graph.CompactGraph;
+import hr.fer.projekt.clique.output.CliqueConsumer;
+import hr.fer.projekt.clique.output.OutputEnvironment;
+import hr.fer.projekt.clique.output.TraceLevel;
+import hr.fer.projekt.clique.utility.BitSetUtility;
+import org.jgrapht.Graph;
+
+import java.util.*;
+
+/**
+ * Variant of {@link BronKerbosch} algorithm which maps graph vertices
+ * to dense integer ids once and stores adjacency as rows of bits.
+ * Collections of candidate and already found vertices are bit sets, so
+ * their intersection with neighbourhood of a vertex is computed
+ * through word-wide operations instead of edge lookups for every
+ * pair of vertices. Scratch bit sets are allocated once per depth of
+ * recursion and reused between sibling calls.
+ * <p>
+ * Adjacency matrix needs {@code n * n / 8} bytes of memory for graph
+ * with {@code n} vertices.
+ *
+ * @param <V> variable type of vertices in graph
+ */
+public class BitSetBronKerbosch<V> implements CliqueFinder<V> {
+
+    /**
+     * Bit set representation of graph traversed.
+     */
+    private final BitSetGraph<V> graph;
+
+    /**
+     * Number of words in single bit set.
+     */
+    private final int words;
+
+    /**
+     * Maximal cliques found for given graph.
+     */
+    private CliqueStore<V> maximalCliques;
+
+    /**
+     * Maximum cliques found for given graph.
+     */
+    private Collection<Set<V>> maximumCliques;
+
+    /**
+     * Specifies whether degeneracy ordering should be utilized at
+     * the outermost level of recursion.
+     */
+    private boolean utilizeDegeneracyOrdering;
+
+    /**
+     * Specifies whether pivot vertex should be calculated and
+     * pivot environment utilized in recursive calls.
+     */
+    private boolean utilizePivotEnvironment;
+
+    /**
+     * Strategy used for choosing pivot vertex.
+     */
+    private PivotStrategy pivotStrategy = PivotStrategy.TOMITA;
+
+    /**
+     * Output environment served during and after algorithm
+     * computation.
+     */
+    private OutputEnvironment<V> outputEnvironment;
+
+    /**
+     * Vertex ids of potential clique, where first {@code depth}
+     * elements are valid at given depth of recursion.
+     */
+    private int[] potentialClique;
+
+    /**
+     * Candidate vertices bit set for every depth of recursion.
+     */
+    private long[][] candidateBuffers;
+
+    /**
+     * Already found vertices bit set for every depth of recursion.
+     */
+    private long[][] foundBuffers;
+
+    /**
+     * Bit set of vertices branched on for every depth of recursion.
+     */
+    private long[][] branchBuffers;
+
+    /**
+     * Consumer to which maximal cliques are passed as they are found.
+     */
+    private CliqueConsumer<V> cliqueConsumer;
+
+    /**
+     * View of potential clique passed to clique consumer.
+     */
+    private CliqueView<V> cliqueView;
+
+    /**
+     * Signals that clique consumer requested traversal to stop.
+     */
+    private boolean stopped;
+
+    /**
+     * Specifies whether algorithm steps are reported to output
+     * environment during current traversal.
+     */
+    private boolean traceSteps;
+
+    /**
+     * Specifies whether start and end of traversal are reported to
+     * output environment during current traversal.
+     */
+    private boolean traceSummary;
+
+    public <E> BitSetBronKerbosch(
+            Graph<V, E> graph,
+            boolean utilizeDegeneracyOrdering,
+            boolean utilizePivotEnvironment,
+            OutputEnvironment<V> outputEnvironment) {
+        this(graph == null ? null : CompactGraph.fromGraph(graph), utilizeDegeneracyOrdering,
+                utilizePivotEnvironment, outputEnvironment);
+    }
+
+    public BitSetBronKerbosch(
+            CompactGraph<V> graph,
+            boolean utilizeDegeneracyOrdering,
+            boolean utilizePivotEnvironment,
+            OutputEnvironment<V> outputEnvironment) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph passed can not be null.");
+        } else if (outputEnvironment == null) {
+            throw new IllegalArgumentException("Output environment passed can not be null.");
+        }
+        this.graph = new BitSetGraph<>(graph);
+        this.utilizeDegeneracyOrdering = utilizeDegeneracyOrdering;
+        this.utilizePivotEnvironment = utilizePivotEnvironment;
+        this.outputEnvironment = outputEnvironment;
+        this.words = this.graph.words();
+    }
+
+    /**
+     * Sets strategy used for choosing pivot vertex when pivot environment
+     * is utilized. Tomita's strategy is used by default.
+     *
+     * @param pivotStrategy pivot strategy
+     * @throws IllegalArgumentException if value passed is null
+     */
+    public void setPivotStrategy(PivotStrategy pivotStrategy) {
+        if (pivotStrategy == null) {
+            throw new IllegalArgumentException("Pivot strategy passed can not be null.");
+        }
+        this.pivotStrategy = pivotStrategy;
+    }
+
+    @Override
+    public void performTraversal() {
+        startTraversal();
+
+        maximalCliques = new CliqueStore<>(graph.vertices());
+        findMaximalCliques(clique -> {
+            maximalCliques.addIds(potentialClique, clique.size());
+            return true;
+        });
+        maximalCliques.trimToSize();
+        maximumCliques = CliqueStore.findMaximumCliques(maximalCliques);
+
+        outputEnvironment.setMaximalCliques(maximalCliques);
+        outputEnvironment.setMaximumCliques(maximumCliques);
+
+        if (traceSummary) {
+            outputEnvironment.traversalFinished(true);
+        }
+    }
+
+    @Override
+    public void performTraversal(CliqueConsumer<V> cliqueConsumer) {
+        if (cliqueConsumer == null) {
+            throw new IllegalArgumentException("Clique consumer passed can not be null.");
+        }
+        startTraversal();
+
+        findMaximalCliques(cliqueConsumer);
+
+        if (traceSummary) {
+            outputEnvironment.traversalFinished(!stopped);
+        }
+    }
+
+    /**
+     * Reads trace level of output environment once, so that no event is
+     * formed during traversal unless output environment will report it.
+     */
+    private void startTraversal() {
+        TraceLevel traceLevel = outputEnvironment.getTraceLevel();
+        traceSteps = traceLevel.includes(TraceLevel.STEPS);
+        traceSummary = traceLevel.includes(TraceLevel.SUMMARY);
+
+        if (traceSummary) {
+            outputEnvironment.traversalStarted("Bron-Kerbosch algorithm (bit set engine)\n"
+                    + "Utilize degeneracy ordering: " + utilizeDegeneracyOrdering + "\n"
+                    + "Utilize pivot environment: " + utilizePivotEnvironment
+                    + (utilizePivotEnvironment ? "\nPivot strategy: " + pivotStrategy : ""));
+        }
+    }
+
+    private void findMaximalCliques(CliqueConsumer<V> cliqueConsumer) {
+
+        this.cliqueConsumer = cliqueConsumer;
+        stopped = false;
+
+        int n = graph.vertexCount();
+        potentialClique = new int[n + 1];
+        cliqueView = new CliqueView<>(graph.vertices(), potentialClique);
+        candidateBuffers = new long[n + 2][];
+        foundBuffers = new long[n + 2][];
+        branchBuffers = new long[n + 2][];
+
+        long[] vertexCandidates = buffer(candidateBuffers, 0);
+        long[] vertexFound = buffer(foundBuffers, 0);
+        BitSetUtility.fill(vertexCandidates, n);
+        BitSetUtility.clearAll(vertexFound);
+
+        if (n == 0) {
+            return;
+        }
+
+        if (utilizeDegeneracyOrdering) {
+            degeneracyOrdering();
+        } else {
+            findCliques(0);
+        }
+    }
+
+    private void degeneracyOrdering() {
+        long[] vertexCandidates = candidateBuffers[0];
+        long[] vertexFound = foundBuffers[0];
+        long[] newVertexCandidates = buffer(candidateBuffers, 1);
+        long[] newVertexFound = buffer(foundBuffers, 1);
+
+        int[] degeneracyOrdering = graph.degeneracyOrdering();
+        if (traceSteps) {
+            CliqueView<V> orderingView = new CliqueView<>(graph.vertices(), degeneracyOrdering);
+            orderingView.setSize(degeneracyOrdering.length);
+            outputEnvironment.degeneracyOrderingComputed(orderingView);
+        }
+
+        for (int id : degeneracyOrdering) {
+            if (stopped) {
+                return;
+            }
+            potentialClique[0] = id;
+
+            boolean candidatesLeft = BitSetUtility.intersection(
+                    newVertexCandidates, vertexCandidates, graph.neighbours(id));
+            boolean foundLeft = BitSetUtility.intersection(
+                    newVertexFound, vertexFound, graph.neighbours(id));
+
+            if (!candidatesLeft && !foundLeft) {
+                addMaximalClique(1, 1);
+            } else {
+                findCliques(1);
+            }
+
+            BitSetUtility.clear(vertexCandidates, id);
+            BitSetUtility.set(vertexFound, id);
+        }
+    }
+
+    private void findCliques(int depth) {
+        long[] vertexCandidates = candidateBuffers[depth];
+        long[] vertexFound = foundBuffers[depth];
+
+        if (traceSteps) {
+            cliqueView.setSize(depth);
+            outputEnvironment.callEntered(depth, cliqueView,
+                    new BitSetView<>(graph, vertexCandidates),
+                    new BitSetView<>(graph, vertexFound));
+        }
+
+        if (graph.end(vertexCandidates, vertexFound)) {
+            if (traceSteps) {
+                cliqueView.setSize(depth);
+                outputEnvironment.branchPruned(depth, cliqueView);
+            }
+            return;
+        }
+
+        long[] branches = buffer(branchBuffers, depth);
+        int pivot = utilizePivotEnvironment ? graph.pivot(vertexCandidates, vertexFound, pivotStrategy) : -1;
+        if (pivot >= 0) {
+            BitSetUtility.removeAll(branches, vertexCandidates, graph.neighbours(pivot));
+        } else {
+            System.arraycopy(vertexCandidates, 0, branches, 0, words);
+        }
+
+        long[] newVertexCandidates = buffer(candidateBuffers, depth + 1);
+        long[] newVertexFound = buffer(foundBuffers, depth + 1);
+
+        for (int i = 0; i < words; i++) {
+            long word = branches[i];
+            while (word != 0L) {
+                int candidate = i * BitSetUtility.WORD_SIZE + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+
+                if (stopped) {
+                    return;
+                }
+
+                // Move candidate vertex to potential clique.
+                potentialClique[depth] = candidate;
+                BitSetUtility.clear(vertexCandidates, candidate);
+
+                boolean candidatesLeft = BitSetUtility.intersection(
+                        newVertexCandidates, vertexCandidates, graph.neighbours(candidate));
+                boolean foundLeft = BitSetUtility.intersection(
+                        newVertexFound, vertexFound, graph.neighbours(candidate));
+
+                // Potential clique is maximal if there are neither candidates
+                // nor already found vertices connected to all of its vertices.
+                if (!candidatesLeft && !foundLeft) {
+                    addMaximalClique(depth + 1, depth);
+                } else {
+                    findCliques(depth + 1);
+                }
+
+                BitSetUtility.set(vertexFound, candidate);
+            }
+        }
+    }
+
+    private void addMaximalClique(int size, int depth) {
+        cliqueView.setSize(size);
+        if (traceSteps) {
+            outputEnvironment.cliqueFound(depth, cliqueView);
+        }
+        if (!cliqueConsumer.accept(cliqueView)) {
+            stopped = true;
+        }
+    }
+
+    private long[] buffer(long[][] buffers, int depth) {
+        if (buffers[depth] == null) {
+            buffers[depth] = new long[words];
+        }
+        return buffers[depth];
+    }
+}
@@ -0,0 +1,247 @@
+package hr.fer.projekt.clique.algorithm;
+
+import hr.fer.projekt.clique.graph.CompactGraph;
+import hr.fer.projekt.clique.utility.BitSetUtility;
+import hr.fer.projekt.clique.utility.GraphTraversalUtility;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Immutable graph representation shared by bit set based algorithm
+ * engines. Vertices are mapped to dense integer ids and adjacency of
+ * every vertex is stored as a row of bits.
+ *
+ * @param <V> variable type of vertices in graph
+ */
+final class BitSetGraph<V> {
+
+    /**
+     * Graph represented.
+     */
+    private final CompactGraph<V> graph;
+
+    /**
+     * Graph vertices, indexed by their dense ids.
+     */
+    private final List<V> vertices;
+
+    /**
+     * Dense id of every vertex of represented graph, indexed by vertex
+     * id in represented graph.
+     */
+    private final int[] vertexIds;
+
+    /**
+     * Adjacency rows - bit set of neighbours for every vertex id.
+     */
+    private final long[][] adjacency;
+
+    /**
+     * Number of words in single bit set.
+     */
+    private final int words;
+
+    /**
+     * Vertex ids in degeneracy order, calculated on first request.
+     */
+    private int[] degeneracyOrdering;
+
+    /**
+     * Builds bit set representation of given graph where vertices keep
+     * their ids.
+     *
+     * @param graph graph whose representation is built
+     */
+    BitSetGraph(CompactGraph<V> graph) {
+        this(graph, identity(graph.getVertexCount()));
+    }
+
+    /**
+     * Builds bit set representation of given graph where vertices are
+     * assigned dense ids in given order.
+     *
+     * @param graph       graph whose representation is built
+     * @param vertexOrder ids of all graph vertices, in order of their new ids
+     */
+    BitSetGraph(CompactGraph<V> graph, int[] vertexOrder) {
+        this.graph = graph;
+        int n = graph.getVertexCount();
+        List<V> vertices = new ArrayList<>(n);
+        vertexIds = new int[n];
+        for (int i = 0; i < n; i++) {
+            vertices.add(graph.getVertex(vertexOrder[i]));
+            vertexIds[vertexOrder[i]] = i;
+        }
+        this.vertices = Collections.unmodifiableList(vertices);
+
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        words = BitSetUtility.words(n);
+        adjacency = new long[n][words];
+        for (int i = 0; i < n; i++) {
+            int source = vertexOrder[i];
+            for (int j = offsets[source]; j < offsets[source + 1]; j++) {
+                BitSetUtility.set(adjacency[i], vertexIds[targets[j]]);
+            }
+        }
+    }
+
+    private static int[] identity(int n) {
+        int[] identity = new int[n];
+        for (int i = 0; i < n; i++) {
+            identity[i] = i;
+        }
+        return identity;
+    }
+
+    int vertexCount() {
+        return vertices.size();
+    }
+
+    /**
+     * Returns graph vertices, indexed by their dense ids.
+     *
+     * @return unmodifiable list of vertices
+     */
+    List<V> vertices() {
+        return vertices;
+    }
+
+    V vertex(int id) {
+        return vertices.get(id);
+    }
+
+    long[] neighbours(int id) {
+        return adjacency[id];
+    }
+
+    int words() {
+        return words;
+    }
+
+    int[] degeneracyOrdering() {
+        if (degeneracyOrdering == null) {
+            int[] ordering = GraphTraversalUtility.getCoreDecomposition(graph).getOrderingIds();
+            for (int i = 0; i < ordering.length; i++) {
+                ordering[i] = vertexIds[ordering[i]];
+            }
+            degeneracyOrdering = ordering;
+        }
+        return degeneracyOrdering;
+    }
+
+    /**
+     * Checks whether some already found vertex is connected to all
+     * candidate vertices, in which case no maximal clique can be
+     * formed in current branch.
+     *
+     * @param vertexCandidates candidate vertices
+     * @param vertexFound      already found vertices
+     * @return true if current branch can be abandoned, false otherwise
+     */
+    boolean end(long[] vertexCandidates, long[] vertexFound) {
+        for (int i = 0; i < words; i++) {
+            long word = vertexFound[i];
+            while (word != 0L) {
+                int found = i * BitSetUtility.WORD_SIZE + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                if (BitSetUtility.containsAll(adjacency[found], vertexCandidates)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Searches for pivot vertex according to given pivot strategy.
+     * Connections of pivot candidates to candidate vertices are counted
+     * word-wide, without forming their intersection. Returns -1 if there
+     * is no vertex to choose from.
+     *
+     * @param vertexCandidates candidate vertices
+     * @param vertexFound      already found vertices
+     * @param pivotStrategy    pivot strategy
+     * @return pivot vertex id or -1
+     */
+    int pivot(long[] vertexCandidates, long[] vertexFound, PivotStrategy pivotStrategy) {
+        int pivot = -1;
+        int connections = -1;
+
+        int candidates = BitSetUtility.cardinality(vertexCandidates);
+        switch (pivotStrategy) {
+            case MAX_DEGREE:
+                for (int i = 0; i < words; i++) {
+                    long word = vertexCandidates[i];
+                    while (word != 0L) {
+                        int candidate = i * BitSetUtility.WORD_SIZE + Long.numberOfTrailingZeros(word);
+                        word &= word - 1;
+                        int currentConnections = BitSetUtility.intersectionCardinality(
+                                vertexCandidates, adjacency[candidate]);
+                        if (currentConnections > connections) {
+                            connections = currentConnections;
+                            pivot = candidate;
+                        }
+                        // Candidate can not be connected to more other candidates.
+                        if (connections == candidates - 1) {
+                            return pivot;
+                        }
+                    }
+                }
+                break;
+            case TOMITA:
+                for (int i = 0; i < words; i++) {
+                    long word = vertexCandidates[i] | vertexFound[i];
+                    while (word != 0L) {
+                        int candidate = i * BitSetUtility.WORD_SIZE + Long.numberOfTrailingZeros(word);
+                        word &= word - 1;
+                        int currentConnections = BitSetUtility.intersectionCardinality(
+                                vertexCandidates, adjacency[candidate]);
+                        if (currentConnections > connections) {
+                            connections = currentConnections;
+                            pivot = candidate;
+                        }
+                        // No vertex can be connected to more candidates.
+                        if (connections == candidates) {
+                            return pivot;
+                        }
+                    }
+                }
+                break;
+            case RANDOM_SAMPLE:
+                int pivotCandidates = candidates + BitSetUtility.cardinality(vertexFound);
+                for (int i = 0; i < PivotStrategy.SAMPLE_SIZE && pivotCandidates > 0; i++) {
+                    int rank = ThreadLocalRandom.current().nextInt(pivotCandidates);
+                    int candidate = rank < candidates
+                            ? BitSetUtility.select(vertexCandidates, rank)
+                            : BitSetUtility.select(vertexFound, rank - candidates);
+                    int currentConnections = BitSetUtility.intersectionCardinality(
+                            vertexCandidates, adjacency[candidate]);
+                    if (currentConnections > connections) {
+                        connections = currentConnections;
+                        pivot = candidate;
+                    }
+                }
+                break;
+        }
+
+        return pivot;
+    }
+
+    /**
+     * Forms set of graph vertices from first {@code size} vertex
+     * ids of given array.
+     *
+     * @param ids  vertex ids
+     * @param size number of ids used
+     * @return set of vertices
+     */
+    Set<V> toSet(int[] ids, int size) {
+        Set<V> set = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            set.add(vertices.get(ids[i]));
+        }
+        return set;
+    }
+}
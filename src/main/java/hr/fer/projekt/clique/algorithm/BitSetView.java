@@ -0,0 +1,63 @@
+package hr.fer.projekt.clique.algorithm;
+
+import hr.fer.projekt.clique.utility.BitSetUtility;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Read-only set view of vertices held as bit set by bit set based
+ * algorithm engines. View reflects every later change of viewed bit set
+ * and is used only to report algorithm steps to output environment.
+ *
+ * @param <V> variable type of vertices in graph
+ */
+final class BitSetView<V> extends AbstractSet<V> {
+
+    /**
+     * Graph whose vertices are viewed.
+     */
+    private final BitSetGraph<V> graph;
+
+    /**
+     * Bit set of viewed vertex ids.
+     */
+    private final long[] bitSet;
+
+    BitSetView(BitSetGraph<V> graph, long[] bitSet) {
+        this.graph = graph;
+        this.bitSet = bitSet;
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+        return new Iterator<V>() {
+
+            /**
+             * Id of next vertex, or -1 if there is none.
+             */
+            private int next = BitSetUtility.nextSetBit(bitSet, 0);
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public V next() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                V vertex = graph.vertex(next);
+                next = BitSetUtility.nextSetBit(bitSet, next + 1);
+                return vertex;
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return BitSetUtility.cardinality(bitSet);
+    }
+}
@@ -1,13 +1,18 @@
 package hr.fer.projekt.clique.algorithm;
 
+import hr.fer.projekt.clique.monitoring.SearchEvents;
+import hr.fer.projekt.clique.monitoring.SearchPhaseEvent;
+import hr.fer.projekt.clique.monitoring.SearchStatistics;
+import hr.fer.projekt.clique.output.CliqueConsumer;
 import hr.fer.projekt.clique.output.OutputEnvironment;
-import hr.fer.projekt.clique.utility.CollectionUtility;
+import hr.fer.projekt.clique.output.TraceLevel;
 import hr.fer.projekt.clique.utility.GraphTraversalUtility;
 import org.jgrapht.Graph;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
-public class BronKerbosch<V, E> {
+public class BronKerbosch<V, E> implements CliqueFinder<V> {
 
     /**
      * Graph traversed.
@@ -17,7 +22,7 @@ public class BronKerbosch<V, E> {
     /**
      * Maximal cliques found for given graph.
      */
-    private Collection<Set<V>> maximalCliques;
+    private CliqueStore<V> maximalCliques;
 
     /**
      * Maximum cliques found for given graph.
@@ -36,12 +41,68 @@ public class BronKerbosch<V, E> {
      */
     private boolean utilizePivotEnvironment;
 
+    /**
+     * Strategy used for choosing pivot vertex.
+     */
+    private PivotStrategy pivotStrategy = PivotStrategy.TOMITA;
+
+    /**
+     * Smallest size of maximal cliques reported, 0 if all maximal
+     * cliques are reported.
+     */
+    private int minimumCliqueSize;
+
     /**
      * Output environment served during and after algorithm
      * computation.
      */
     private OutputEnvironment<V> outputEnvironment;
 
+    /**
+     * Consumer to which maximal cliques are passed as they are found.
+     */
+    private CliqueConsumer<V> cliqueConsumer;
+
+    /**
+     * Counter of cliques by their size during counting traversal,
+     * null if cliques are passed to clique consumer.
+     */
+    private CliqueCounts.Counter<V> cliqueCounter;
+
+    /**
+     * Signals that clique consumer requested traversal to stop.
+     */
+    private boolean stopped;
+
+    /**
+     * Handle which limits current traversal, null if traversal
+     * is not limited.
+     */
+    private SearchHandle searchHandle;
+
+    /**
+     * Number of maximal cliques found during current traversal.
+     */
+    private long cliqueCount;
+
+    /**
+     * Statistics collected during traversal, null if statistics
+     * are not collected.
+     */
+    private SearchStatistics searchStatistics;
+
+    /**
+     * Specifies whether algorithm steps are reported to output
+     * environment during current traversal.
+     */
+    private boolean traceSteps;
+
+    /**
+     * Specifies whether start and end of traversal are reported to
+     * output environment during current traversal.
+     */
+    private boolean traceSummary;
+
     public BronKerbosch(
             Graph<V, E> graph,
             boolean utilizeDegeneracyOrdering,
@@ -58,27 +119,183 @@ public class BronKerbosch<V, E> {
         this.outputEnvironment = outputEnvironment;
     }
 
+    /**
+     * Sets strategy used for choosing pivot vertex when pivot environment
+     * is utilized. Tomita's strategy is used by default.
+     *
+     * @param pivotStrategy pivot strategy
+     * @throws IllegalArgumentException if value passed is null
+     */
+    public void setPivotStrategy(PivotStrategy pivotStrategy) {
+        if (pivotStrategy == null) {
+            throw new IllegalArgumentException("Pivot strategy passed can not be null.");
+        }
+        this.pivotStrategy = pivotStrategy;
+    }
+
+    /**
+     * Sets smallest size of maximal cliques reported. Traversal is then
+     * restricted to {@code (k - 1)}-core of graph for minimum size
+     * {@code k}, which holds every clique of at least {@code k} vertices,
+     * and branches whose potential clique together with candidates has
+     * less than {@code k} vertices are cut. Clique found within the core
+     * is maximal in the whole graph, since vertex extending it would form
+     * larger clique, which lies within the core as well. All maximal
+     * cliques are reported by default.
+     *
+     * @param minimumCliqueSize smallest size of cliques reported, 0 if
+     *                          all maximal cliques should be reported
+     * @throws IllegalArgumentException if size passed is negative
+     */
+    public void setMinimumCliqueSize(int minimumCliqueSize) {
+        if (minimumCliqueSize < 0) {
+            throw new IllegalArgumentException("Minimum clique size can not be negative.");
+        }
+        this.minimumCliqueSize = minimumCliqueSize;
+    }
+
+    /**
+     * Sets statistics to which counters of search are added during
+     * traversal. Statistics are passed to output environment before
+     * end of traversal is reported, and can be read during traversal
+     * as well, for example over JMX. Statistics are not collected
+     * by default.
+     *
+     * @param searchStatistics search statistics, or null if statistics
+     *                         should not be collected
+     */
+    public void setSearchStatistics(SearchStatistics searchStatistics) {
+        this.searchStatistics = searchStatistics;
+    }
+
+    @Override
     public void performTraversal() {
-        outputEnvironment.outputStep("Bron-Kerbosch algorithm\n");
-        outputEnvironment.outputStep("Utilize degeneracy ordering: " + utilizeDegeneracyOrdering + "\n");
-        outputEnvironment.outputStep("Utilize pivot environment: " + utilizePivotEnvironment + "\n");
+        performTraversal(new SearchHandle(SearchBudget.UNLIMITED));
+    }
+
+    /**
+     * Performs graph traversal limited by budget of given search handle,
+     * which can also be cancelled from other threads while traversal runs.
+     * Budget is checked on every recursive call, and once it is exhausted
+     * traversal stops and returns cliques found so far. Results, complete
+     * or not, are passed to configured output environment as well.
+     *
+     * @param searchHandle handle of this traversal
+     * @return results of traversal, with flag which tells whether they
+     * are complete
+     * @throws IllegalArgumentException if search handle given is null
+     */
+    public SearchResult<V> performTraversal(SearchHandle searchHandle) {
+        if (searchHandle == null) {
+            throw new IllegalArgumentException("Search handle passed can not be null.");
+        }
+        startTraversal();
+
+        maximalCliques = new CliqueStore<>(new ArrayList<>(graph.vertexSet()));
+        this.searchHandle = searchHandle;
+        searchHandle.start();
+        try {
+            findMaximalCliques(clique -> {
+                maximalCliques.addClique(clique);
+                return true;
+            });
+        } finally {
+            this.searchHandle = null;
+        }
+        maximalCliques.trimToSize();
 
-        findMaximalCliques();
-        findMaximumCliques();
+        Object filtering = SearchEvents.beginPhase(SearchPhaseEvent.MAXIMUM_FILTERING, graph.vertexSet().size());
+        maximumCliques = CliqueStore.findMaximumCliques(maximalCliques);
+        SearchEvents.endPhase(filtering);
 
         outputEnvironment.setMaximalCliques(maximalCliques);
         outputEnvironment.setMaximumCliques(maximumCliques);
+        outputEnvironment.setSearchStatistics(searchStatistics);
+
+        if (traceSummary) {
+            outputEnvironment.traversalFinished(!stopped);
+        }
+
+        return new SearchResult<>(
+                maximalCliques,
+                maximumCliques.isEmpty() ? Collections.emptySet() : maximumCliques.iterator().next(),
+                !stopped,
+                searchHandle.getNodes(),
+                searchHandle.elapsedTime());
+    }
+
+    @Override
+    public void performTraversal(CliqueConsumer<V> cliqueConsumer) {
+        if (cliqueConsumer == null) {
+            throw new IllegalArgumentException("Clique consumer passed can not be null.");
+        }
+        startTraversal();
 
-        outputEnvironment.outputStep("Maximal cliques: " + maximalCliques + "\n"
-                + "Maximum cliques: " + maximumCliques);
+        findMaximalCliques(cliqueConsumer);
+        outputEnvironment.setSearchStatistics(searchStatistics);
+
+        if (traceSummary) {
+            outputEnvironment.traversalFinished(!stopped);
+        }
     }
 
-    private void findMaximalCliques() {
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Sizes of potential cliques are counted directly, without
+     * passing any view of them to a consumer.
+     */
+    @Override
+    public CliqueCounts countCliques() {
+        startTraversal();
+
+        CliqueCounts cliqueCounts;
+        cliqueCounter = new CliqueCounts.Counter<>();
+        try {
+            findMaximalCliques(null);
+            cliqueCounts = cliqueCounter.toCounts();
+        } finally {
+            cliqueCounter = null;
+            outputEnvironment.setSearchStatistics(searchStatistics);
+        }
 
-        maximalCliques = new ArrayList<>();
+        if (traceSummary) {
+            outputEnvironment.traversalFinished(true);
+        }
+        return cliqueCounts;
+    }
+
+    /**
+     * Reads trace level of output environment once, so that no event is
+     * formed during traversal unless output environment will report it.
+     */
+    private void startTraversal() {
+        TraceLevel traceLevel = outputEnvironment.getTraceLevel();
+        traceSteps = traceLevel.includes(TraceLevel.STEPS);
+        traceSummary = traceLevel.includes(TraceLevel.SUMMARY);
+
+        if (traceSummary) {
+            outputEnvironment.traversalStarted("Bron-Kerbosch algorithm\n"
+                    + "Utilize degeneracy ordering: " + utilizeDegeneracyOrdering + "\n"
+                    + "Utilize pivot environment: " + utilizePivotEnvironment
+                    + (utilizePivotEnvironment ? "\nPivot strategy: " + pivotStrategy : "")
+                    + (minimumCliqueSize > 0 ? "\nMinimum clique size: " + minimumCliqueSize : ""));
+        }
+    }
+
+    private void findMaximalCliques(CliqueConsumer<V> cliqueConsumer) {
+
+        this.cliqueConsumer = cliqueConsumer;
+        stopped = false;
+        cliqueCount = 0;
+
+        Object enumeration = SearchEvents.beginPhase(SearchPhaseEvent.MAXIMAL_ENUMERATION, graph.vertexSet().size());
 
         List<V> potentialClique = new ArrayList<>();
-        List<V> vertexCandidates = new ArrayList<>(graph.vertexSet());
+        // Vertices outside of (k - 1)-core belong to no clique of k vertices.
+        List<V> vertexCandidates = new ArrayList<>(minimumCliqueSize > 1
+                ? GraphTraversalUtility.getCore(graph, minimumCliqueSize - 1)
+                : graph.vertexSet());
         List<V> vertexFound = new ArrayList<>();
 
         if (utilizeDegeneracyOrdering) {
@@ -86,41 +303,61 @@ public class BronKerbosch<V, E> {
         } else {
             findCliques(potentialClique, vertexCandidates, vertexFound, 0);
         }
-    }
-
-    private void findMaximumCliques() {
-        maximumCliques = new ArrayList<>();
-        int maximum = 0;
-        for (Set<V> clique : maximalCliques) {
-            if (maximum < clique.size()) {
-                maximum = clique.size();
-            }
-        }
-        for (Set<V> clique : maximalCliques) {
-            if (maximum == clique.size()) {
-                maximumCliques.add(clique);
-            }
-        }
+        SearchEvents.endPhase(enumeration);
     }
 
     private void degeneracyOrdering(Collection<V> potentialClique,
                                     Collection<V> vertexCandidates,
                                     Collection<V> vertexFound,
                                     int depth) {
-        Collection<V> degeneracyOrdering = GraphTraversalUtility.getDegeneracyOrdering(graph);
-
-        outputForDepth("Computed degeneracy ordering: " + degeneracyOrdering, depth);
+        Object ordering = SearchEvents.beginPhase(SearchPhaseEvent.DEGENERACY_ORDERING, graph.vertexSet().size());
+        // Core vertices are already given in degeneracy order of the core.
+        Collection<V> degeneracyOrdering = minimumCliqueSize > 1
+                ? new ArrayList<>(vertexCandidates)
+                : GraphTraversalUtility.getDegeneracyOrdering(graph);
+        SearchEvents.endPhase(ordering);
+
+        if (traceSteps) {
+            outputEnvironment.degeneracyOrderingComputed(degeneracyOrdering);
+        }
+        if (searchStatistics != null) {
+            searchStatistics.recordCall(depth);
+            searchStatistics.recordBranching(depth, degeneracyOrdering.size());
+        }
 
         for (V vertex : degeneracyOrdering) {
-            Collection<V> neighbours = GraphTraversalUtility.getNeighbouringVertices(graph, vertex, vertexCandidates);
+            if (stopped || potentialClique.size() + vertexCandidates.size() < minimumCliqueSize) {
+                return;
+            }
+
+            if (searchStatistics != null) {
+                searchStatistics.recordEdgeProbes(vertexCandidates.size() + vertexFound.size());
+            }
 
             // Updating collections.
             List<V> newPotentialClique = new ArrayList<>(potentialClique);
             newPotentialClique.add(vertex);
-            Collection<V> newVertexCandidates = CollectionUtility.intersection(vertexCandidates, neighbours);
-            Collection<V> newVertexFound = CollectionUtility.intersection(vertexFound, neighbours);
+            Collection<V> newVertexCandidates = GraphTraversalUtility.getNeighbouringVertices(graph, vertex, vertexCandidates);
+            Collection<V> newVertexFound = GraphTraversalUtility.getNeighbouringVertices(graph, vertex, vertexFound);
+
+            // Subtree is reported to flight recorder only if its search
+            // took longer than threshold of event.
+            int candidateCount = newVertexCandidates.size();
+            int foundCount = newVertexFound.size();
+            long subtreeCliques = cliqueCount;
+            Object subtree = SearchEvents.beginSubtree();
+
+            // Vertex without candidates and already found neighbours
+            // forms maximal clique on its own.
+            if (newPotentialClique.size() + newVertexCandidates.size() < minimumCliqueSize) {
+                branchTooSmall(newPotentialClique, depth + 1);
+            } else if (newVertexCandidates.isEmpty() && newVertexFound.isEmpty()) {
+                addMaximalClique(newPotentialClique, depth + 1);
+            } else {
+                findCliques(newPotentialClique, newVertexCandidates, newVertexFound, depth + 1);
+            }
 
-            findCliques(newPotentialClique, newVertexCandidates, newVertexFound, depth + 1);
+            SearchEvents.endSubtree(subtree, vertex, candidateCount, foundCount, cliqueCount - subtreeCliques);
 
             vertexCandidates.remove(vertex);
             vertexFound.add(vertex);
@@ -132,20 +369,41 @@ public class BronKerbosch<V, E> {
                              Collection<V> vertexFound,
                              int depth) {
 
-        outputForDepth("Maximal cliques: " + potentialClique
-                + "\tCandidate vertices: " + vertexCandidates
-                + "\tDisqualified vertices: " + vertexFound, depth);
+        if (searchHandle != null && searchHandle.visitNode()) {
+            stopped = true;
+            return;
+        }
+
+        if (traceSteps) {
+            outputEnvironment.callEntered(depth, potentialClique, vertexCandidates, vertexFound);
+        }
+        if (searchStatistics != null) {
+            searchStatistics.recordCall(depth);
+        }
 
         if (!end(vertexCandidates, vertexFound)) {
 
-            Collection<V> candidates;
-            if (utilizePivotEnvironment) {
-                candidates = CollectionUtility.removeAll(vertexCandidates, pivotEnvironment(vertexCandidates, vertexFound));
-            } else {
-                candidates = new ArrayList<>(vertexCandidates);
+            // Only candidates not connected to pivot vertex are branched on.
+            Collection<V> candidates = new ArrayList<>();
+            V pivot = utilizePivotEnvironment ? pivot(vertexCandidates, vertexFound) : null;
+            for (V candidate : vertexCandidates) {
+                if (pivot == null || !graph.containsEdge(pivot, candidate)) {
+                    candidates.add(candidate);
+                }
+            }
+            if (searchStatistics != null) {
+                if (utilizePivotEnvironment) {
+                    searchStatistics.recordPivot();
+                    searchStatistics.recordEdgeProbes(pivot == null ? 0 : vertexCandidates.size());
+                }
+                searchStatistics.recordBranching(depth, candidates.size());
             }
 
             for (V candidate : candidates) {
+                // Candidates only leave, so no later branch reaches minimum size either.
+                if (stopped || potentialClique.size() + vertexCandidates.size() < minimumCliqueSize) {
+                    return;
+                }
 
                 // Collections needed for recursion call.
                 List<V> newVertexCandidates = new ArrayList<>();
@@ -154,6 +412,9 @@ public class BronKerbosch<V, E> {
                 // Move candidate node to potential clique.
                 potentialClique.add(candidate);
                 vertexCandidates.remove(candidate);
+                if (searchStatistics != null) {
+                    searchStatistics.recordEdgeProbes(vertexCandidates.size() + vertexFound.size());
+                }
 
                 // Creating new vertexCandidates collection by removing all vertexes
                 // in present collection not connected to vertex candidate.
@@ -175,9 +436,10 @@ public class BronKerbosch<V, E> {
                 // If collection containing vertex candidates and vertexes
                 // which were already found are both empty, potential clique
                 // is indeed maximal clique.
-                if (newVertexCandidates.isEmpty() && newVertexFound.isEmpty()) {
-                    maximalCliques.add(new HashSet<>(potentialClique));
-                    outputForDepth("End of depth search, output: " + potentialClique, depth);
+                if (potentialClique.size() + newVertexCandidates.size() < minimumCliqueSize) {
+                    branchTooSmall(potentialClique, depth + 1);
+                } else if (newVertexCandidates.isEmpty() && newVertexFound.isEmpty()) {
+                    addMaximalClique(potentialClique, depth);
                 } else {
                     findCliques(potentialClique, newVertexCandidates, newVertexFound, depth + 1);
                 }
@@ -191,11 +453,47 @@ public class BronKerbosch<V, E> {
                 potentialClique.remove(candidate);
             }
         } else {
-            outputForDepth("End of depth search, output: " + potentialClique, depth);
+            if (searchStatistics != null) {
+                searchStatistics.recordEarlyExit();
+            }
+            if (traceSteps) {
+                outputEnvironment.branchPruned(depth, potentialClique);
+            }
+        }
+    }
+
+    /**
+     * Reports branch cut since its potential clique together with
+     * candidates has less vertices than minimum clique size.
+     */
+    private void branchTooSmall(Collection<V> potentialClique, int depth) {
+        if (searchStatistics != null) {
+            searchStatistics.recordEarlyExit();
+        }
+        if (traceSteps) {
+            outputEnvironment.branchPruned(depth, potentialClique);
+        }
+    }
+
+    private void addMaximalClique(Collection<V> potentialClique, int depth) {
+        if (traceSteps) {
+            outputEnvironment.cliqueFound(depth, potentialClique);
+        }
+        cliqueCount++;
+        if (searchStatistics != null) {
+            searchStatistics.recordClique();
+        }
+        if (cliqueCounter != null) {
+            cliqueCounter.count(potentialClique.size());
+        } else if (!cliqueConsumer.accept(Collections.unmodifiableCollection(potentialClique))) {
+            stopped = true;
         }
     }
 
     private boolean end(Collection<V> vertexCandidates, Collection<V> vertexFound) {
+        if (searchStatistics != null) {
+            searchStatistics.recordEdgeProbes((long) vertexFound.size() * vertexCandidates.size());
+        }
         boolean end = false;
         int edgeCounter;
         for (V found : vertexFound) {
@@ -212,32 +510,87 @@ public class BronKerbosch<V, E> {
         return end;
     }
 
-    private Collection<V> pivotEnvironment(Collection<V> vertexCandidates, Collection<V> vertexFound) {
-        Collection<V> pivotCandidates = CollectionUtility.union(vertexCandidates, vertexFound);
-
-        if (pivotCandidates.isEmpty()) {
-            return Collections.emptyList();
+    /**
+     * Searches for pivot vertex according to configured pivot strategy.
+     * Returns null if there is no vertex to choose from.
+     */
+    private V pivot(Collection<V> vertexCandidates, Collection<V> vertexFound) {
+        V pivot = null;
+        int connections = -1;
+
+        switch (pivotStrategy) {
+            case MAX_DEGREE:
+                for (V candidate : vertexCandidates) {
+                    int currentConnections = countConnections(candidate, vertexCandidates);
+                    if (currentConnections > connections) {
+                        connections = currentConnections;
+                        pivot = candidate;
+                    }
+                    // Candidate can not be connected to more other candidates.
+                    if (connections == vertexCandidates.size() - 1) {
+                        return pivot;
+                    }
+                }
+                break;
+            case TOMITA:
+                for (Collection<V> pivotCandidates : Arrays.asList(vertexCandidates, vertexFound)) {
+                    for (V candidate : pivotCandidates) {
+                        int currentConnections = countConnections(candidate, vertexCandidates);
+                        if (currentConnections > connections) {
+                            connections = currentConnections;
+                            pivot = candidate;
+                        }
+                        // No vertex can be connected to more candidates.
+                        if (connections == vertexCandidates.size()) {
+                            return pivot;
+                        }
+                    }
+                }
+                break;
+            case RANDOM_SAMPLE:
+                int pivotCandidates = vertexCandidates.size() + vertexFound.size();
+                for (int i = 0; i < PivotStrategy.SAMPLE_SIZE && pivotCandidates > 0; i++) {
+                    int index = ThreadLocalRandom.current().nextInt(pivotCandidates);
+                    V candidate = index < vertexCandidates.size()
+                            ? elementAt(vertexCandidates, index)
+                            : elementAt(vertexFound, index - vertexCandidates.size());
+                    int currentConnections = countConnections(candidate, vertexCandidates);
+                    if (currentConnections > connections) {
+                        connections = currentConnections;
+                        pivot = candidate;
+                    }
+                }
+                break;
         }
 
-        // Searching for pivot vertex - one with the most connections
-        // to other pivot candidates.
-        int edgeCounter = 0;
-        V pivotCandidate = null;
-        for (V candidate : pivotCandidates) {
-            int currentEdges = graph.edgesOf(candidate).size();
-            if (currentEdges > edgeCounter) {
-                edgeCounter = currentEdges;
-                pivotCandidate = candidate;
+        return pivot;
+    }
+
+    /**
+     * Counts vertices of given collection connected to given vertex,
+     * without forming collection of neighbouring vertices.
+     */
+    private int countConnections(V vertex, Collection<V> vertices) {
+        if (searchStatistics != null) {
+            searchStatistics.recordEdgeProbes(vertices.size());
+        }
+        int connections = 0;
+        for (V other : vertices) {
+            if (graph.containsEdge(vertex, other)) {
+                connections++;
             }
         }
-
-        return GraphTraversalUtility.getNeighbouringVertices(graph, pivotCandidate, vertexCandidates);
+        return connections;
     }
 
-    private void outputForDepth(String step, int level) {
-        for (int i = 0; i < level; i++) {
-            outputEnvironment.outputStep("\t");
+    private static <V> V elementAt(Collection<V> collection, int index) {
+        if (collection instanceof List) {
+            return ((List<V>) collection).get(index);
+        }
+        Iterator<V> iterator = collection.iterator();
+        for (int i = 0; i < index; i++) {
+            iterator.next();
         }
-        outputEnvironment.outputStep(step + "\n");
+        return iterator.next();
     }
 }
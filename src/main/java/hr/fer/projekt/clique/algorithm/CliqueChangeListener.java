@@ -0,0 +1,18 @@
+package hr.fer.projekt.clique.algorithm;
+
+/**
+ * Receives changes of maximal cliques maintained by
+ * {@link DynamicCliqueIndex}, once for every update which changed them.
+ *
+ * @param <V> variable type of vertices in graph
+ */
+@FunctionalInterface
+public interface CliqueChangeListener<V> {
+
+    /**
+     * Accepts changes of maximal cliques caused by single update.
+     *
+     * @param delta maximal cliques added and removed
+     */
+    void cliquesChanged(CliqueDelta<V> delta);
+}
@@ -0,0 +1,167 @@
+package hr.fer.projekt.clique.algorithm;
+
+import hr.fer.projekt.clique.output.CliqueConsumer;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Number of maximal cliques of every size found by traversal which
+ * counts cliques without storing them. Clique number is the largest
+ * size with non-zero count.
+ */
+public final class CliqueCounts {
+
+    /**
+     * Number of maximal cliques of every size, indexed by clique size,
+     * up to clique number.
+     */
+    private final long[] sizeCounts;
+
+    /**
+     * Total number of maximal cliques.
+     */
+    private final long cliqueCount;
+
+    /**
+     * Constructor which receives number of cliques of every size.
+     *
+     * @param sizeCounts number of cliques indexed by clique size, which
+     *                   may hold trailing zeros
+     * @throws IllegalArgumentException if counts given are null
+     */
+    public CliqueCounts(long[] sizeCounts) {
+        if (sizeCounts == null) {
+            throw new IllegalArgumentException("Size counts passed can not be null.");
+        }
+        int length = sizeCounts.length;
+        while (length > 0 && sizeCounts[length - 1] == 0) {
+            length--;
+        }
+        this.sizeCounts = Arrays.copyOf(sizeCounts, length);
+        long cliqueCount = 0;
+        for (long count : this.sizeCounts) {
+            cliqueCount += count;
+        }
+        this.cliqueCount = cliqueCount;
+    }
+
+    /**
+     * Returns total number of maximal cliques.
+     *
+     * @return number of cliques
+     */
+    public long getCliqueCount() {
+        return cliqueCount;
+    }
+
+    /**
+     * Returns size of the largest maximal clique.
+     *
+     * @return clique number, 0 for graph without vertices
+     */
+    public int getCliqueNumber() {
+        return Math.max(0, sizeCounts.length - 1);
+    }
+
+    /**
+     * Returns number of maximal cliques of given size.
+     *
+     * @param size clique size
+     * @return number of cliques
+     */
+    public long getCount(int size) {
+        return size >= 0 && size < sizeCounts.length ? sizeCounts[size] : 0;
+    }
+
+    /**
+     * Returns number of maximal cliques of every size.
+     *
+     * @return counts indexed by clique size, up to clique number
+     */
+    public long[] getSizeCounts() {
+        return sizeCounts.clone();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder()
+                .append("Maximal cliques found: ").append(cliqueCount)
+                .append(", clique number: ").append(getCliqueNumber());
+        for (int size = 1; size < sizeCounts.length; size++) {
+            if (sizeCounts[size] != 0) {
+                sb.append('\n').append("Cliques of size ").append(size).append(": ").append(sizeCounts[size]);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Consumer which counts cliques passed to it by their size, without
+     * keeping any of them. Counter is not thread safe.
+     *
+     * @param <V> variable type of vertices in graph
+     */
+    public static final class Counter<V> implements CliqueConsumer<V> {
+
+        /**
+         * Number of cliques counted, indexed by clique size.
+         */
+        private long[] sizeCounts = new long[16];
+
+        @Override
+        public boolean accept(Collection<V> clique) {
+            count(clique.size());
+            return true;
+        }
+
+        /**
+         * Counts clique of given size.
+         *
+         * @param size clique size
+         */
+        public void count(int size) {
+            if (size >= sizeCounts.length) {
+                sizeCounts = Arrays.copyOf(sizeCounts, Math.max(size + 1, 2 * sizeCounts.length));
+            }
+            sizeCounts[size]++;
+        }
+
+        /**
+         * Adds counts of given counter to counts of this counter.
+         *
+         * @param other counter whose counts are added
+         */
+        public void add(Counter<V> other) {
+            if (other.sizeCounts.length > sizeCounts.length) {
+                sizeCounts = Arrays.copyOf(sizeCounts, other.sizeCounts.length);
+            }
+            for (int size = 0; size < other.sizeCounts.length; size++) {
+                sizeCounts[size] += other.sizeCounts[size];
+            }
+        }
+
+        /**
+         * Adds given clique counts to counts of this counter.
+         *
+         * @param counts clique counts which are added
+         */
+        public void add(CliqueCounts counts) {
+            if (counts.sizeCounts.length > sizeCounts.length) {
+                sizeCounts = Arrays.copyOf(sizeCounts, counts.sizeCounts.length);
+            }
+            for (int size = 0; size < counts.sizeCounts.length; size++) {
+                sizeCounts[size] += counts.sizeCounts[size];
+            }
+        }
+
+        /**
+         * Returns cliques counted so far.
+         *
+         * @return clique counts
+         */
+        public CliqueCounts toCounts() {
+            return new CliqueCounts(sizeCounts);
+        }
+    }
+}
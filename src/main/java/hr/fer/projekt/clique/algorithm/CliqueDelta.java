@@ -0,0 +1,68 @@
+package hr.fer.projekt.clique.algorithm;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Change of set of maximal cliques of a graph caused by single update
+ * of {@link DynamicCliqueIndex} - maximal cliques which appeared and
+ * maximal cliques which are no longer maximal, or no longer cliques.
+ *
+ * @param <V> variable type of vertices in graph
+ */
+public final class CliqueDelta<V> {
+
+    /**
+     * Maximal cliques added by update.
+     */
+    private final Collection<Set<V>> addedCliques;
+
+    /**
+     * Maximal cliques removed by update.
+     */
+    private final Collection<Set<V>> removedCliques;
+
+    /**
+     * Constructor which receives changes of maximal cliques.
+     *
+     * @param addedCliques   maximal cliques added by update
+     * @param removedCliques maximal cliques removed by update
+     */
+    CliqueDelta(Collection<Set<V>> addedCliques, Collection<Set<V>> removedCliques) {
+        this.addedCliques = Collections.unmodifiableCollection(addedCliques);
+        this.removedCliques = Collections.unmodifiableCollection(removedCliques);
+    }
+
+    /**
+     * Maximal cliques added by update.
+     *
+     * @return added cliques
+     */
+    public Collection<Set<V>> getAddedCliques() {
+        return addedCliques;
+    }
+
+    /**
+     * Maximal cliques removed by update.
+     *
+     * @return removed cliques
+     */
+    public Collection<Set<V>> getRemovedCliques() {
+        return removedCliques;
+    }
+
+    /**
+     * Checks whether update changed any maximal clique.
+     *
+     * @return true if no clique was added or removed
+     */
+    public boolean isEmpty() {
+        return addedCliques.isEmpty() && removedCliques.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "Added cliques: " + addedCliques + "\tRemoved cliques: " + removedCliques;
+    }
+}
@@ -0,0 +1,47 @@
+package hr.fer.projekt.clique.algorithm;
+
+import hr.fer.projekt.clique.output.CliqueConsumer;
+
+/**
+ * Defines algorithm which finds maximal and maximum cliques of a graph.
+ * Results, as well as algorithm steps, are reported to output environment
+ * implementation was configured with, which allows callers to switch
+ * between different algorithm engines without any further changes.
+ *
+ * @param <V> variable type of vertices in graph
+ */
+public interface CliqueFinder<V> {
+
+    /**
+     * Performs graph traversal, calculates maximal and maximum
+     * cliques and passes them to configured output environment.
+     */
+    void performTraversal();
+
+    /**
+     * Performs graph traversal and passes every maximal clique to given
+     * consumer the moment it is found. Cliques are neither stored nor
+     * passed to output environment, which receives only algorithm steps,
+     * so memory used does not depend on number of cliques. Traversal
+     * stops as soon as consumer returns false.
+     *
+     * @param cliqueConsumer consumer of maximal cliques
+     * @throws IllegalArgumentException if consumer given is null
+     */
+    void performTraversal(CliqueConsumer<V> cliqueConsumer);
+
+    /**
+     * Performs graph traversal which only counts maximal cliques by their
+     * size, without storing any clique. Output environment receives only
+     * algorithm steps, as in streaming traversal. Default implementation
+     * counts cliques passed by streaming traversal, which engines pass as
+     * views of their state, so no clique is formed.
+     *
+     * @return number of maximal cliques of every size
+     */
+    default CliqueCounts countCliques() {
+        CliqueCounts.Counter<V> counter = new CliqueCounts.Counter<>();
+        performTraversal(counter);
+        return counter.toCounts();
+    }
+}
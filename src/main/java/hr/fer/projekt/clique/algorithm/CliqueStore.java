@@ -0,0 +1,376 @@
+package hr.fer.projekt.clique.algorithm;
+
+import java.util.*;
+
+/**
+ * List of cliques which packs all cliques into a single growable array
+ * of vertex ids, indexed by array of offsets at which every clique
+ * starts. Clique of {@code k} vertices takes {@code 4 * (k + 1)} bytes,
+ * without any per clique or per vertex objects. Cliques are read as
+ * lightweight {@link Set} views over the array, formed when a clique
+ * is accessed.
+ * <p>
+ * Vertex ids are indices in list of vertices store is formed with.
+ * Ids of every clique are kept sorted, so views answer membership
+ * queries by binary search. Cliques can only be appended, and store
+ * is not thread safe.
+ *
+ * @param <V> variable type of vertices in graph
+ */
+public class CliqueStore<V> extends AbstractList<Set<V>> implements RandomAccess {
+
+    /**
+     * Initial capacity of vertex ids array.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Largest array length which virtual machines allocate.
+     */
+    private static final int MAXIMUM_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * Graph vertices, indexed by their ids.
+     */
+    private final List<V> vertices;
+
+    /**
+     * Ids of graph vertices, formed on first use.
+     */
+    private Map<V, Integer> vertexIds;
+
+    /**
+     * Concatenated sorted vertex ids of all cliques.
+     */
+    private int[] ids = new int[INITIAL_CAPACITY];
+
+    /**
+     * Start of every clique in ids array, followed by total number
+     * of ids used.
+     */
+    private int[] offsets = new int[INITIAL_CAPACITY];
+
+    /**
+     * Number of cliques stored.
+     */
+    private int size;
+
+    /**
+     * Constructor of empty store of cliques over given vertices.
+     *
+     * @param vertices graph vertices, indexed by their ids
+     * @throws IllegalArgumentException if vertices given are null
+     */
+    public CliqueStore(List<V> vertices) {
+        if (vertices == null) {
+            throw new IllegalArgumentException("Vertices passed can not be null.");
+        }
+        this.vertices = vertices;
+    }
+
+    /**
+     * Appends clique formed of given vertices.
+     *
+     * @param clique clique vertices, all of them present in vertex list
+     *               of this store
+     * @return true
+     * @throws IllegalArgumentException if clique given is null or holds
+     *                                  vertex unknown to this store
+     */
+    @Override
+    public boolean add(Set<V> clique) {
+        addClique(clique);
+        return true;
+    }
+
+    /**
+     * Appends clique formed of given vertices.
+     *
+     * @param clique clique vertices, all of them present in vertex list
+     *               of this store
+     * @throws IllegalArgumentException if clique given is null or holds
+     *                                  vertex unknown to this store
+     */
+    public void addClique(Collection<V> clique) {
+        if (clique == null) {
+            throw new IllegalArgumentException("Clique passed can not be null.");
+        }
+
+        Map<V, Integer> vertexIds = getVertexIds();
+        int start = reserve(clique.size());
+        int end = start;
+        for (V vertex : clique) {
+            Integer id = vertexIds.get(vertex);
+            if (id == null) {
+                throw new IllegalArgumentException("Vertex is not known to clique store: " + vertex);
+            }
+            ids[end++] = id;
+        }
+        commit(start, end);
+    }
+
+    /**
+     * Appends clique formed of first {@code length} vertex ids
+     * of given array.
+     *
+     * @param cliqueIds vertex ids of clique
+     * @param length    number of ids used
+     */
+    public void addIds(int[] cliqueIds, int length) {
+        int start = reserve(length);
+        System.arraycopy(cliqueIds, 0, ids, start, length);
+        commit(start, start + length);
+    }
+
+    /**
+     * Appends all cliques of given store, which needs to be formed
+     * over the same list of vertices. Ids are copied in bulk, without
+     * forming any clique view.
+     *
+     * @param other store whose cliques are appended
+     * @throws IllegalArgumentException if store given is null or formed
+     *                                  over other vertices
+     */
+    public void addAll(CliqueStore<V> other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Clique store passed can not be null.");
+        } else if (other.vertices != vertices) {
+            throw new IllegalArgumentException("Clique store passed is formed over other vertices.");
+        }
+
+        int length = other.offsets[other.size];
+        int start = reserve(length);
+        System.arraycopy(other.ids, 0, ids, start, length);
+        ensureOffsetCapacity(size + other.size + 1);
+        for (int i = 0; i < other.size; i++) {
+            offsets[size + i + 1] = start + other.offsets[i + 1];
+        }
+        size += other.size;
+    }
+
+    /**
+     * Appends all cliques of given store, formed over other vertices,
+     * translating every vertex id of its cliques through given array.
+     * Used for merging cliques found in a subgraph whose vertex
+     * {@code i} is vertex {@code vertexIds[i]} of this store.
+     *
+     * @param other     store whose cliques are appended
+     * @param vertexIds ids in this store of vertices of other store
+     * @throws IllegalArgumentException if any argument given is null
+     */
+    public void addAll(CliqueStore<V> other, int[] vertexIds) {
+        if (other == null) {
+            throw new IllegalArgumentException("Clique store passed can not be null.");
+        } else if (vertexIds == null) {
+            throw new IllegalArgumentException("Vertex ids passed can not be null.");
+        }
+
+        for (int i = 0; i < other.size; i++) {
+            int start = reserve(other.offsets[i + 1] - other.offsets[i]);
+            int end = start;
+            for (int j = other.offsets[i]; j < other.offsets[i + 1]; j++) {
+                ids[end++] = vertexIds[other.ids[j]];
+            }
+            commit(start, end);
+        }
+    }
+
+    /**
+     * Returns view of clique at given index.
+     *
+     * @param index clique index
+     * @return unmodifiable set of clique vertices
+     * @throws IndexOutOfBoundsException if index is not valid
+     */
+    @Override
+    public Set<V> get(int index) {
+        checkIndex(index);
+        return new CliqueSet(offsets[index], offsets[index + 1]);
+    }
+
+    /**
+     * Returns number of vertices of clique at given index, without
+     * forming its view.
+     *
+     * @param index clique index
+     * @return clique size
+     * @throws IndexOutOfBoundsException if index is not valid
+     */
+    public int getCliqueSize(int index) {
+        checkIndex(index);
+        return offsets[index + 1] - offsets[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds maximum cliques among given maximal cliques - all cliques of
+     * the largest size. Sizes of cliques held in a store are read without
+     * forming their views.
+     *
+     * @param maximalCliques maximal cliques of graph
+     * @param <V>            variable type of vertices in graph
+     * @return cliques of the largest size, empty list if there are no cliques
+     * @throws IllegalArgumentException if cliques given are null
+     */
+    public static <V> List<Set<V>> findMaximumCliques(Collection<Set<V>> maximalCliques) {
+        if (maximalCliques == null) {
+            throw new IllegalArgumentException("Maximal cliques passed can not be null.");
+        }
+
+        List<Set<V>> maximumCliques = new ArrayList<>();
+        if (maximalCliques instanceof CliqueStore) {
+            CliqueStore<V> store = (CliqueStore<V>) maximalCliques;
+            int maximum = 0;
+            for (int i = 0; i < store.size; i++) {
+                maximum = Math.max(maximum, store.getCliqueSize(i));
+            }
+            for (int i = 0; i < store.size; i++) {
+                if (store.getCliqueSize(i) == maximum) {
+                    maximumCliques.add(store.get(i));
+                }
+            }
+            return maximumCliques;
+        }
+
+        int maximum = 0;
+        for (Set<V> clique : maximalCliques) {
+            if (clique.size() > maximum) {
+                maximum = clique.size();
+                maximumCliques.clear();
+            }
+            if (clique.size() == maximum) {
+                maximumCliques.add(clique);
+            }
+        }
+        return maximumCliques;
+    }
+
+    /**
+     * Shrinks arrays of this store to cliques stored, once no more
+     * cliques will be added.
+     */
+    public void trimToSize() {
+        ids = Arrays.copyOf(ids, offsets[size]);
+        offsets = Arrays.copyOf(offsets, size + 1);
+    }
+
+    /**
+     * Returns ids of graph vertices, forming them on first call.
+     *
+     * @return map from vertices to their ids
+     */
+    private Map<V, Integer> getVertexIds() {
+        if (vertexIds == null) {
+            vertexIds = new HashMap<>();
+            for (int i = 0; i < vertices.size(); i++) {
+                vertexIds.put(vertices.get(i), i);
+            }
+        }
+        return vertexIds;
+    }
+
+    /**
+     * Makes room for clique of given size at the end of ids array.
+     *
+     * @param length number of clique vertices
+     * @return index at which clique starts
+     */
+    private int reserve(int length) {
+        int start = offsets[size];
+        long required = (long) start + length;
+        if (required > ids.length) {
+            if (required > MAXIMUM_CAPACITY) {
+                throw new IllegalStateException("Clique store can not hold more vertex ids.");
+            }
+            ids = Arrays.copyOf(ids, (int) Math.min(MAXIMUM_CAPACITY, Math.max(required, ids.length + (long) (ids.length >> 1))));
+        }
+        return start;
+    }
+
+    /**
+     * Completes clique whose ids were written to given range.
+     *
+     * @param start index of first clique id
+     * @param end   index after last clique id
+     */
+    private void commit(int start, int end) {
+        Arrays.sort(ids, start, end);
+        ensureOffsetCapacity(size + 2);
+        offsets[++size] = end;
+    }
+
+    private void ensureOffsetCapacity(int capacity) {
+        if (capacity > offsets.length) {
+            if (capacity > MAXIMUM_CAPACITY) {
+                throw new IllegalStateException("Clique store can not hold more cliques.");
+            }
+            offsets = Arrays.copyOf(offsets, (int) Math.min(MAXIMUM_CAPACITY, Math.max(capacity, offsets.length + (long) (offsets.length >> 1))));
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+
+    /**
+     * Read-only set view of a clique, a range of ids array.
+     */
+    private final class CliqueSet extends AbstractSet<V> {
+
+        /**
+         * Index of first clique id.
+         */
+        private final int start;
+
+        /**
+         * Index after last clique id.
+         */
+        private final int end;
+
+        CliqueSet(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new Iterator<V>() {
+
+                /**
+                 * Index of next clique id.
+                 */
+                private int next = start;
+
+                @Override
+                public boolean hasNext() {
+                    return next < end;
+                }
+
+                @Override
+                public V next() {
+                    if (next >= end) {
+                        throw new NoSuchElementException();
+                    }
+                    return vertices.get(ids[next++]);
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object object) {
+            Integer id = getVertexIds().get(object);
+            return id != null && Arrays.binarySearch(ids, start, end, id) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return end - start;
+        }
+    }
+}
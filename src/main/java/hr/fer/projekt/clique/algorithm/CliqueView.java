@@ -0,0 +1,58 @@
+package hr.fer.projekt.clique.algorithm;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Read-only list view of potential clique held as array of vertex ids
+ * by algorithm engines working on dense vertex ids. Single view is reused
+ * for every clique passed to clique consumer, so no clique is allocated
+ * during traversal.
+ *
+ * @param <V> variable type of vertices in graph
+ */
+final class CliqueView<V> extends AbstractList<V> {
+
+    /**
+     * Graph vertices, indexed by their dense ids.
+     */
+    private final List<V> vertices;
+
+    /**
+     * Vertex ids of potential clique.
+     */
+    private final int[] ids;
+
+    /**
+     * Number of valid vertex ids.
+     */
+    private int size;
+
+    CliqueView(List<V> vertices, int[] ids) {
+        this.vertices = vertices;
+        this.ids = ids;
+    }
+
+    /**
+     * Sets number of vertex ids, from the start of array, which
+     * form viewed clique.
+     *
+     * @param size clique size
+     */
+    void setSize(int size) {
+        this.size = size;
+    }
+
+    @Override
+    public V get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        return vertices.get(ids[index]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,383 @@
+package hr.fer.projekt.clique.algorithm;
+
+import hr.fer.projekt.clique.graph.CompactGraph;
+import hr.fer.projekt.clique.output.CliqueConsumer;
+import hr.fer.projekt.clique.output.OutputEnvironment;
+import hr.fer.projekt.clique.output.TraceLevel;
+import hr.fer.projekt.clique.output.implementation.TextOutputEnvironment;
+import hr.fer.projekt.clique.utility.GraphTraversalUtility;
+import org.jgrapht.Graph;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Variant of Bron-Kerbosch algorithm which splits graph into connected
+ * components and solves every component on its own, since every clique
+ * lies within a single component. Components are found once, when clique
+ * finder is formed, and every component is renumbered compactly, so
+ * {@link BitSetBronKerbosch} solving it works with bit sets of component
+ * size rather than graph size.
+ * <p>
+ * Components which are complete graphs, including isolated vertices and
+ * single edges, form a single maximal clique and are reported directly,
+ * without any search. Other components are solved in parallel on a
+ * {@link ForkJoinPool}, largest first, and their cliques are merged once
+ * all components are solved. Algorithm steps are not reported, as steps
+ * of different components are interleaved. Clique consumer passed for
+ * streaming traversal is called concurrently from worker threads and
+ * needs to be thread safe.
+ *
+ * @param <V> variable type of vertices in graph
+ */
+public class ComponentBronKerbosch<V> implements CliqueFinder<V> {
+
+    /**
+     * Graph traversed.
+     */
+    private final CompactGraph<V> graph;
+
+    /**
+     * Vertex ids of every connected component of graph.
+     */
+    private final List<int[]> components;
+
+    /**
+     * Number of worker threads.
+     */
+    private final int parallelism;
+
+    /**
+     * Maximal cliques found for given graph.
+     */
+    private CliqueStore<V> maximalCliques;
+
+    /**
+     * Maximum cliques found for given graph.
+     */
+    private Collection<Set<V>> maximumCliques;
+
+    /**
+     * Specifies whether degeneracy ordering should be utilized at
+     * the outermost level of recursion.
+     */
+    private boolean utilizeDegeneracyOrdering;
+
+    /**
+     * Specifies whether pivot vertex should be calculated and
+     * pivot environment utilized in recursive calls.
+     */
+    private boolean utilizePivotEnvironment;
+
+    /**
+     * Strategy used for choosing pivot vertex.
+     */
+    private PivotStrategy pivotStrategy = PivotStrategy.TOMITA;
+
+    /**
+     * Output environment served during and after algorithm
+     * computation.
+     */
+    private OutputEnvironment<V> outputEnvironment;
+
+    /**
+     * Output environment of clique finders of single components, which
+     * reports nothing.
+     */
+    private final TextOutputEnvironment<V> componentOutputEnvironment = new TextOutputEnvironment<V>() {
+        @Override
+        protected void output(String text) {
+        }
+    };
+
+    /**
+     * Signals that clique consumer requested traversal to stop.
+     */
+    private volatile boolean stopped;
+
+    public <E> ComponentBronKerbosch(
+            Graph<V, E> graph,
+            boolean utilizeDegeneracyOrdering,
+            boolean utilizePivotEnvironment,
+            OutputEnvironment<V> outputEnvironment) {
+        this(graph, utilizeDegeneracyOrdering, utilizePivotEnvironment, outputEnvironment,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    public <E> ComponentBronKerbosch(
+            Graph<V, E> graph,
+            boolean utilizeDegeneracyOrdering,
+            boolean utilizePivotEnvironment,
+            OutputEnvironment<V> outputEnvironment,
+            int parallelism) {
+        this(graph == null ? null : CompactGraph.fromGraph(graph), utilizeDegeneracyOrdering,
+                utilizePivotEnvironment, outputEnvironment, parallelism);
+    }
+
+    public ComponentBronKerbosch(
+            CompactGraph<V> graph,
+            boolean utilizeDegeneracyOrdering,
+            boolean utilizePivotEnvironment,
+            OutputEnvironment<V> outputEnvironment) {
+        this(graph, utilizeDegeneracyOrdering, utilizePivotEnvironment, outputEnvironment,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    public ComponentBronKerbosch(
+            CompactGraph<V> graph,
+            boolean utilizeDegeneracyOrdering,
+            boolean utilizePivotEnvironment,
+            OutputEnvironment<V> outputEnvironment,
+            int parallelism) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph passed can not be null.");
+        } else if (outputEnvironment == null) {
+            throw new IllegalArgumentException("Output environment passed can not be null.");
+        } else if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism needs to be positive.");
+        }
+        this.graph = graph;
+        this.components = GraphTraversalUtility.getConnectedComponents(graph);
+        this.utilizeDegeneracyOrdering = utilizeDegeneracyOrdering;
+        this.utilizePivotEnvironment = utilizePivotEnvironment;
+        this.outputEnvironment = outputEnvironment;
+        this.parallelism = parallelism;
+        componentOutputEnvironment.setTraceLevel(TraceLevel.OFF);
+    }
+
+    /**
+     * Sets strategy used for choosing pivot vertex when pivot environment
+     * is utilized. Tomita's strategy is used by default.
+     *
+     * @param pivotStrategy pivot strategy
+     * @throws IllegalArgumentException if value passed is null
+     */
+    public void setPivotStrategy(PivotStrategy pivotStrategy) {
+        if (pivotStrategy == null) {
+            throw new IllegalArgumentException("Pivot strategy passed can not be null.");
+        }
+        this.pivotStrategy = pivotStrategy;
+    }
+
+    /**
+     * Returns number of connected components of graph traversed.
+     *
+     * @return number of components
+     */
+    public int getComponentCount() {
+        return components.size();
+    }
+
+    @Override
+    public void performTraversal() {
+        boolean traceSummary = startTraversal();
+
+        stopped = false;
+        maximalCliques = new CliqueStore<>(graph.getVertices());
+        List<int[]> searched = new ArrayList<>();
+        for (int[] component : components) {
+            if (isComplete(component)) {
+                maximalCliques.addIds(component, component.length);
+            } else {
+                searched.add(component);
+            }
+        }
+
+        List<CliqueStore<V>> componentCliques = solve(searched, componentGraph -> {
+            CliqueStore<V> cliques = new CliqueStore<>(componentGraph.getVertices());
+            createCliqueFinder(componentGraph).performTraversal(clique -> {
+                cliques.addClique(clique);
+                return true;
+            });
+            return cliques;
+        });
+        for (int i = 0; i < searched.size(); i++) {
+            maximalCliques.addAll(componentCliques.get(i), searched.get(i));
+        }
+        maximalCliques.trimToSize();
+        maximumCliques = CliqueStore.findMaximumCliques(maximalCliques);
+
+        outputEnvironment.setMaximalCliques(maximalCliques);
+        outputEnvironment.setMaximumCliques(maximumCliques);
+
+        if (traceSummary) {
+            outputEnvironment.traversalFinished(true);
+        }
+    }
+
+    @Override
+    public void performTraversal(CliqueConsumer<V> cliqueConsumer) {
+        if (cliqueConsumer == null) {
+            throw new IllegalArgumentException("Clique consumer passed can not be null.");
+        }
+        boolean traceSummary = startTraversal();
+
+        stopped = false;
+        List<int[]> searched = new ArrayList<>();
+        for (int[] component : components) {
+            if (stopped) {
+                break;
+            } else if (isComplete(component)) {
+                List<V> clique = new ArrayList<>(component.length);
+                for (int id : component) {
+                    clique.add(graph.getVertex(id));
+                }
+                stopped = !cliqueConsumer.accept(Collections.unmodifiableList(clique));
+            } else {
+                searched.add(component);
+            }
+        }
+
+        solve(searched, componentGraph -> {
+            createCliqueFinder(componentGraph).performTraversal(clique -> {
+                if (stopped || !cliqueConsumer.accept(clique)) {
+                    stopped = true;
+                }
+                return !stopped;
+            });
+            return null;
+        });
+
+        if (traceSummary) {
+            outputEnvironment.traversalFinished(!stopped);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Every component is counted on its own, and counts are merged once
+     * all components are counted.
+     */
+    @Override
+    public CliqueCounts countCliques() {
+        boolean traceSummary = startTraversal();
+
+        stopped = false;
+        CliqueCounts.Counter<V> cliqueCounter = new CliqueCounts.Counter<>();
+        List<int[]> searched = new ArrayList<>();
+        for (int[] component : components) {
+            if (isComplete(component)) {
+                cliqueCounter.count(component.length);
+            } else {
+                searched.add(component);
+            }
+        }
+
+        for (CliqueCounts componentCounts : solve(searched,
+                componentGraph -> createCliqueFinder(componentGraph).countCliques())) {
+            cliqueCounter.add(componentCounts);
+        }
+        CliqueCounts cliqueCounts = cliqueCounter.toCounts();
+
+        if (traceSummary) {
+            outputEnvironment.traversalFinished(true);
+        }
+        return cliqueCounts;
+    }
+
+    /**
+     * Reports start of traversal if output environment's trace level
+     * includes it.
+     *
+     * @return true if start and end of traversal are reported
+     */
+    private boolean startTraversal() {
+        boolean traceSummary = outputEnvironment.getTraceLevel().includes(TraceLevel.SUMMARY);
+        if (traceSummary) {
+            outputEnvironment.traversalStarted("Bron-Kerbosch algorithm (component engine)\n"
+                    + "Utilize degeneracy ordering: " + utilizeDegeneracyOrdering + "\n"
+                    + "Utilize pivot environment: " + utilizePivotEnvironment + "\n"
+                    + (utilizePivotEnvironment ? "Pivot strategy: " + pivotStrategy + "\n" : "")
+                    + "Connected components: " + components.size() + "\n"
+                    + "Parallelism: " + parallelism);
+        }
+        return traceSummary;
+    }
+
+    /**
+     * Checks whether component with given vertex ids is a complete graph.
+     * Neighbours of component vertices all lie within the component, so
+     * it is complete if every vertex is connected to all other vertices.
+     */
+    private boolean isComplete(int[] component) {
+        for (int id : component) {
+            if (graph.getDegree(id) != component.length - 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private BitSetBronKerbosch<V> createCliqueFinder(CompactGraph<V> componentGraph) {
+        BitSetBronKerbosch<V> cliqueFinder = new BitSetBronKerbosch<>(
+                componentGraph,
+                utilizeDegeneracyOrdering,
+                utilizePivotEnvironment,
+                componentOutputEnvironment);
+        cliqueFinder.setPivotStrategy(pivotStrategy);
+        return cliqueFinder;
+    }
+
+    /**
+     * Solves components with given vertex ids with given function, which
+     * receives compactly renumbered subgraph of every component. Largest
+     * components are started first, so that they do not delay the end of
+     * traversal. Components are solved on calling thread if there is no
+     * parallelism to exploit.
+     *
+     * @param searched vertex ids of components
+     * @param solver   function which solves single component
+     * @param <R>      result type of single component
+     * @return results of every component, in order of components given
+     */
+    private <R> List<R> solve(List<int[]> searched, Function<CompactGraph<V>, R> solver) {
+        List<R> results = new ArrayList<>(searched.size());
+        if (searched.size() < 2 || parallelism == 1) {
+            for (int[] component : searched) {
+                results.add(stopped ? null : solver.apply(graph.getSubgraph(component)));
+            }
+            return results;
+        }
+
+        Integer[] order = new Integer[searched.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (first, second) -> Integer.compare(
+                searched.get(second).length, searched.get(first).length));
+
+        List<Callable<R>> tasks = new ArrayList<>(order.length);
+        for (int index : order) {
+            int[] component = searched.get(index);
+            tasks.add(() -> stopped ? null : solver.apply(graph.getSubgraph(component)));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<Future<R>> futures = pool.invokeAll(tasks);
+            results.addAll(Collections.nCopies(order.length, null));
+            for (int i = 0; i < order.length; i++) {
+                results.set(order[i], futures.get(i).get());
+            }
+            return results;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Traversal was interrupted.", exception);
+        } catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,442 @@
+package hr.fer.projekt.clique.algorithm;
+
+import hr.fer.projekt.clique.utility.GraphTraversalUtility;
+import org.jgrapht.Graph;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Keeps set of maximal cliques of a graph up to date while edges are added
+ * to and removed from graph. Every update recomputes only cliques in the
+ * neighbourhood of updated edge, so its cost depends on size of that
+ * neighbourhood instead of size of the whole graph:
+ * <p>
+ * Adding edge between u and v adds every maximal clique formed by u, v
+ * and maximal clique of their common neighbours, and removes cliques which
+ * such clique extends by u or by v.
+ * <p>
+ * Removing edge between u and v removes every maximal clique containing
+ * both u and v, and adds what remains of such clique without u, or without
+ * v, unless it is extended by another vertex.
+ * <p>
+ * Changes caused by every update are returned and passed to registered
+ * listeners. Index is not thread-safe.
+ *
+ * @param <V> variable type of vertices in graph
+ */
+public class DynamicCliqueIndex<V> {
+
+    /**
+     * Neighbours of every graph vertex.
+     */
+    private final Map<V, Set<V>> neighbours = new HashMap<>();
+
+    /**
+     * Maximal cliques of graph.
+     */
+    private final Set<Set<V>> cliques = new HashSet<>();
+
+    /**
+     * Maximal cliques containing every graph vertex.
+     */
+    private final Map<V, Set<Set<V>>> vertexCliques = new HashMap<>();
+
+    /**
+     * Listeners notified of changes of maximal cliques.
+     */
+    private final List<CliqueChangeListener<V>> listeners = new ArrayList<>();
+
+    /**
+     * Constructor which forms index of empty graph.
+     */
+    public DynamicCliqueIndex() {
+    }
+
+    /**
+     * Constructor which forms index of given graph, with maximal
+     * cliques enumerated in degeneracy ordering. Graph is copied, so
+     * later changes of given graph are not reflected in index.
+     *
+     * @param graph graph whose cliques are maintained
+     * @param <E>   edge type parameter
+     * @throws IllegalArgumentException if graph given is null
+     */
+    public <E> DynamicCliqueIndex(Graph<V, E> graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph passed can not be null.");
+        }
+        for (V vertex : graph.vertexSet()) {
+            neighbours.put(vertex, new HashSet<>());
+        }
+        for (E edge : graph.edgeSet()) {
+            V source = graph.getEdgeSource(edge);
+            V target = graph.getEdgeTarget(edge);
+            if (!source.equals(target)) {
+                neighbours.get(source).add(target);
+                neighbours.get(target).add(source);
+            }
+        }
+
+        // Every maximal clique is found from its vertex which is the
+        // first one in degeneracy ordering.
+        Set<V> visited = new HashSet<>();
+        for (V vertex : GraphTraversalUtility.getDegeneracyOrdering(graph)) {
+            Set<V> candidates = new HashSet<>();
+            Set<V> found = new HashSet<>();
+            for (V neighbour : neighbours.get(vertex)) {
+                (visited.contains(neighbour) ? found : candidates).add(neighbour);
+            }
+            List<V> clique = new ArrayList<>();
+            clique.add(vertex);
+            findCliques(clique, candidates, found, this::indexClique);
+            visited.add(vertex);
+        }
+    }
+
+    /**
+     * Registers listener notified of every change of maximal cliques.
+     *
+     * @param listener listener of clique changes
+     * @throws IllegalArgumentException if listener given is null
+     */
+    public void addListener(CliqueChangeListener<V> listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener passed can not be null.");
+        }
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes registered listener.
+     *
+     * @param listener listener of clique changes
+     */
+    public void removeListener(CliqueChangeListener<V> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Adds vertex to graph, unless graph already contains it. Vertex
+     * forms maximal clique on its own.
+     *
+     * @param vertex vertex added
+     * @return changes of maximal cliques
+     * @throws IllegalArgumentException if vertex given is null
+     */
+    public CliqueDelta<V> addVertex(V vertex) {
+        Changes changes = new Changes();
+        addVertex(vertex, changes);
+        return changes.publish();
+    }
+
+    /**
+     * Adds edge between given vertices, adding vertices to graph if
+     * graph does not contain them.
+     *
+     * @param source first vertex
+     * @param target second vertex
+     * @return changes of maximal cliques
+     * @throws IllegalArgumentException if either vertex is null or
+     *                                  vertices are equal
+     */
+    public CliqueDelta<V> addEdge(V source, V target) {
+        checkEdge(source, target);
+        Changes changes = new Changes();
+        addVertex(source, changes);
+        addVertex(target, changes);
+        if (!neighbours.get(source).add(target)) {
+            return changes.publish();
+        }
+        neighbours.get(target).add(source);
+
+        // New maximal cliques are formed by both vertices and maximal
+        // cliques of their common neighbours.
+        List<V> clique = new ArrayList<>(Arrays.asList(source, target));
+        findCliques(clique, commonNeighbours(source, target), new HashSet<>(), newClique -> {
+            changes.add(newClique);
+            for (V vertex : Arrays.asList(source, target)) {
+                Set<V> subsumed = without(newClique, vertex);
+                if (cliques.contains(subsumed)) {
+                    changes.remove(subsumed);
+                }
+            }
+        });
+        return changes.publish();
+    }
+
+    /**
+     * Removes edge between given vertices. Vertices remain in graph.
+     *
+     * @param source first vertex
+     * @param target second vertex
+     * @return changes of maximal cliques
+     * @throws IllegalArgumentException if either vertex is null or
+     *                                  vertices are equal
+     */
+    public CliqueDelta<V> removeEdge(V source, V target) {
+        checkEdge(source, target);
+        Changes changes = new Changes();
+        if (!containsEdge(source, target)) {
+            return changes.publish();
+        }
+
+        // Cliques containing both vertices are found through clique
+        // index of the vertex which is in fewer cliques.
+        Set<Set<V>> sourceCliques = vertexCliques.get(source);
+        Set<Set<V>> targetCliques = vertexCliques.get(target);
+        V other = sourceCliques.size() <= targetCliques.size() ? target : source;
+        List<Set<V>> broken = new ArrayList<>();
+        for (Set<V> clique : sourceCliques.size() <= targetCliques.size() ? sourceCliques : targetCliques) {
+            if (clique.contains(other)) {
+                broken.add(clique);
+            }
+        }
+
+        neighbours.get(source).remove(target);
+        neighbours.get(target).remove(source);
+        for (Set<V> clique : broken) {
+            changes.remove(clique);
+        }
+        for (Set<V> clique : broken) {
+            for (V vertex : Arrays.asList(source, target)) {
+                Set<V> remainder = without(clique, vertex);
+                if (!cliques.contains(remainder) && isMaximal(remainder)) {
+                    changes.add(remainder);
+                }
+            }
+        }
+        return changes.publish();
+    }
+
+    /**
+     * Checks whether graph contains given vertex.
+     *
+     * @param vertex graph vertex
+     * @return true if graph contains vertex
+     */
+    public boolean containsVertex(V vertex) {
+        return neighbours.containsKey(vertex);
+    }
+
+    /**
+     * Checks whether given vertices are connected.
+     *
+     * @param source first vertex
+     * @param target second vertex
+     * @return true if edge exists
+     */
+    public boolean containsEdge(V source, V target) {
+        Set<V> sourceNeighbours = neighbours.get(source);
+        return sourceNeighbours != null && sourceNeighbours.contains(target);
+    }
+
+    /**
+     * Current maximal cliques of graph.
+     *
+     * @return unmodifiable view of maximal cliques
+     */
+    public Collection<Set<V>> getMaximalCliques() {
+        return Collections.unmodifiableSet(cliques);
+    }
+
+    /**
+     * Current maximal cliques containing given vertex.
+     *
+     * @param vertex graph vertex
+     * @return unmodifiable view of maximal cliques, empty if graph
+     * does not contain vertex
+     */
+    public Collection<Set<V>> getMaximalCliques(V vertex) {
+        Set<Set<V>> containing = vertexCliques.get(vertex);
+        return containing == null ? Collections.emptySet() : Collections.unmodifiableSet(containing);
+    }
+
+    /**
+     * Current maximum cliques of graph, found by single pass over
+     * maximal cliques.
+     *
+     * @return maximum cliques
+     */
+    public Collection<Set<V>> getMaximumCliques() {
+        return CliqueStore.findMaximumCliques(cliques);
+    }
+
+    private void addVertex(V vertex, Changes changes) {
+        if (vertex == null) {
+            throw new IllegalArgumentException("Vertex passed can not be null.");
+        }
+        if (!neighbours.containsKey(vertex)) {
+            neighbours.put(vertex, new HashSet<>());
+            changes.add(Collections.unmodifiableSet(new HashSet<>(Collections.singleton(vertex))));
+        }
+    }
+
+    private void checkEdge(V source, V target) {
+        if (source == null || target == null) {
+            throw new IllegalArgumentException("Vertices passed can not be null.");
+        } else if (source.equals(target)) {
+            throw new IllegalArgumentException("Vertex can not be connected to itself.");
+        }
+    }
+
+    private void indexClique(Set<V> clique) {
+        cliques.add(clique);
+        for (V vertex : clique) {
+            vertexCliques.computeIfAbsent(vertex, key -> new HashSet<>()).add(clique);
+        }
+    }
+
+    private void unindexClique(Set<V> clique) {
+        cliques.remove(clique);
+        for (V vertex : clique) {
+            vertexCliques.get(vertex).remove(clique);
+        }
+    }
+
+    private Set<V> commonNeighbours(V source, V target) {
+        Set<V> sourceNeighbours = neighbours.get(source);
+        Set<V> targetNeighbours = neighbours.get(target);
+        if (sourceNeighbours.size() > targetNeighbours.size()) {
+            Set<V> swap = sourceNeighbours;
+            sourceNeighbours = targetNeighbours;
+            targetNeighbours = swap;
+        }
+        Set<V> common = new HashSet<>();
+        for (V neighbour : sourceNeighbours) {
+            if (targetNeighbours.contains(neighbour)) {
+                common.add(neighbour);
+            }
+        }
+        return common;
+    }
+
+    /**
+     * Checks whether no vertex outside of given clique is connected
+     * to all of its vertices. Only neighbours of clique vertex with
+     * the fewest neighbours need to be checked.
+     */
+    private boolean isMaximal(Set<V> clique) {
+        V smallest = null;
+        for (V vertex : clique) {
+            if (smallest == null || neighbours.get(vertex).size() < neighbours.get(smallest).size()) {
+                smallest = vertex;
+            }
+        }
+        for (V candidate : neighbours.get(smallest)) {
+            if (!clique.contains(candidate) && neighbours.get(candidate).containsAll(without(clique, smallest))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static <V> Set<V> without(Set<V> clique, V vertex) {
+        Set<V> remainder = new HashSet<>(clique);
+        remainder.remove(vertex);
+        return Collections.unmodifiableSet(remainder);
+    }
+
+    /**
+     * Bron-Kerbosch search with Tomita pivot over neighbour sets of
+     * this index, passing every maximal clique which extends given
+     * potential clique to given consumer.
+     */
+    private void findCliques(List<V> potentialClique,
+                             Set<V> vertexCandidates,
+                             Set<V> vertexFound,
+                             Consumer<Set<V>> consumer) {
+        if (vertexCandidates.isEmpty()) {
+            if (vertexFound.isEmpty()) {
+                consumer.accept(Collections.unmodifiableSet(new HashSet<>(potentialClique)));
+            }
+            return;
+        }
+
+        V pivot = null;
+        int connections = -1;
+        for (Set<V> pivotCandidates : Arrays.asList(vertexCandidates, vertexFound)) {
+            for (V candidate : pivotCandidates) {
+                int currentConnections = 0;
+                for (V neighbour : neighbours.get(candidate)) {
+                    if (vertexCandidates.contains(neighbour)) {
+                        currentConnections++;
+                    }
+                }
+                if (currentConnections > connections) {
+                    connections = currentConnections;
+                    pivot = candidate;
+                }
+            }
+        }
+
+        Set<V> pivotNeighbours = neighbours.get(pivot);
+        for (V candidate : new ArrayList<>(vertexCandidates)) {
+            if (pivotNeighbours.contains(candidate)) {
+                continue;
+            }
+            Set<V> candidateNeighbours = neighbours.get(candidate);
+            Set<V> newVertexCandidates = new HashSet<>();
+            for (V newCandidate : vertexCandidates) {
+                if (candidateNeighbours.contains(newCandidate)) {
+                    newVertexCandidates.add(newCandidate);
+                }
+            }
+            Set<V> newVertexFound = new HashSet<>();
+            for (V newFound : vertexFound) {
+                if (candidateNeighbours.contains(newFound)) {
+                    newVertexFound.add(newFound);
+                }
+            }
+
+            potentialClique.add(candidate);
+            findCliques(potentialClique, newVertexCandidates, newVertexFound, consumer);
+            potentialClique.remove(potentialClique.size() - 1);
+
+            vertexCandidates.remove(candidate);
+            vertexFound.add(candidate);
+        }
+    }
+
+    /**
+     * Changes of maximal cliques made by single update, which are
+     * applied to index as they are recorded. Clique added and removed
+     * during the same update is not reported.
+     */
+    private class Changes {
+
+        /**
+         * Maximal cliques added.
+         */
+        private final Set<Set<V>> added = new LinkedHashSet<>();
+
+        /**
+         * Maximal cliques removed.
+         */
+        private final Set<Set<V>> removed = new LinkedHashSet<>();
+
+        void add(Set<V> clique) {
+            indexClique(clique);
+            if (!removed.remove(clique)) {
+                added.add(clique);
+            }
+        }
+
+        void remove(Set<V> clique) {
+            unindexClique(clique);
+            if (!added.remove(clique)) {
+                removed.add(clique);
+            }
+        }
+
+        CliqueDelta<V> publish() {
+            CliqueDelta<V> delta = new CliqueDelta<>(added, removed);
+            if (!delta.isEmpty()) {
+                for (CliqueChangeListener<V> listener : listeners) {
+                    listener.cliquesChanged(delta);
+                }
+            }
+            return delta;
+        }
+    }
+}
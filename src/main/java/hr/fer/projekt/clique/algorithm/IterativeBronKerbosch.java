@@ -0,0 +1,574 @@
+package hr.fer.projekt.clique.algorithm;
+
+import hr.fer.projekt.clique.graph.CompactGraph;
+import hr.fer.projekt.clique.output.CliqueConsumer;
+import hr.fer.projekt.clique.output.OutputEnvironment;
+import hr.fer.projekt.clique.output.TraceLevel;
+import hr.fer.projekt.clique.utility.GraphTraversalUtility;
+import org.jgrapht.Graph;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Variant of Bron-Kerbosch algorithm which replaces recursion with an
+ * explicit stack of frames, one for every depth of search, so depth of
+ * search is not limited by thread stack size. Frame at depth {@code d}
+ * holds candidate vertices, already found vertices and vertices still
+ * to be branched on as arrays of dense vertex ids, allocated once the
+ * search first reaches that depth and reused by every later frame at the
+ * same depth. Apart from growth of collected cliques, no object is
+ * allocated per search node while algorithm steps are not reported.
+ * <p>
+ * Candidates of every frame are kept in ascending order of vertex ids,
+ * and adjacency is tested by binary search of sorted adjacency lists of
+ * {@link CompactGraph}. Every vertex of a frame below the outermost one
+ * is a neighbour of the first vertex of potential clique, so buffers of
+ * those frames need no more room than the largest vertex degree.
+ *
+ * @param <V> variable type of vertices in graph
+ */
+public class IterativeBronKerbosch<V> implements CliqueFinder<V> {
+
+    /**
+     * Graph traversed.
+     */
+    private final CompactGraph<V> graph;
+
+    /**
+     * Graph vertices, indexed by their dense ids.
+     */
+    private final List<V> vertices;
+
+    /**
+     * Largest vertex degree of graph.
+     */
+    private final int maximumDegree;
+
+    /**
+     * Maximal cliques found for given graph.
+     */
+    private CliqueStore<V> maximalCliques;
+
+    /**
+     * Maximum cliques found for given graph.
+     */
+    private Collection<Set<V>> maximumCliques;
+
+    /**
+     * Specifies whether degeneracy ordering should be utilized at
+     * the outermost level of search.
+     */
+    private boolean utilizeDegeneracyOrdering;
+
+    /**
+     * Specifies whether pivot vertex should be calculated and
+     * pivot environment utilized in search.
+     */
+    private boolean utilizePivotEnvironment;
+
+    /**
+     * Strategy used for choosing pivot vertex.
+     */
+    private PivotStrategy pivotStrategy = PivotStrategy.TOMITA;
+
+    /**
+     * Output environment served during and after algorithm
+     * computation.
+     */
+    private OutputEnvironment<V> outputEnvironment;
+
+    /**
+     * Vertex ids of potential clique, one for every depth of search.
+     */
+    private int[] potentialClique;
+
+    /**
+     * View of potential clique passed to clique consumer.
+     */
+    private CliqueView<V> cliqueView;
+
+    /**
+     * Candidate vertex ids of frame at every depth.
+     */
+    private int[][] candidates;
+
+    /**
+     * Number of candidates of frame at every depth.
+     */
+    private int[] candidateCounts;
+
+    /**
+     * Already found vertex ids of frame at every depth.
+     */
+    private int[][] found;
+
+    /**
+     * Number of already found vertices of frame at every depth.
+     */
+    private int[] foundCounts;
+
+    /**
+     * Vertex ids on which frame at every depth branches.
+     */
+    private int[][] branches;
+
+    /**
+     * Number of vertices on which frame at every depth branches.
+     */
+    private int[] branchCounts;
+
+    /**
+     * Index of next vertex on which frame at every depth branches.
+     */
+    private int[] branchIndices;
+
+    /**
+     * Consumer to which maximal cliques are passed as they are found.
+     */
+    private CliqueConsumer<V> cliqueConsumer;
+
+    /**
+     * Counter of cliques by their size during counting traversal,
+     * null if cliques are passed to clique consumer.
+     */
+    private CliqueCounts.Counter<V> cliqueCounter;
+
+    /**
+     * Signals that clique consumer requested traversal to stop.
+     */
+    private boolean stopped;
+
+    /**
+     * Specifies whether algorithm steps are reported to output
+     * environment during current traversal.
+     */
+    private boolean traceSteps;
+
+    /**
+     * Specifies whether start and end of traversal are reported to
+     * output environment during current traversal.
+     */
+    private boolean traceSummary;
+
+    public <E> IterativeBronKerbosch(
+            Graph<V, E> graph,
+            boolean utilizeDegeneracyOrdering,
+            boolean utilizePivotEnvironment,
+            OutputEnvironment<V> outputEnvironment) {
+        this(graph == null ? null : CompactGraph.fromGraph(graph), utilizeDegeneracyOrdering,
+                utilizePivotEnvironment, outputEnvironment);
+    }
+
+    public IterativeBronKerbosch(
+            CompactGraph<V> graph,
+            boolean utilizeDegeneracyOrdering,
+            boolean utilizePivotEnvironment,
+            OutputEnvironment<V> outputEnvironment) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph passed can not be null.");
+        } else if (outputEnvironment == null) {
+            throw new IllegalArgumentException("Output environment passed can not be null.");
+        }
+        this.graph = graph;
+        this.vertices = graph.getVertices();
+        this.utilizeDegeneracyOrdering = utilizeDegeneracyOrdering;
+        this.utilizePivotEnvironment = utilizePivotEnvironment;
+        this.outputEnvironment = outputEnvironment;
+
+        int maximumDegree = 0;
+        for (int id = 0; id < vertices.size(); id++) {
+            maximumDegree = Math.max(maximumDegree, graph.getDegree(id));
+        }
+        this.maximumDegree = maximumDegree;
+    }
+
+    /**
+     * Sets strategy used for choosing pivot vertex when pivot environment
+     * is utilized. Tomita's strategy is used by default.
+     *
+     * @param pivotStrategy pivot strategy
+     * @throws IllegalArgumentException if value passed is null
+     */
+    public void setPivotStrategy(PivotStrategy pivotStrategy) {
+        if (pivotStrategy == null) {
+            throw new IllegalArgumentException("Pivot strategy passed can not be null.");
+        }
+        this.pivotStrategy = pivotStrategy;
+    }
+
+    @Override
+    public void performTraversal() {
+        startTraversal();
+
+        maximalCliques = new CliqueStore<>(vertices);
+        findMaximalCliques(clique -> {
+            maximalCliques.addIds(potentialClique, clique.size());
+            return true;
+        });
+        maximalCliques.trimToSize();
+        maximumCliques = CliqueStore.findMaximumCliques(maximalCliques);
+
+        outputEnvironment.setMaximalCliques(maximalCliques);
+        outputEnvironment.setMaximumCliques(maximumCliques);
+
+        if (traceSummary) {
+            outputEnvironment.traversalFinished(true);
+        }
+    }
+
+    @Override
+    public void performTraversal(CliqueConsumer<V> cliqueConsumer) {
+        if (cliqueConsumer == null) {
+            throw new IllegalArgumentException("Clique consumer passed can not be null.");
+        }
+        startTraversal();
+
+        findMaximalCliques(cliqueConsumer);
+
+        if (traceSummary) {
+            outputEnvironment.traversalFinished(!stopped);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Sizes of potential cliques are counted directly, without
+     * passing any view of them to a consumer.
+     */
+    @Override
+    public CliqueCounts countCliques() {
+        startTraversal();
+
+        CliqueCounts cliqueCounts;
+        cliqueCounter = new CliqueCounts.Counter<>();
+        try {
+            findMaximalCliques(null);
+            cliqueCounts = cliqueCounter.toCounts();
+        } finally {
+            cliqueCounter = null;
+        }
+
+        if (traceSummary) {
+            outputEnvironment.traversalFinished(true);
+        }
+        return cliqueCounts;
+    }
+
+    /**
+     * Reads trace level of output environment once, so that no event is
+     * formed during traversal unless output environment will report it.
+     */
+    private void startTraversal() {
+        TraceLevel traceLevel = outputEnvironment.getTraceLevel();
+        traceSteps = traceLevel.includes(TraceLevel.STEPS);
+        traceSummary = traceLevel.includes(TraceLevel.SUMMARY);
+
+        if (traceSummary) {
+            outputEnvironment.traversalStarted("Bron-Kerbosch algorithm (iterative engine)\n"
+                    + "Utilize degeneracy ordering: " + utilizeDegeneracyOrdering + "\n"
+                    + "Utilize pivot environment: " + utilizePivotEnvironment
+                    + (utilizePivotEnvironment ? "\nPivot strategy: " + pivotStrategy : ""));
+        }
+    }
+
+    private void findMaximalCliques(CliqueConsumer<V> cliqueConsumer) {
+
+        this.cliqueConsumer = cliqueConsumer;
+        stopped = false;
+
+        // Clique has at most one vertex more than the largest degree, and
+        // frame at depth d extends potential clique of d vertices.
+        int n = vertices.size();
+        int depths = Math.min(n, maximumDegree + 1) + 1;
+        potentialClique = new int[depths];
+        cliqueView = new CliqueView<>(vertices, potentialClique);
+        candidates = new int[depths][];
+        candidateCounts = new int[depths];
+        found = new int[depths][];
+        foundCounts = new int[depths];
+        branches = new int[depths][];
+        branchCounts = new int[depths];
+        branchIndices = new int[depths];
+
+        if (n == 0) {
+            return;
+        }
+
+        int[] vertexCandidates = buffer(candidates, 0);
+        for (int id = 0; id < n; id++) {
+            vertexCandidates[id] = id;
+        }
+        candidateCounts[0] = n;
+        buffer(found, 0);
+        foundCounts[0] = 0;
+
+        if (utilizeDegeneracyOrdering) {
+            degeneracyOrdering();
+        } else {
+            search(0);
+        }
+    }
+
+    /**
+     * Outermost level of search in degeneracy order. Candidates of every
+     * vertex are its neighbours which come later in the ordering, and
+     * already found vertices are neighbours which come earlier, so both
+     * are read off its adjacency list instead of filtering all vertices.
+     */
+    private void degeneracyOrdering() {
+        int[] degeneracyOrdering = GraphTraversalUtility.getCoreDecomposition(graph).getOrderingIds();
+        if (traceSteps) {
+            CliqueView<V> orderingView = new CliqueView<>(vertices, degeneracyOrdering);
+            orderingView.setSize(degeneracyOrdering.length);
+            outputEnvironment.degeneracyOrderingComputed(orderingView);
+        }
+
+        int[] positions = new int[degeneracyOrdering.length];
+        for (int i = 0; i < degeneracyOrdering.length; i++) {
+            positions[degeneracyOrdering[i]] = i;
+        }
+
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] newVertexCandidates = buffer(candidates, 1);
+        int[] newVertexFound = buffer(found, 1);
+        for (int vertex : degeneracyOrdering) {
+            if (stopped) {
+                return;
+            }
+            potentialClique[0] = vertex;
+
+            int candidateCount = 0;
+            int foundCount = 0;
+            for (int i = offsets[vertex]; i < offsets[vertex + 1]; i++) {
+                int neighbour = targets[i];
+                if (positions[neighbour] > positions[vertex]) {
+                    newVertexCandidates[candidateCount++] = neighbour;
+                } else {
+                    newVertexFound[foundCount++] = neighbour;
+                }
+            }
+            candidateCounts[1] = candidateCount;
+            foundCounts[1] = foundCount;
+
+            if (candidateCount == 0 && foundCount == 0) {
+                addMaximalClique(1, 1);
+            } else {
+                search(1);
+            }
+        }
+    }
+
+    /**
+     * Searches subtree of frame at given depth, whose candidates and
+     * already found vertices are set, until all of its branches are
+     * explored. Instead of recursive calls, frames of deeper levels
+     * are entered and left by moving current depth.
+     *
+     * @param base depth of subtree root
+     */
+    private void search(int base) {
+        enterFrame(base);
+
+        int depth = base;
+        while (depth >= base) {
+            if (stopped || branchIndices[depth] == branchCounts[depth]) {
+                depth--;
+                continue;
+            }
+
+            int vertex = branches[depth][branchIndices[depth]++];
+            potentialClique[depth] = vertex;
+            extend(depth, vertex);
+
+            // Potential clique is maximal if there are neither candidates
+            // nor already found vertices connected to all of its vertices.
+            if (candidateCounts[depth + 1] == 0 && foundCounts[depth + 1] == 0) {
+                addMaximalClique(depth + 1, depth);
+            } else {
+                depth++;
+                enterFrame(depth);
+            }
+        }
+    }
+
+    /**
+     * Prepares frame at given depth, whose candidates and already found
+     * vertices are set, by choosing vertices it branches on - candidates
+     * not connected to pivot vertex, or all candidates if pivot
+     * environment is not utilized.
+     *
+     * @param depth depth of frame
+     */
+    private void enterFrame(int depth) {
+        int[] vertexCandidates = candidates[depth];
+        int candidateCount = candidateCounts[depth];
+
+        if (traceSteps) {
+            outputEnvironment.callEntered(depth, potentialCliqueView(depth),
+                    idView(vertexCandidates, candidateCount),
+                    idView(found[depth], foundCounts[depth]));
+        }
+
+        int[] frameBranches = buffer(branches, depth);
+        int branchCount = 0;
+        int pivot = utilizePivotEnvironment ? pivot(depth) : -1;
+        for (int i = 0; i < candidateCount; i++) {
+            if (pivot < 0 || !graph.containsEdge(pivot, vertexCandidates[i])) {
+                frameBranches[branchCount++] = vertexCandidates[i];
+            }
+        }
+        branchCounts[depth] = branchCount;
+        branchIndices[depth] = 0;
+
+        if (branchCount == 0 && traceSteps) {
+            outputEnvironment.branchPruned(depth, potentialCliqueView(depth));
+        }
+    }
+
+    /**
+     * Forms candidates and already found vertices of frame at depth below
+     * given one for potential clique extended by given vertex, and moves
+     * the vertex from candidates to already found vertices of frame at
+     * given depth. Candidates stay in ascending order.
+     *
+     * @param depth  depth of frame extended
+     * @param vertex candidate vertex added to potential clique
+     */
+    private void extend(int depth, int vertex) {
+        int[] vertexCandidates = candidates[depth];
+        int[] newVertexCandidates = buffer(candidates, depth + 1);
+        int candidateCount = 0;
+        int newCandidateCount = 0;
+        for (int i = 0; i < candidateCounts[depth]; i++) {
+            int candidate = vertexCandidates[i];
+            if (candidate != vertex) {
+                vertexCandidates[candidateCount++] = candidate;
+                if (graph.containsEdge(vertex, candidate)) {
+                    newVertexCandidates[newCandidateCount++] = candidate;
+                }
+            }
+        }
+        candidateCounts[depth] = candidateCount;
+        candidateCounts[depth + 1] = newCandidateCount;
+
+        int[] vertexFound = found[depth];
+        int[] newVertexFound = buffer(found, depth + 1);
+        int newFoundCount = 0;
+        for (int i = 0; i < foundCounts[depth]; i++) {
+            if (graph.containsEdge(vertex, vertexFound[i])) {
+                newVertexFound[newFoundCount++] = vertexFound[i];
+            }
+        }
+        vertexFound[foundCounts[depth]++] = vertex;
+        foundCounts[depth + 1] = newFoundCount;
+    }
+
+    /**
+     * Searches for pivot vertex of frame at given depth according to
+     * configured pivot strategy. Returns -1 if there is no vertex to
+     * choose from.
+     */
+    private int pivot(int depth) {
+        int[] vertexCandidates = candidates[depth];
+        int candidateCount = candidateCounts[depth];
+        int[] vertexFound = found[depth];
+        int foundCount = foundCounts[depth];
+
+        int pivot = -1;
+        int connections = -1;
+        switch (pivotStrategy) {
+            case MAX_DEGREE:
+                for (int i = 0; i < candidateCount; i++) {
+                    int currentConnections = countConnections(vertexCandidates[i], vertexCandidates, candidateCount);
+                    if (currentConnections > connections) {
+                        connections = currentConnections;
+                        pivot = vertexCandidates[i];
+                    }
+                    // Candidate can not be connected to more other candidates.
+                    if (connections == candidateCount - 1) {
+                        return pivot;
+                    }
+                }
+                break;
+            case TOMITA:
+                for (int i = 0; i < candidateCount + foundCount; i++) {
+                    int candidate = i < candidateCount ? vertexCandidates[i] : vertexFound[i - candidateCount];
+                    int currentConnections = countConnections(candidate, vertexCandidates, candidateCount);
+                    if (currentConnections > connections) {
+                        connections = currentConnections;
+                        pivot = candidate;
+                    }
+                    // No vertex can be connected to more candidates.
+                    if (connections == candidateCount) {
+                        return pivot;
+                    }
+                }
+                break;
+            case RANDOM_SAMPLE:
+                int pivotCandidates = candidateCount + foundCount;
+                for (int i = 0; i < PivotStrategy.SAMPLE_SIZE && pivotCandidates > 0; i++) {
+                    int index = ThreadLocalRandom.current().nextInt(pivotCandidates);
+                    int candidate = index < candidateCount ? vertexCandidates[index] : vertexFound[index - candidateCount];
+                    int currentConnections = countConnections(candidate, vertexCandidates, candidateCount);
+                    if (currentConnections > connections) {
+                        connections = currentConnections;
+                        pivot = candidate;
+                    }
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unknown pivot strategy: " + pivotStrategy);
+        }
+        return pivot;
+    }
+
+    private int countConnections(int vertex, int[] vertexCandidates, int candidateCount) {
+        int connections = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            if (graph.containsEdge(vertex, vertexCandidates[i])) {
+                connections++;
+            }
+        }
+        return connections;
+    }
+
+    private void addMaximalClique(int size, int depth) {
+        if (traceSteps) {
+            outputEnvironment.cliqueFound(depth, potentialCliqueView(size));
+        }
+        if (cliqueCounter != null) {
+            cliqueCounter.count(size);
+            return;
+        }
+        cliqueView.setSize(size);
+        if (!cliqueConsumer.accept(cliqueView)) {
+            stopped = true;
+        }
+    }
+
+    private CliqueView<V> potentialCliqueView(int size) {
+        cliqueView.setSize(size);
+        return cliqueView;
+    }
+
+    private CliqueView<V> idView(int[] ids, int size) {
+        CliqueView<V> view = new CliqueView<>(vertices, ids);
+        view.setSize(size);
+        return view;
+    }
+
+    /**
+     * Returns buffer of frame at given depth, allocating it once search
+     * first reaches that depth. Outermost frame holds all vertices, while
+     * every vertex of deeper frames is a neighbour of the same vertex.
+     */
+    private int[] buffer(int[][] buffers, int depth) {
+        if (buffers[depth] == null) {
+            buffers[depth] = new int[depth == 0 ? vertices.size() : maximumDegree];
+        }
+        return buffers[depth];
+    }
+}
@@ -0,0 +1,241 @@
+package hr.fer.projekt.clique.algorithm;
+
+import hr.fer.projekt.clique.graph.CompactGraph;
+import hr.fer.projekt.clique.output.OutputEnvironment;
+import hr.fer.projekt.clique.output.TraceLevel;
+import hr.fer.projekt.clique.utility.BitSetUtility;
+import hr.fer.projekt.clique.utility.GraphTraversalUtility;
+import org.jgrapht.Graph;
+
+import java.util.*;
+
+/**
+ * Branch and bound algorithm which finds single maximum clique of a graph
+ * without enumerating maximal cliques, in the style of San Segundo's BBMC
+ * algorithm. Candidate vertices of every search node are greedily colored
+ * and number of colors bounds size of any clique which can be formed from
+ * them - branches whose bound can not exceed size of the best clique found
+ * so far are pruned. Vertices are numbered in reverse degeneracy order and
+ * candidate sets are stored as bit sets.
+ * <p>
+ * Only maximum cliques are passed to output environment. Maximal cliques
+ * are not enumerated, so they are not set in output environment.
+ *
+ * @param <V> variable type of vertices in graph
+ */
+public class MaximumCliqueSolver<V> {
+
+    /**
+     * Bit set representation of graph traversed.
+     */
+    private final BitSetGraph<V> graph;
+
+    /**
+     * Number of words in single bit set.
+     */
+    private final int words;
+
+    /**
+     * Output environment served during and after algorithm
+     * computation.
+     */
+    private OutputEnvironment<V> outputEnvironment;
+
+    /**
+     * Vertex ids of potential clique, where first {@code depth}
+     * elements are valid at given depth of search.
+     */
+    private int[] potentialClique;
+
+    /**
+     * Vertex ids of the best clique found so far.
+     */
+    private int[] bestClique;
+
+    /**
+     * Size of the best clique found so far.
+     */
+    private int bestSize;
+
+    /**
+     * Candidate vertices bit set for every depth of search.
+     */
+    private long[][] candidateBuffers;
+
+    /**
+     * Vertices left to be colored, for every depth of search.
+     */
+    private long[][] uncoloredBuffers;
+
+    /**
+     * Vertices which can be given current color, for every depth of search.
+     */
+    private long[][] colorClassBuffers;
+
+    /**
+     * Candidate vertices branched on, ordered by color, for every
+     * depth of search.
+     */
+    private int[][] branchOrders;
+
+    /**
+     * Colors of candidate vertices branched on, for every depth of search.
+     */
+    private int[][] branchColors;
+
+    public <E> MaximumCliqueSolver(Graph<V, E> graph, OutputEnvironment<V> outputEnvironment) {
+        this(graph == null ? null : CompactGraph.fromGraph(graph), outputEnvironment);
+    }
+
+    public MaximumCliqueSolver(CompactGraph<V> graph, OutputEnvironment<V> outputEnvironment) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph passed can not be null.");
+        } else if (outputEnvironment == null) {
+            throw new IllegalArgumentException("Output environment passed can not be null.");
+        }
+        this.outputEnvironment = outputEnvironment;
+
+        // Vertices of the highest cores come first, which makes greedy
+        // coloring use fewer colors.
+        int[] ordering = GraphTraversalUtility.getCoreDecomposition(graph).getOrderingIds();
+        for (int i = 0, j = ordering.length - 1; i < j; i++, j--) {
+            int vertex = ordering[i];
+            ordering[i] = ordering[j];
+            ordering[j] = vertex;
+        }
+        this.graph = new BitSetGraph<>(graph, ordering);
+        this.words = this.graph.words();
+    }
+
+    /**
+     * Searches for maximum clique and passes it to output environment.
+     */
+    public void performTraversal() {
+        boolean traceSummary = outputEnvironment.getTraceLevel().includes(TraceLevel.SUMMARY);
+        if (traceSummary) {
+            outputEnvironment.traversalStarted("Branch and bound maximum clique algorithm");
+        }
+
+        findMaximumClique();
+
+        Collection<Set<V>> maximumCliques = new ArrayList<>();
+        if (bestSize > 0) {
+            maximumCliques.add(graph.toSet(bestClique, bestSize));
+        }
+
+        outputEnvironment.setMaximumCliques(maximumCliques);
+
+        if (traceSummary) {
+            outputEnvironment.traversalFinished(true);
+        }
+    }
+
+    /**
+     * Size of maximum clique found by the last traversal.
+     *
+     * @return clique number of graph
+     */
+    public int getCliqueNumber() {
+        return bestSize;
+    }
+
+    private void findMaximumClique() {
+        int n = graph.vertexCount();
+        potentialClique = new int[n + 1];
+        bestClique = new int[0];
+        bestSize = 0;
+        candidateBuffers = new long[n + 2][];
+        uncoloredBuffers = new long[n + 2][];
+        colorClassBuffers = new long[n + 2][];
+        branchOrders = new int[n + 2][];
+        branchColors = new int[n + 2][];
+
+        if (n == 0) {
+            return;
+        }
+
+        BitSetUtility.fill(buffer(candidateBuffers, 0), n);
+        expand(0);
+    }
+
+    private void expand(int depth) {
+        long[] vertexCandidates = candidateBuffers[depth];
+        int count = color(depth);
+        int[] order = branchOrders[depth];
+        int[] colors = branchColors[depth];
+
+        long[] newVertexCandidates = buffer(candidateBuffers, depth + 1);
+
+        for (int i = count - 1; i >= 0; i--) {
+
+            // Vertices are ordered by color, so none of remaining
+            // branches can improve the best clique.
+            if (depth + colors[i] <= bestSize) {
+                return;
+            }
+
+            int candidate = order[i];
+            potentialClique[depth] = candidate;
+
+            if (BitSetUtility.intersection(newVertexCandidates, vertexCandidates, graph.neighbours(candidate))) {
+                expand(depth + 1);
+            } else if (depth + 1 > bestSize) {
+                bestSize = depth + 1;
+                bestClique = Arrays.copyOf(potentialClique, bestSize);
+            }
+
+            BitSetUtility.clear(vertexCandidates, candidate);
+        }
+    }
+
+    /**
+     * Greedily colors candidate vertices of given depth, assigning every
+     * vertex the first color not used by any of its neighbours. Only
+     * vertices whose color is large enough to possibly improve the best
+     * clique are recorded as branches, in order of their colors.
+     *
+     * @return number of branches recorded
+     */
+    private int color(int depth) {
+        int n = graph.vertexCount();
+        if (branchOrders[depth] == null) {
+            branchOrders[depth] = new int[n];
+            branchColors[depth] = new int[n];
+        }
+        int[] order = branchOrders[depth];
+        int[] colors = branchColors[depth];
+
+        long[] uncolored = buffer(uncoloredBuffers, depth);
+        long[] colorClass = buffer(colorClassBuffers, depth);
+        System.arraycopy(candidateBuffers[depth], 0, uncolored, 0, words);
+
+        int minimumColor = Math.max(1, bestSize - depth + 1);
+        int color = 0;
+        int count = 0;
+
+        while (!BitSetUtility.isEmpty(uncolored)) {
+            color++;
+            System.arraycopy(uncolored, 0, colorClass, 0, words);
+
+            int vertex = BitSetUtility.nextSetBit(colorClass, 0);
+            while (vertex >= 0) {
+                BitSetUtility.clear(uncolored, vertex);
+                BitSetUtility.removeAll(colorClass, colorClass, graph.neighbours(vertex));
+                if (color >= minimumColor) {
+                    order[count] = vertex;
+                    colors[count] = color;
+                    count++;
+                }
+                vertex = BitSetUtility.nextSetBit(colorClass, vertex + 1);
+            }
+        }
+        return count;
+    }
+
+    private long[] buffer(long[][] buffers, int depth) {
+        if (buffers[depth] == null) {
+            buffers[depth] = new long[words];
+        }
+        return buffers[depth];
+    }
+}
@@ -0,0 +1,593 @@
+package hr.fer.projekt.clique.algorithm;
+
+import hr.fer.projekt.clique.graph.CompactGraph;
+import hr.fer.projekt.clique.output.CliqueConsumer;
+import hr.fer.projekt.clique.output.OutputEnvironment;
+import hr.fer.projekt.clique.output.TraceLevel;
+import hr.fer.projekt.clique.utility.BitSetUtility;
+import org.jgrapht.Graph;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel variant of {@link BitSetBronKerbosch} algorithm which runs on
+ * a {@link ForkJoinPool}. Every vertex of the outermost loop is processed
+ * as a separate task, with candidate vertices being its neighbours which
+ * come later in the ordering and already found vertices being its
+ * neighbours which come earlier. Inside of a task search proceeds
+ * recursively, but subtrees of nodes with many branches are split off
+ * into new tasks while workers are running out of queued work, so idle
+ * workers can steal them.
+ * <p>
+ * Every worker thread owns its scratch bit sets and its own collection
+ * of cliques found, which are merged once all tasks are completed. Set
+ * of maximal cliques found is equal to the one found by sequential
+ * algorithm engines. Clique consumer passed for streaming traversal is
+ * called concurrently from worker threads and needs to be thread safe.
+ *
+ * @param <V> variable type of vertices in graph
+ */
+public class ParallelBronKerbosch<V> implements CliqueFinder<V> {
+
+    /**
+     * Minimal number of branches in a node for its subtrees to be
+     * split off into separate tasks.
+     */
+    private static final int SPLIT_THRESHOLD = 8;
+
+    /**
+     * Subtrees are split off only while worker has less than this
+     * number of queued tasks which were not stolen by other workers.
+     */
+    private static final int SURPLUS_THRESHOLD = 2;
+
+    /**
+     * Bit set representation of graph traversed.
+     */
+    private final BitSetGraph<V> graph;
+
+    /**
+     * Number of words in single bit set.
+     */
+    private final int words;
+
+    /**
+     * Number of worker threads.
+     */
+    private final int parallelism;
+
+    /**
+     * Maximal cliques found for given graph.
+     */
+    private CliqueStore<V> maximalCliques;
+
+    /**
+     * Maximum cliques found for given graph.
+     */
+    private Collection<Set<V>> maximumCliques;
+
+    /**
+     * Specifies whether degeneracy ordering should be utilized at
+     * the outermost level of recursion.
+     */
+    private boolean utilizeDegeneracyOrdering;
+
+    /**
+     * Specifies whether pivot vertex should be calculated and
+     * pivot environment utilized in recursive calls.
+     */
+    private boolean utilizePivotEnvironment;
+
+    /**
+     * Strategy used for choosing pivot vertex.
+     */
+    private PivotStrategy pivotStrategy = PivotStrategy.TOMITA;
+
+    /**
+     * Output environment served during and after algorithm
+     * computation.
+     */
+    private OutputEnvironment<V> outputEnvironment;
+
+    /**
+     * Workers which took part in current traversal.
+     */
+    private Queue<Worker> workers;
+
+    /**
+     * Worker state of current thread.
+     */
+    private ThreadLocal<Worker> currentWorker;
+
+    /**
+     * Consumer to which maximal cliques are passed as they are found,
+     * or null if workers collect cliques on their own.
+     */
+    private CliqueConsumer<V> cliqueConsumer;
+
+    /**
+     * Signals that workers only count cliques by their size, in which
+     * case neither clique consumer is used nor cliques are collected.
+     */
+    private boolean counting;
+
+    /**
+     * Counts of cliques by their size, merged from counts of every worker
+     * once counting traversal ends.
+     */
+    private CliqueCounts.Counter<V> cliqueCounter;
+
+    /**
+     * Signals that clique consumer requested traversal to stop.
+     */
+    private volatile boolean stopped;
+
+    public <E> ParallelBronKerbosch(
+            Graph<V, E> graph,
+            boolean utilizeDegeneracyOrdering,
+            boolean utilizePivotEnvironment,
+            OutputEnvironment<V> outputEnvironment) {
+        this(graph, utilizeDegeneracyOrdering, utilizePivotEnvironment, outputEnvironment,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    public <E> ParallelBronKerbosch(
+            Graph<V, E> graph,
+            boolean utilizeDegeneracyOrdering,
+            boolean utilizePivotEnvironment,
+            OutputEnvironment<V> outputEnvironment,
+            int parallelism) {
+        this(graph == null ? null : CompactGraph.fromGraph(graph), utilizeDegeneracyOrdering,
+                utilizePivotEnvironment, outputEnvironment, parallelism);
+    }
+
+    public ParallelBronKerbosch(
+            CompactGraph<V> graph,
+            boolean utilizeDegeneracyOrdering,
+            boolean utilizePivotEnvironment,
+            OutputEnvironment<V> outputEnvironment) {
+        this(graph, utilizeDegeneracyOrdering, utilizePivotEnvironment, outputEnvironment,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelBronKerbosch(
+            CompactGraph<V> graph,
+            boolean utilizeDegeneracyOrdering,
+            boolean utilizePivotEnvironment,
+            OutputEnvironment<V> outputEnvironment,
+            int parallelism) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph passed can not be null.");
+        } else if (outputEnvironment == null) {
+            throw new IllegalArgumentException("Output environment passed can not be null.");
+        } else if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism needs to be positive.");
+        }
+        this.graph = new BitSetGraph<>(graph);
+        this.utilizeDegeneracyOrdering = utilizeDegeneracyOrdering;
+        this.utilizePivotEnvironment = utilizePivotEnvironment;
+        this.outputEnvironment = outputEnvironment;
+        this.parallelism = parallelism;
+        this.words = this.graph.words();
+    }
+
+    /**
+     * Sets strategy used for choosing pivot vertex when pivot environment
+     * is utilized. Tomita's strategy is used by default.
+     *
+     * @param pivotStrategy pivot strategy
+     * @throws IllegalArgumentException if value passed is null
+     */
+    public void setPivotStrategy(PivotStrategy pivotStrategy) {
+        if (pivotStrategy == null) {
+            throw new IllegalArgumentException("Pivot strategy passed can not be null.");
+        }
+        this.pivotStrategy = pivotStrategy;
+    }
+
+    @Override
+    public void performTraversal() {
+        boolean traceSummary = startTraversal();
+
+        findMaximalCliques(null);
+        maximumCliques = CliqueStore.findMaximumCliques(maximalCliques);
+
+        outputEnvironment.setMaximalCliques(maximalCliques);
+        outputEnvironment.setMaximumCliques(maximumCliques);
+
+        if (traceSummary) {
+            outputEnvironment.traversalFinished(true);
+        }
+    }
+
+    @Override
+    public void performTraversal(CliqueConsumer<V> cliqueConsumer) {
+        if (cliqueConsumer == null) {
+            throw new IllegalArgumentException("Clique consumer passed can not be null.");
+        }
+        boolean traceSummary = startTraversal();
+
+        findMaximalCliques(cliqueConsumer);
+
+        if (traceSummary) {
+            outputEnvironment.traversalFinished(!stopped);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Every worker counts cliques it finds on its own, and counts are
+     * merged once all tasks are completed, so workers do not contend
+     * on shared counters.
+     */
+    @Override
+    public CliqueCounts countCliques() {
+        boolean traceSummary = startTraversal();
+
+        CliqueCounts cliqueCounts;
+        counting = true;
+        cliqueCounter = new CliqueCounts.Counter<>();
+        try {
+            findMaximalCliques(null);
+            cliqueCounts = cliqueCounter.toCounts();
+        } finally {
+            counting = false;
+            cliqueCounter = null;
+        }
+
+        if (traceSummary) {
+            outputEnvironment.traversalFinished(true);
+        }
+        return cliqueCounts;
+    }
+
+    /**
+     * Reports start of traversal if output environment's trace level
+     * includes it. Algorithm steps are not reported by this engine, as
+     * recursive calls of different workers are interleaved.
+     *
+     * @return true if start and end of traversal are reported
+     */
+    private boolean startTraversal() {
+        boolean traceSummary = outputEnvironment.getTraceLevel().includes(TraceLevel.SUMMARY);
+        if (traceSummary) {
+            outputEnvironment.traversalStarted("Bron-Kerbosch algorithm (parallel engine)\n"
+                    + "Utilize degeneracy ordering: " + utilizeDegeneracyOrdering + "\n"
+                    + "Utilize pivot environment: " + utilizePivotEnvironment + "\n"
+                    + (utilizePivotEnvironment ? "Pivot strategy: " + pivotStrategy + "\n" : "")
+                    + "Parallelism: " + parallelism);
+        }
+        return traceSummary;
+    }
+
+    private void findMaximalCliques(CliqueConsumer<V> cliqueConsumer) {
+
+        maximalCliques = new CliqueStore<>(graph.vertices());
+        this.cliqueConsumer = cliqueConsumer;
+        stopped = false;
+
+        workers = new ConcurrentLinkedQueue<>();
+        currentWorker = ThreadLocal.withInitial(() -> {
+            Worker worker = new Worker();
+            workers.add(worker);
+            return worker;
+        });
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new OuterLoopTask());
+        } finally {
+            pool.shutdown();
+        }
+
+        // Merging cliques found by every worker.
+        for (Worker worker : workers) {
+            if (counting) {
+                cliqueCounter.add(worker.cliqueCounter);
+            } else {
+                maximalCliques.addAll(worker.cliques);
+            }
+        }
+        maximalCliques.trimToSize();
+
+        workers = null;
+        currentWorker = null;
+    }
+
+    /**
+     * State owned by single worker thread - scratch bit sets for every
+     * depth of recursion and cliques found by the worker.
+     */
+    private final class Worker {
+
+        /**
+         * Maximal cliques found by this worker.
+         */
+        private final CliqueStore<V> cliques = new CliqueStore<>(graph.vertices());
+
+        /**
+         * Counts of cliques found by this worker, by their size.
+         */
+        private final CliqueCounts.Counter<V> cliqueCounter = new CliqueCounts.Counter<>();
+
+        /**
+         * Vertex ids of potential clique, where first {@code depth}
+         * elements are valid at given depth of recursion.
+         */
+        private final int[] potentialClique = new int[graph.vertexCount() + 1];
+
+        /**
+         * Candidate vertices bit set for every depth of recursion.
+         */
+        private final long[][] candidateBuffers = new long[graph.vertexCount() + 2][];
+
+        /**
+         * Already found vertices bit set for every depth of recursion.
+         */
+        private final long[][] foundBuffers = new long[graph.vertexCount() + 2][];
+
+        /**
+         * Bit set of vertices branched on for every depth of recursion.
+         */
+        private final long[][] branchBuffers = new long[graph.vertexCount() + 2][];
+
+        /**
+         * View of potential clique passed to clique consumer.
+         */
+        private final CliqueView<V> cliqueView = new CliqueView<>(graph.vertices(), potentialClique);
+
+        private void findCliques(int depth, SearchTask task) {
+            long[] vertexCandidates = candidateBuffers[depth];
+            long[] vertexFound = foundBuffers[depth];
+
+            if (graph.end(vertexCandidates, vertexFound)) {
+                return;
+            }
+
+            long[] branches = buffer(branchBuffers, depth);
+            int pivot = utilizePivotEnvironment ? graph.pivot(vertexCandidates, vertexFound, pivotStrategy) : -1;
+            if (pivot >= 0) {
+                BitSetUtility.removeAll(branches, vertexCandidates, graph.neighbours(pivot));
+            } else {
+                System.arraycopy(vertexCandidates, 0, branches, 0, words);
+            }
+
+            // Subtrees are handed over to other workers only if there are
+            // enough of them and current worker is running out of work.
+            boolean split = BitSetUtility.cardinality(branches) >= SPLIT_THRESHOLD
+                    && ForkJoinTask.getSurplusQueuedTaskCount() < SURPLUS_THRESHOLD;
+
+            long[] newVertexCandidates = buffer(candidateBuffers, depth + 1);
+            long[] newVertexFound = buffer(foundBuffers, depth + 1);
+
+            for (int i = 0; i < words; i++) {
+                long word = branches[i];
+                while (word != 0L) {
+                    int candidate = i * BitSetUtility.WORD_SIZE + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+
+                    if (stopped) {
+                        return;
+                    }
+
+                    // Move candidate vertex to potential clique.
+                    potentialClique[depth] = candidate;
+                    BitSetUtility.clear(vertexCandidates, candidate);
+
+                    boolean candidatesLeft = BitSetUtility.intersection(
+                            newVertexCandidates, vertexCandidates, graph.neighbours(candidate));
+                    boolean foundLeft = BitSetUtility.intersection(
+                            newVertexFound, vertexFound, graph.neighbours(candidate));
+
+                    if (!candidatesLeft && !foundLeft) {
+                        addMaximalClique(depth + 1);
+                    } else if (split) {
+                        task.split(new SubtreeTask(
+                                Arrays.copyOf(potentialClique, depth + 1),
+                                newVertexCandidates.clone(),
+                                newVertexFound.clone()));
+                    } else {
+                        findCliques(depth + 1, task);
+                    }
+
+                    BitSetUtility.set(vertexFound, candidate);
+                }
+            }
+        }
+
+        private void addMaximalClique(int size) {
+            if (counting) {
+                cliqueCounter.count(size);
+            } else if (cliqueConsumer == null) {
+                cliques.addIds(potentialClique, size);
+            } else {
+                cliqueView.setSize(size);
+                if (!cliqueConsumer.accept(cliqueView)) {
+                    stopped = true;
+                }
+            }
+        }
+
+        private long[] buffer(long[][] buffers, int depth) {
+            if (buffers[depth] == null) {
+                buffers[depth] = new long[words];
+            }
+            return buffers[depth];
+        }
+    }
+
+    /**
+     * Task which searches for cliques in one subtree of recursion and
+     * waits for subtrees it split off to complete. Waiting is done only
+     * after the search itself is finished, so worker can execute other
+     * tasks meanwhile without its scratch bit sets being in use.
+     */
+    private abstract class SearchTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Tasks split off by this task.
+         */
+        private List<SubtreeTask> subtasks;
+
+        @Override
+        protected void compute() {
+            if (!stopped) {
+                search(currentWorker.get());
+            }
+            if (subtasks != null) {
+                for (SubtreeTask subtask : subtasks) {
+                    subtask.join();
+                }
+            }
+        }
+
+        /**
+         * Performs search on given worker's scratch bit sets.
+         *
+         * @param worker worker executing this task
+         */
+        protected abstract void search(Worker worker);
+
+        private void split(SubtreeTask subtask) {
+            if (subtasks == null) {
+                subtasks = new ArrayList<>();
+            }
+            subtasks.add(subtask);
+            subtask.fork();
+        }
+    }
+
+    /**
+     * Task which creates one task for every vertex of the outermost loop.
+     */
+    private final class OuterLoopTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected void compute() {
+            int n = graph.vertexCount();
+            int[] ordering;
+            if (utilizeDegeneracyOrdering) {
+                ordering = graph.degeneracyOrdering();
+            } else {
+                ordering = new int[n];
+                for (int i = 0; i < n; i++) {
+                    ordering[i] = i;
+                }
+            }
+
+            int[] positions = new int[n];
+            for (int i = 0; i < n; i++) {
+                positions[ordering[i]] = i;
+            }
+
+            List<VertexTask> tasks = new ArrayList<>(n);
+            for (int vertex : ordering) {
+                tasks.add(new VertexTask(vertex, positions));
+            }
+            invokeAll(tasks);
+        }
+    }
+
+    /**
+     * Task which searches for cliques in subtree of single vertex of the
+     * outermost loop.
+     */
+    private final class VertexTask extends SearchTask {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Vertex id.
+         */
+        private final int vertex;
+
+        /**
+         * Position of every vertex id in the outermost loop ordering.
+         */
+        private final int[] positions;
+
+        private VertexTask(int vertex, int[] positions) {
+            this.vertex = vertex;
+            this.positions = positions;
+        }
+
+        @Override
+        protected void search(Worker worker) {
+            worker.potentialClique[0] = vertex;
+            long[] vertexCandidates = worker.buffer(worker.candidateBuffers, 1);
+            long[] vertexFound = worker.buffer(worker.foundBuffers, 1);
+            BitSetUtility.clearAll(vertexCandidates);
+            BitSetUtility.clearAll(vertexFound);
+
+            // Neighbours later in ordering are candidates, while the ones
+            // earlier in ordering were already processed.
+            long[] neighbours = graph.neighbours(vertex);
+            for (int i = 0; i < words; i++) {
+                long word = neighbours[i];
+                while (word != 0L) {
+                    int neighbour = i * BitSetUtility.WORD_SIZE + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    if (positions[neighbour] > positions[vertex]) {
+                        BitSetUtility.set(vertexCandidates, neighbour);
+                    } else {
+                        BitSetUtility.set(vertexFound, neighbour);
+                    }
+                }
+            }
+
+            if (BitSetUtility.isEmpty(vertexCandidates) && BitSetUtility.isEmpty(vertexFound)) {
+                worker.addMaximalClique(1);
+            } else {
+                worker.findCliques(1, this);
+            }
+        }
+    }
+
+    /**
+     * Task which searches for cliques in subtree split off from
+     * another task.
+     */
+    private final class SubtreeTask extends SearchTask {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Vertex ids of potential clique at subtree root.
+         */
+        private final int[] potentialClique;
+
+        /**
+         * Candidate vertices at subtree root.
+         */
+        private final long[] vertexCandidates;
+
+        /**
+         * Already found vertices at subtree root.
+         */
+        private final long[] vertexFound;
+
+        private SubtreeTask(int[] potentialClique, long[] vertexCandidates, long[] vertexFound) {
+            this.potentialClique = potentialClique;
+            this.vertexCandidates = vertexCandidates;
+            this.vertexFound = vertexFound;
+        }
+
+        @Override
+        protected void search(Worker worker) {
+            int depth = potentialClique.length;
+            System.arraycopy(potentialClique, 0, worker.potentialClique, 0, depth);
+            System.arraycopy(vertexCandidates, 0, worker.buffer(worker.candidateBuffers, depth), 0, words);
+            System.arraycopy(vertexFound, 0, worker.buffer(worker.foundBuffers, depth), 0, words);
+            worker.findCliques(depth, this);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package hr.fer.projekt.clique.algorithm;
+
+/**
+ * Strategies for choosing pivot vertex in Bron-Kerbosch algorithm with
+ * pivot environment. Only candidate vertices not connected to pivot are
+ * branched on, so the more candidates pivot is connected to, the fewer
+ * recursive calls are made.
+ */
+public enum PivotStrategy {
+
+    /**
+     * Pivot is candidate vertex connected to the most other candidate
+     * vertices. Unlike {@link #TOMITA}, already found vertices are not
+     * considered, so fewer connections are counted in every call.
+     */
+    MAX_DEGREE,
+
+    /**
+     * Pivot is candidate or already found vertex connected to the most
+     * candidate vertices, as proposed by Tomita, Tanaka and Takahashi,
+     * which minimizes number of branches in every call.
+     */
+    TOMITA,
+
+    /**
+     * Pivot is vertex connected to the most candidate vertices among
+     * {@link #SAMPLE_SIZE} vertices randomly sampled from candidate and
+     * already found vertices. Trades quality of pivot for speed of its
+     * computation when there are many candidates.
+     */
+    RANDOM_SAMPLE;
+
+    /**
+     * Number of vertices sampled by {@link #RANDOM_SAMPLE} strategy.
+     */
+    public static final int SAMPLE_SIZE = 8;
+}
@@ -0,0 +1,105 @@
+package hr.fer.projekt.clique.algorithm;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits of clique search - wall-clock time and number of search nodes,
+ * which are recursive calls of search. Search which exceeds either limit
+ * is stopped and returns results found so far.
+ */
+public final class SearchBudget {
+
+    /**
+     * Budget without any limits.
+     */
+    public static final SearchBudget UNLIMITED = new SearchBudget(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    /**
+     * Time limit in nanoseconds.
+     */
+    private final long timeLimit;
+
+    /**
+     * Limit of number of search nodes.
+     */
+    private final long nodeLimit;
+
+    private SearchBudget(long timeLimit, long nodeLimit) {
+        this.timeLimit = timeLimit;
+        this.nodeLimit = nodeLimit;
+    }
+
+    /**
+     * Forms budget with given time limit and no limit of search nodes.
+     *
+     * @param time time limit
+     * @param unit unit of time limit
+     * @return search budget
+     * @throws IllegalArgumentException if time is not positive or unit is null
+     */
+    public static SearchBudget ofTime(long time, TimeUnit unit) {
+        return UNLIMITED.withTime(time, unit);
+    }
+
+    /**
+     * Forms budget with given limit of search nodes and no time limit.
+     *
+     * @param nodes limit of number of search nodes
+     * @return search budget
+     * @throws IllegalArgumentException if limit is not positive
+     */
+    public static SearchBudget ofNodes(long nodes) {
+        return UNLIMITED.withNodes(nodes);
+    }
+
+    /**
+     * Forms budget with limit of search nodes of this budget and
+     * given time limit.
+     *
+     * @param time time limit
+     * @param unit unit of time limit
+     * @return search budget
+     * @throws IllegalArgumentException if time is not positive or unit is null
+     */
+    public SearchBudget withTime(long time, TimeUnit unit) {
+        if (time <= 0) {
+            throw new IllegalArgumentException("Time limit needs to be positive.");
+        } else if (unit == null) {
+            throw new IllegalArgumentException("Time unit given can not be null.");
+        }
+        return new SearchBudget(unit.toNanos(time), nodeLimit);
+    }
+
+    /**
+     * Forms budget with time limit of this budget and given limit
+     * of search nodes.
+     *
+     * @param nodes limit of number of search nodes
+     * @return search budget
+     * @throws IllegalArgumentException if limit is not positive
+     */
+    public SearchBudget withNodes(long nodes) {
+        if (nodes <= 0) {
+            throw new IllegalArgumentException("Node limit needs to be positive.");
+        }
+        return new SearchBudget(timeLimit, nodes);
+    }
+
+    /**
+     * Time limit in nanoseconds.
+     *
+     * @return time limit, {@link Long#MAX_VALUE} if time is not limited
+     */
+    public long getTimeLimit() {
+        return timeLimit;
+    }
+
+    /**
+     * Limit of number of search nodes.
+     *
+     * @return node limit, {@link Long#MAX_VALUE} if nodes are not limited
+     */
+    public long getNodeLimit() {
+        return nodeLimit;
+    }
+}
@@ -0,0 +1,128 @@
+package hr.fer.projekt.clique.algorithm;
+
+/**
+ * Handle of single clique search run, through which search is limited by
+ * {@link SearchBudget} and cancelled from other threads. Search checks
+ * handle cooperatively on every search node, and stops as soon as budget
+ * is exhausted or run is cancelled, returning results found so far.
+ * Wall-clock time is read once every {@value #TIME_CHECK_INTERVAL} nodes,
+ * so checks do not slow down search.
+ * <p>
+ * Handle is used for one run only.
+ */
+public final class SearchHandle {
+
+    /**
+     * Number of search nodes between two reads of wall-clock time.
+     */
+    private static final int TIME_CHECK_INTERVAL = 256;
+
+    /**
+     * Limits of search run.
+     */
+    private final SearchBudget budget;
+
+    /**
+     * Signals that run was cancelled.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Signals that run was stopped, either because budget was exhausted
+     * or because it was cancelled.
+     */
+    private boolean stopped;
+
+    /**
+     * Time at which run started, in nanoseconds.
+     */
+    private long startTime;
+
+    /**
+     * Number of search nodes visited.
+     */
+    private long nodes;
+
+    /**
+     * Constructor which receives limits of search run.
+     *
+     * @param budget limits of search run
+     * @throws IllegalArgumentException if budget given is null
+     */
+    public SearchHandle(SearchBudget budget) {
+        if (budget == null) {
+            throw new IllegalArgumentException("Search budget given can not be null.");
+        }
+        this.budget = budget;
+    }
+
+    /**
+     * Requests search run to stop. Search stops on its next check,
+     * and returns results found until then.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Checks whether run was cancelled.
+     *
+     * @return true if run was cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Limits of search run.
+     *
+     * @return search budget
+     */
+    public SearchBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * Marks start of search run.
+     */
+    void start() {
+        startTime = System.nanoTime();
+        nodes = 0;
+        stopped = cancelled;
+    }
+
+    /**
+     * Records search node visited and checks whether search should
+     * stop. Once search should stop, it stays so.
+     *
+     * @return true if search should stop
+     */
+    boolean visitNode() {
+        if (stopped) {
+            return true;
+        }
+        nodes++;
+        stopped = cancelled
+                || nodes > budget.getNodeLimit()
+                || (nodes % TIME_CHECK_INTERVAL == 0 || nodes == 1) && elapsedTime() > budget.getTimeLimit();
+        return stopped;
+    }
+
+    /**
+     * Number of search nodes visited since start of run.
+     *
+     * @return number of search nodes
+     */
+    long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Time elapsed since start of run.
+     *
+     * @return elapsed time in nanoseconds
+     */
+    long elapsedTime() {
+        return System.nanoTime() - startTime;
+    }
+}
@@ -0,0 +1,107 @@
+package hr.fer.projekt.clique.algorithm;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Results of clique search run limited by {@link SearchHandle}. Results
+ * of run which was stopped before completion are partial - maximal
+ * cliques found so far are maximal in the whole graph, but not all of
+ * them were found, and the largest one is only a candidate for maximum
+ * clique.
+ *
+ * @param <V> variable type of vertices in graph
+ */
+public final class SearchResult<V> {
+
+    /**
+     * Maximal cliques found.
+     */
+    private final Collection<Set<V>> maximalCliques;
+
+    /**
+     * The largest clique found.
+     */
+    private final Set<V> largestClique;
+
+    /**
+     * Signals whether search visited the whole graph.
+     */
+    private final boolean complete;
+
+    /**
+     * Number of search nodes visited.
+     */
+    private final long nodes;
+
+    /**
+     * Time search took, in nanoseconds.
+     */
+    private final long elapsedTime;
+
+    /**
+     * Constructor which receives results of search run.
+     *
+     * @param maximalCliques maximal cliques found
+     * @param largestClique  the largest clique found
+     * @param complete       true if search visited the whole graph
+     * @param nodes          number of search nodes visited
+     * @param elapsedTime    time search took, in nanoseconds
+     */
+    SearchResult(Collection<Set<V>> maximalCliques, Set<V> largestClique, boolean complete, long nodes, long elapsedTime) {
+        this.maximalCliques = Collections.unmodifiableCollection(maximalCliques);
+        this.largestClique = Collections.unmodifiableSet(largestClique);
+        this.complete = complete;
+        this.nodes = nodes;
+        this.elapsedTime = elapsedTime;
+    }
+
+    /**
+     * Maximal cliques found. Collection holds all maximal cliques of
+     * graph if result is complete.
+     *
+     * @return maximal cliques
+     */
+    public Collection<Set<V>> getMaximalCliques() {
+        return maximalCliques;
+    }
+
+    /**
+     * The largest clique found, which is maximum clique if result is
+     * complete, and the best candidate for maximum clique otherwise.
+     *
+     * @return the largest clique, empty if no clique was found
+     */
+    public Set<V> getLargestClique() {
+        return largestClique;
+    }
+
+    /**
+     * Checks whether search visited the whole graph.
+     *
+     * @return true if result is complete, false if search was stopped
+     * because budget was exhausted or run was cancelled
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Number of search nodes visited.
+     *
+     * @return number of search nodes
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Time search took.
+     *
+     * @return elapsed time in nanoseconds
+     */
+    public long getElapsedTime() {
+        return elapsedTime;
+    }
+}
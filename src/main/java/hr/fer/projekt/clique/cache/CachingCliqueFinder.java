@@ -0,0 +1,216 @@
+package hr.fer.projekt.clique.cache;
+
+import hr.fer.projekt.clique.algorithm.CliqueCounts;
+import hr.fer.projekt.clique.algorithm.CliqueFinder;
+import hr.fer.projekt.clique.algorithm.CliqueStore;
+import hr.fer.projekt.clique.graph.CompactGraph;
+import hr.fer.projekt.clique.output.CliqueConsumer;
+import hr.fer.projekt.clique.output.OutputEnvironment;
+import hr.fer.projekt.clique.output.TraceLevel;
+import org.jgrapht.Graph;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Clique finder which answers from cache of results whenever the same
+ * graph was traversed before, and delegates to another clique finder
+ * otherwise, caching its results. Graphs are recognized by their
+ * fingerprint, computed once on construction.
+ * <p>
+ * Every Bron-Kerbosch variation finds the same maximal cliques, so
+ * results are cached per graph regardless of degeneracy ordering, pivot
+ * environment or engine used for computing them. Results are neither
+ * read from nor passed to cache while output environment traces
+ * algorithm steps, since cached results carry no steps to report.
+ *
+ * @param <V> variable type of vertices in graph
+ */
+public class CachingCliqueFinder<V> implements CliqueFinder<V> {
+
+    /**
+     * Fingerprint of graph traversed.
+     */
+    private final GraphFingerprint fingerprint;
+
+    /**
+     * Vertices of graph traversed.
+     */
+    private final Collection<V> vertices;
+
+    /**
+     * Clique finder used when results are not cached.
+     */
+    private final CliqueFinder<V> cliqueFinder;
+
+    /**
+     * Output environment to which cached results are passed, the same
+     * one delegate clique finder is configured with.
+     */
+    private final OutputEnvironment<V> outputEnvironment;
+
+    /**
+     * Cache of results.
+     */
+    private final CliqueCache<V> cache;
+
+    /**
+     * Constructor of clique finder in front of clique finder which
+     * traverses given graph.
+     *
+     * @param graph             graph traversed
+     * @param cliqueFinder      clique finder of given graph
+     * @param outputEnvironment output environment of clique finder
+     * @param cache             cache of results
+     * @param <E>               edge type parameter
+     * @throws IllegalArgumentException if any argument given is null
+     */
+    public <E> CachingCliqueFinder(
+            Graph<V, E> graph,
+            CliqueFinder<V> cliqueFinder,
+            OutputEnvironment<V> outputEnvironment,
+            CliqueCache<V> cache) {
+        this(GraphFingerprint.of(graph), graph.vertexSet(), cliqueFinder, outputEnvironment, cache);
+    }
+
+    /**
+     * Constructor of clique finder in front of clique finder which
+     * traverses given compact graph.
+     *
+     * @param graph             graph traversed
+     * @param cliqueFinder      clique finder of given graph
+     * @param outputEnvironment output environment of clique finder
+     * @param cache             cache of results
+     * @throws IllegalArgumentException if any argument given is null
+     */
+    public CachingCliqueFinder(
+            CompactGraph<V> graph,
+            CliqueFinder<V> cliqueFinder,
+            OutputEnvironment<V> outputEnvironment,
+            CliqueCache<V> cache) {
+        this(GraphFingerprint.of(graph), graph.getVertices(), cliqueFinder, outputEnvironment, cache);
+    }
+
+    private CachingCliqueFinder(
+            GraphFingerprint fingerprint,
+            Collection<V> vertices,
+            CliqueFinder<V> cliqueFinder,
+            OutputEnvironment<V> outputEnvironment,
+            CliqueCache<V> cache) {
+        if (cliqueFinder == null) {
+            throw new IllegalArgumentException("Clique finder passed can not be null.");
+        } else if (outputEnvironment == null) {
+            throw new IllegalArgumentException("Output environment passed can not be null.");
+        } else if (cache == null) {
+            throw new IllegalArgumentException("Clique cache passed can not be null.");
+        }
+        this.fingerprint = fingerprint;
+        this.vertices = vertices;
+        this.cliqueFinder = cliqueFinder;
+        this.outputEnvironment = outputEnvironment;
+        this.cache = cache;
+    }
+
+    /**
+     * Returns fingerprint of graph traversed.
+     *
+     * @return graph fingerprint
+     */
+    public GraphFingerprint getFingerprint() {
+        return fingerprint;
+    }
+
+    @Override
+    public void performTraversal() {
+        TraceLevel traceLevel = outputEnvironment.getTraceLevel();
+        if (traceLevel.includes(TraceLevel.STEPS)) {
+            cliqueFinder.performTraversal();
+            return;
+        }
+
+        Collection<Set<V>> maximalCliques = cache.get(fingerprint, vertices);
+        if (maximalCliques == null) {
+            cliqueFinder.performTraversal();
+            cache.put(fingerprint, outputEnvironment.getMaximalCliques(), vertices);
+            return;
+        }
+
+        if (traceLevel.includes(TraceLevel.SUMMARY)) {
+            outputEnvironment.traversalStarted("Cached result\nGraph fingerprint: " + fingerprint);
+        }
+        outputEnvironment.setMaximalCliques(maximalCliques);
+        outputEnvironment.setMaximumCliques(CliqueStore.findMaximumCliques(maximalCliques));
+        outputEnvironment.setSearchStatistics(null);
+        if (traceLevel.includes(TraceLevel.SUMMARY)) {
+            outputEnvironment.traversalFinished(true);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Cached results are passed to consumer if there are any, otherwise
+     * traversal is delegated and its results are not cached, since
+     * streamed cliques are not stored.
+     */
+    @Override
+    public void performTraversal(CliqueConsumer<V> cliqueConsumer) {
+        if (cliqueConsumer == null) {
+            throw new IllegalArgumentException("Clique consumer passed can not be null.");
+        }
+
+        TraceLevel traceLevel = outputEnvironment.getTraceLevel();
+        Collection<Set<V>> maximalCliques = traceLevel.includes(TraceLevel.STEPS)
+                ? null
+                : cache.get(fingerprint, vertices);
+        if (maximalCliques == null) {
+            cliqueFinder.performTraversal(cliqueConsumer);
+            return;
+        }
+
+        if (traceLevel.includes(TraceLevel.SUMMARY)) {
+            outputEnvironment.traversalStarted("Cached result\nGraph fingerprint: " + fingerprint);
+        }
+        boolean complete = true;
+        for (Set<V> clique : maximalCliques) {
+            if (!cliqueConsumer.accept(clique)) {
+                complete = false;
+                break;
+            }
+        }
+        outputEnvironment.setSearchStatistics(null);
+        if (traceLevel.includes(TraceLevel.SUMMARY)) {
+            outputEnvironment.traversalFinished(complete);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Cached results are counted if there are any, otherwise counting is
+     * delegated, and its results are not cached, since no clique is stored.
+     */
+    @Override
+    public CliqueCounts countCliques() {
+        TraceLevel traceLevel = outputEnvironment.getTraceLevel();
+        Collection<Set<V>> maximalCliques = traceLevel.includes(TraceLevel.STEPS)
+                ? null
+                : cache.get(fingerprint, vertices);
+        if (maximalCliques == null) {
+            return cliqueFinder.countCliques();
+        }
+
+        if (traceLevel.includes(TraceLevel.SUMMARY)) {
+            outputEnvironment.traversalStarted("Cached result\nGraph fingerprint: " + fingerprint);
+        }
+        CliqueCounts.Counter<V> counter = new CliqueCounts.Counter<>();
+        for (Set<V> clique : maximalCliques) {
+            counter.count(clique.size());
+        }
+        outputEnvironment.setSearchStatistics(null);
+        if (traceLevel.includes(TraceLevel.SUMMARY)) {
+            outputEnvironment.traversalFinished(true);
+        }
+        return counter.toCounts();
+    }
+}
@@ -0,0 +1,295 @@
+package hr.fer.projekt.clique.cache;
+
+import hr.fer.projekt.clique.algorithm.CliqueStore;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Cache of maximal cliques of graphs, keyed by graph fingerprint. Results
+ * are held in memory and evicted in least recently used order once total
+ * size of cached cliques, measured as sum of their sizes, exceeds given
+ * limit. Optionally, results are also written to a directory, one file
+ * per graph, so they outlive the application and are found again after
+ * being evicted from memory.
+ * <p>
+ * Directory tier stores vertices by their textual form and resolves them
+ * back through vertices of the graph which is looked up, so it requires
+ * different vertices to have different textual forms. Failures of
+ * directory tier are not reported - unreadable files are treated as
+ * missing results and results which can not be written stay in memory
+ * only.
+ * <p>
+ * Cliques are held in {@link CliqueStore compact stores}. Cache is
+ * thread safe, and cliques returned are unmodifiable.
+ *
+ * @param <V> variable type of vertices in graph
+ */
+public class CliqueCache<V> {
+
+    /**
+     * Extension of files in which results are stored.
+     */
+    private static final String FILE_EXTENSION = ".cliques";
+
+    /**
+     * Magic number at the start of every result file.
+     */
+    private static final int MAGIC = 0x424B4331;
+
+    /**
+     * Largest total size of cliques held in memory.
+     */
+    private final long maximumSize;
+
+    /**
+     * Directory in which results are stored, null if results are
+     * held in memory only.
+     */
+    private final Path directory;
+
+    /**
+     * Results held in memory, in access order.
+     */
+    private final LinkedHashMap<GraphFingerprint, List<Set<V>>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Total size of cliques held in memory.
+     */
+    private long size;
+
+    /**
+     * Constructor of cache which holds results in memory only.
+     *
+     * @param maximumSize largest total size of cliques held in memory,
+     *                    where size of a clique is its number of vertices
+     * @throws IllegalArgumentException if size given is negative
+     */
+    public CliqueCache(long maximumSize) {
+        this(maximumSize, null);
+    }
+
+    /**
+     * Constructor of cache which holds results in memory and stores them
+     * in given directory. Directory is created once first result is stored.
+     *
+     * @param maximumSize largest total size of cliques held in memory,
+     *                    where size of a clique is its number of vertices
+     * @param directory   directory in which results are stored, or null
+     *                    if results should be held in memory only
+     * @throws IllegalArgumentException if size given is negative
+     */
+    public CliqueCache(long maximumSize, Path directory) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Maximum cache size can not be negative.");
+        }
+        this.maximumSize = maximumSize;
+        this.directory = directory;
+    }
+
+    /**
+     * Returns maximal cliques cached for graph with given fingerprint.
+     * Results found in directory only are moved to memory.
+     *
+     * @param fingerprint fingerprint of graph
+     * @param vertices    vertices of graph, used for resolving vertices
+     *                    of results stored in directory
+     * @return maximal cliques, or null if no results are cached
+     * @throws IllegalArgumentException if any argument given is null
+     */
+    public Collection<Set<V>> get(GraphFingerprint fingerprint, Collection<V> vertices) {
+        if (fingerprint == null) {
+            throw new IllegalArgumentException("Graph fingerprint passed can not be null.");
+        } else if (vertices == null) {
+            throw new IllegalArgumentException("Graph vertices passed can not be null.");
+        }
+
+        synchronized (this) {
+            List<Set<V>> cliques = entries.get(fingerprint);
+            if (cliques != null) {
+                return cliques;
+            }
+        }
+        if (directory == null) {
+            return null;
+        }
+
+        List<Set<V>> cliques = read(getFile(fingerprint), vertices);
+        if (cliques != null) {
+            store(fingerprint, cliques);
+        }
+        return cliques;
+    }
+
+    /**
+     * Caches maximal cliques of graph with given fingerprint. Results
+     * larger than maximum size of cache are stored in directory only.
+     *
+     * @param fingerprint    fingerprint of graph
+     * @param maximalCliques all maximal cliques of graph
+     * @param vertices       vertices of graph
+     * @return cached maximal cliques, unmodifiable copy of cliques given
+     * @throws IllegalArgumentException if any argument given is null
+     */
+    public Collection<Set<V>> put(GraphFingerprint fingerprint,
+                                  Collection<Set<V>> maximalCliques,
+                                  Collection<V> vertices) {
+        if (fingerprint == null) {
+            throw new IllegalArgumentException("Graph fingerprint passed can not be null.");
+        } else if (maximalCliques == null) {
+            throw new IllegalArgumentException("Maximal cliques passed can not be null.");
+        } else if (vertices == null) {
+            throw new IllegalArgumentException("Graph vertices passed can not be null.");
+        }
+
+        CliqueStore<V> store = new CliqueStore<>(new ArrayList<>(vertices));
+        for (Set<V> clique : maximalCliques) {
+            store.addClique(clique);
+        }
+        store.trimToSize();
+        List<Set<V>> cliques = Collections.unmodifiableList(store);
+
+        store(fingerprint, cliques);
+        if (directory != null) {
+            write(getFile(fingerprint), cliques);
+        }
+        return cliques;
+    }
+
+    /**
+     * Removes all results held in memory. Results stored in directory
+     * are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    /**
+     * Returns total size of cliques held in memory.
+     *
+     * @return sum of sizes of cached cliques
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Holds given results in memory, evicting least recently used results
+     * until total size fits maximum size of cache.
+     *
+     * @param fingerprint fingerprint of graph
+     * @param cliques     unmodifiable maximal cliques of graph
+     */
+    private synchronized void store(GraphFingerprint fingerprint, List<Set<V>> cliques) {
+        long cliquesSize = sizeOf(cliques);
+        if (cliquesSize > maximumSize) {
+            return;
+        }
+
+        List<Set<V>> previous = entries.put(fingerprint, cliques);
+        size += cliquesSize - (previous == null ? 0 : sizeOf(previous));
+
+        Iterator<List<Set<V>>> iterator = entries.values().iterator();
+        while (size > maximumSize) {
+            size -= sizeOf(iterator.next());
+            iterator.remove();
+        }
+    }
+
+    private static <V> long sizeOf(Collection<Set<V>> cliques) {
+        long size = 0;
+        for (Set<V> clique : cliques) {
+            size += clique.size();
+        }
+        return size;
+    }
+
+    private Path getFile(GraphFingerprint fingerprint) {
+        return directory.resolve(fingerprint + FILE_EXTENSION);
+    }
+
+    /**
+     * Reads results stored in given file.
+     *
+     * @param file     file with stored results
+     * @param vertices vertices of graph, used for resolving stored vertices
+     * @return maximal cliques, or null if file does not exist, can not be
+     * read or contains vertices which are not among given vertices
+     */
+    private List<Set<V>> read(Path file, Collection<V> vertices) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        Map<String, V> vertexNames = new HashMap<>();
+        for (V vertex : vertices) {
+            vertexNames.put(String.valueOf(vertex), vertex);
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC) {
+                return null;
+            }
+            int cliqueCount = input.readInt();
+            CliqueStore<V> store = new CliqueStore<>(new ArrayList<>(vertices));
+            List<V> clique = new ArrayList<>();
+            for (int i = 0; i < cliqueCount; i++) {
+                int cliqueSize = input.readInt();
+                clique.clear();
+                for (int j = 0; j < cliqueSize; j++) {
+                    V vertex = vertexNames.get(input.readUTF());
+                    if (vertex == null) {
+                        return null;
+                    }
+                    clique.add(vertex);
+                }
+                store.addClique(clique);
+            }
+            store.trimToSize();
+            return Collections.unmodifiableList(store);
+        } catch (IOException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes results to given file. Results are written to temporary file
+     * first and moved in place afterwards, so that readers never see
+     * partially written results.
+     *
+     * @param file    file to which results are written
+     * @param cliques maximal cliques of graph
+     */
+    private void write(Path file, List<Set<V>> cliques) {
+        Path temporaryFile = null;
+        try {
+            Files.createDirectories(directory);
+            temporaryFile = Files.createTempFile(directory, null, FILE_EXTENSION);
+            try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(cliques.size());
+                for (Set<V> clique : cliques) {
+                    output.writeInt(clique.size());
+                    for (V vertex : clique) {
+                        output.writeUTF(String.valueOf(vertex));
+                    }
+                }
+            }
+            try {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException exception) {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException exception) {
+            if (temporaryFile != null) {
+                try {
+                    Files.deleteIfExists(temporaryFile);
+                } catch (IOException ignorable) {
+                }
+            }
+        }
+    }
+}
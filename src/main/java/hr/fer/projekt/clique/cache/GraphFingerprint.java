@@ -0,0 +1,238 @@
+package hr.fer.projekt.clique.cache;
+
+import hr.fer.projekt.clique.graph.CompactGraph;
+import org.jgrapht.Graph;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Canonical 128 bit hash of undirected graph, which depends only on sets
+ * of vertices and edges and not on order in which they were added or
+ * on graph representation. Vertices are hashed through their textual
+ * form, so fingerprint of the same graph is the same in every run of
+ * application and can be used as a name of file. Every vertex and every
+ * edge is hashed independently and hashes are summed, which makes
+ * fingerprint order independent and computable in a single pass.
+ * <p>
+ * Fingerprints of different graphs collide with negligible probability
+ * for graphs which are not deliberately constructed to collide, as long
+ * as textual forms of different vertices differ.
+ */
+public final class GraphFingerprint {
+
+    /**
+     * Golden ratio constant used for separating hash lanes.
+     */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Seed of second hash lane.
+     */
+    private static final long SECOND_LANE_SEED = 0xC2B2AE3D27D4EB4FL;
+
+    /**
+     * Higher 64 bits of fingerprint.
+     */
+    private final long high;
+
+    /**
+     * Lower 64 bits of fingerprint.
+     */
+    private final long low;
+
+    /**
+     * Constructor which receives fingerprint bits.
+     *
+     * @param high higher 64 bits of fingerprint
+     * @param low  lower 64 bits of fingerprint
+     */
+    private GraphFingerprint(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * Computes fingerprint of given graph. Loops and multiple edges
+     * are expected not to be present.
+     *
+     * @param graph graph fingerprinted
+     * @param <V>   vertex type parameter
+     * @param <E>   edge type parameter
+     * @return graph fingerprint
+     * @throws IllegalArgumentException if graph given is null
+     */
+    public static <V, E> GraphFingerprint of(Graph<V, E> graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph passed can not be null.");
+        }
+
+        Accumulator accumulator = new Accumulator();
+        Map<V, Long> vertexHashes = new HashMap<>();
+        for (V vertex : graph.vertexSet()) {
+            long hash = hash(vertex);
+            vertexHashes.put(vertex, hash);
+            accumulator.addVertex(hash);
+        }
+        for (E edge : graph.edgeSet()) {
+            accumulator.addEdge(
+                    vertexHashes.get(graph.getEdgeSource(edge)),
+                    vertexHashes.get(graph.getEdgeTarget(edge)));
+        }
+        return accumulator.toFingerprint();
+    }
+
+    /**
+     * Computes fingerprint of given compact graph. Fingerprint is equal
+     * to the one of the same graph in any other representation.
+     *
+     * @param graph graph fingerprinted
+     * @param <V>   vertex type parameter
+     * @return graph fingerprint
+     * @throws IllegalArgumentException if graph given is null
+     */
+    public static <V> GraphFingerprint of(CompactGraph<V> graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph passed can not be null.");
+        }
+
+        Accumulator accumulator = new Accumulator();
+        int vertexCount = graph.getVertexCount();
+        long[] vertexHashes = new long[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            vertexHashes[i] = hash(graph.getVertex(i));
+            accumulator.addVertex(vertexHashes[i]);
+        }
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        for (int i = 0; i < vertexCount; i++) {
+            for (int j = offsets[i]; j < offsets[i + 1]; j++) {
+                // Every edge is stored for both endpoints, but counted once.
+                if (targets[j] > i) {
+                    accumulator.addEdge(vertexHashes[i], vertexHashes[targets[j]]);
+                }
+            }
+        }
+        return accumulator.toFingerprint();
+    }
+
+    /**
+     * Hashes textual form of given vertex.
+     *
+     * @param vertex vertex hashed
+     * @return 64 bit hash
+     */
+    private static long hash(Object vertex) {
+        String name = String.valueOf(vertex);
+        long hash = name.length();
+        for (int i = 0; i < name.length(); i++) {
+            hash = mix(hash + name.charAt(i) + GOLDEN_GAMMA);
+        }
+        return hash;
+    }
+
+    /**
+     * Finalization function of SplitMix64 generator, which spreads every
+     * input bit over all output bits.
+     *
+     * @param value value mixed
+     * @return mixed value
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Returns higher 64 bits of fingerprint.
+     *
+     * @return higher bits
+     */
+    public long getHigh() {
+        return high;
+    }
+
+    /**
+     * Returns lower 64 bits of fingerprint.
+     *
+     * @return lower bits
+     */
+    public long getLow() {
+        return low;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof GraphFingerprint)) {
+            return false;
+        }
+        GraphFingerprint other = (GraphFingerprint) object;
+        return high == other.high && low == other.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(high ^ low);
+    }
+
+    /**
+     * Returns fingerprint as 32 hexadecimal digits.
+     *
+     * @return hexadecimal form of fingerprint
+     */
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+
+    /**
+     * Order independent sums of vertex and edge hashes in two lanes.
+     */
+    private static class Accumulator {
+
+        /**
+         * Number of vertices added.
+         */
+        private long vertexCount;
+
+        /**
+         * Number of edges added.
+         */
+        private long edgeCount;
+
+        /**
+         * Sum of hashes in first lane.
+         */
+        private long firstLane;
+
+        /**
+         * Sum of hashes in second lane.
+         */
+        private long secondLane;
+
+        void addVertex(long hash) {
+            vertexCount++;
+            firstLane += mix(hash);
+            secondLane += mix(hash ^ SECOND_LANE_SEED);
+        }
+
+        void addEdge(long sourceHash, long targetHash) {
+            // Endpoints are ordered, so direction of edge does not matter.
+            long smaller = Math.min(sourceHash, targetHash);
+            long larger = Math.max(sourceHash, targetHash);
+            edgeCount++;
+            firstLane += mix(mix(smaller + GOLDEN_GAMMA) + larger);
+            secondLane += mix(mix(larger ^ SECOND_LANE_SEED) - smaller);
+        }
+
+        GraphFingerprint toFingerprint() {
+            return new GraphFingerprint(
+                    mix(firstLane + vertexCount * GOLDEN_GAMMA),
+                    mix(secondLane + edgeCount * SECOND_LANE_SEED));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package hr.fer.projekt.clique.generator;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+/**
+ * Generator of Barabasi-Albert preferential attachment graphs, whose
+ * vertex degrees follow power law. Vertices are added one by one and
+ * every vertex after the first m is connected to m distinct earlier
+ * vertices, each chosen with probability proportional to its degree.
+ * <p>
+ * Degree proportional choice is made by choosing uniformly one endpoint
+ * of edges generated so far. Source endpoint of every edge follows from
+ * its index, so only target of every edge is kept, which takes 4 bytes
+ * per edge.
+ */
+public class BarabasiAlbertGenerator implements GraphGenerator {
+
+    /**
+     * Number of vertices.
+     */
+    private final int vertexCount;
+
+    /**
+     * Number of edges added with every vertex.
+     */
+    private final int edgesPerVertex;
+
+    /**
+     * Seed of random generator.
+     */
+    private final long seed;
+
+    /**
+     * Constructor which receives model parameters.
+     *
+     * @param vertexCount    number of vertices
+     * @param edgesPerVertex number of edges added with every vertex
+     * @param seed           seed of random generator
+     * @throws IllegalArgumentException if number of vertices is negative,
+     *                                  number of edges per vertex is not positive
+     *                                  or graph has too many edges
+     */
+    public BarabasiAlbertGenerator(int vertexCount, int edgesPerVertex, long seed) {
+        if (vertexCount < 0) {
+            throw new IllegalArgumentException("Number of vertices can not be negative.");
+        } else if (edgesPerVertex <= 0) {
+            throw new IllegalArgumentException("Number of edges per vertex needs to be positive.");
+        } else if ((long) Math.max(vertexCount - edgesPerVertex, 0) * edgesPerVertex > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Graph has too many edges.");
+        }
+        this.vertexCount = vertexCount;
+        this.edgesPerVertex = edgesPerVertex;
+        this.seed = seed;
+    }
+
+    @Override
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public void generate(EdgeConsumer consumer) throws IOException {
+        if (vertexCount <= edgesPerVertex) {
+            return;
+        }
+
+        // Edge k connects vertex m + k / m to targets[k].
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] targets = new int[(vertexCount - edgesPerVertex) * edgesPerVertex];
+        int edgeCount = 0;
+        for (int vertex = edgesPerVertex; vertex < vertexCount; vertex++) {
+            int first = edgeCount;
+            while (edgeCount - first < edgesPerVertex) {
+                int target;
+                if (first == 0) {
+                    target = edgeCount;
+                } else {
+                    int endpoint = random.nextInt(2 * first);
+                    target = (endpoint & 1) == 0 ? edgesPerVertex + (endpoint >>> 1) / edgesPerVertex : targets[endpoint >>> 1];
+                }
+                if (!contains(targets, first, edgeCount, target)) {
+                    targets[edgeCount++] = target;
+                }
+            }
+            for (int i = first; i < edgeCount; i++) {
+                consumer.accept(targets[i], vertex);
+            }
+        }
+    }
+
+    private static boolean contains(int[] array, int from, int to, int value) {
+        for (int i = from; i < to; i++) {
+            if (array[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
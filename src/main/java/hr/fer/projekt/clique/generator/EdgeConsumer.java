@@ -0,0 +1,19 @@
+package hr.fer.projekt.clique.generator;
+
+import java.io.IOException;
+
+/**
+ * Receives edges of generated graph one by one, as they are generated.
+ */
+@FunctionalInterface
+public interface EdgeConsumer {
+
+    /**
+     * Accepts edge between vertices with given ids.
+     *
+     * @param source first vertex id
+     * @param target second vertex id
+     * @throws IOException if edge could not be written
+     */
+    void accept(int source, int target) throws IOException;
+}
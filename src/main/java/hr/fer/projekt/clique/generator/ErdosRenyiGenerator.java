@@ -0,0 +1,87 @@
+package hr.fer.projekt.clique.generator;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+/**
+ * Generator of Erdos-Renyi random graphs G(n, p), in which every edge
+ * exists independently with probability p. Instead of drawing a random
+ * number for every pair of vertices, generator draws gaps between
+ * consecutive edges from geometric distribution, as described by
+ * Batagelj and Brandes, so it runs in time linear in number of edges.
+ * Probabilities close to 1 form near-complete dense graphs.
+ */
+public class ErdosRenyiGenerator implements GraphGenerator {
+
+    /**
+     * Number of vertices.
+     */
+    private final int vertexCount;
+
+    /**
+     * Probability of every edge.
+     */
+    private final double probability;
+
+    /**
+     * Seed of random generator.
+     */
+    private final long seed;
+
+    /**
+     * Constructor which receives model parameters.
+     *
+     * @param vertexCount number of vertices
+     * @param probability probability of every edge
+     * @param seed        seed of random generator
+     * @throws IllegalArgumentException if number of vertices is negative or
+     *                                  probability is not between 0 and 1
+     */
+    public ErdosRenyiGenerator(int vertexCount, double probability, long seed) {
+        if (vertexCount < 0) {
+            throw new IllegalArgumentException("Number of vertices can not be negative.");
+        } else if (!(probability >= 0 && probability <= 1)) {
+            throw new IllegalArgumentException("Edge probability needs to be between 0 and 1.");
+        }
+        this.vertexCount = vertexCount;
+        this.probability = probability;
+        this.seed = seed;
+    }
+
+    @Override
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public void generate(EdgeConsumer consumer) throws IOException {
+        if (probability == 0) {
+            return;
+        } else if (probability == 1) {
+            for (int target = 1; target < vertexCount; target++) {
+                for (int source = 0; source < target; source++) {
+                    consumer.accept(source, target);
+                }
+            }
+            return;
+        }
+
+        // Pairs (source, target) with source < target are visited in
+        // order of target, skipping geometrically distributed gaps.
+        SplittableRandom random = new SplittableRandom(seed);
+        double logComplement = Math.log(1 - probability);
+        double pairCount = (double) vertexCount * vertexCount;
+        int target = 1;
+        long source = -1;
+        while (target < vertexCount) {
+            source += 1 + (long) Math.min(Math.log(1 - random.nextDouble()) / logComplement, pairCount);
+            while (source >= target && target < vertexCount) {
+                source -= target;
+                target++;
+            }
+            if (target < vertexCount) {
+                consumer.accept((int) source, target);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package hr.fer.projekt.clique.generator;
+
+import java.io.IOException;
+
+/**
+ * Generator of synthetic graphs, which passes edges of generated graph
+ * to consumer instead of storing them, so that size of graph generated
+ * is not bounded by available memory. Vertices are identified by ids
+ * from 0 to n - 1, every edge is generated exactly once and there are
+ * no loops.
+ * <p>
+ * Generation is deterministic - every call of {@link #generate(EdgeConsumer)}
+ * on the same generator passes the same edges in the same order, so
+ * generated graph can be reproduced from generator parameters and seed.
+ */
+public interface GraphGenerator {
+
+    /**
+     * Number of vertices of generated graph.
+     *
+     * @return number of vertices
+     */
+    int getVertexCount();
+
+    /**
+     * Generates graph, passing each of its edges to given consumer.
+     *
+     * @param consumer consumer of generated edges
+     * @throws IOException if consumer could not write an edge
+     */
+    void generate(EdgeConsumer consumer) throws IOException;
+}
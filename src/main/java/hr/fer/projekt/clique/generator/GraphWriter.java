@@ -0,0 +1,165 @@
+package hr.fer.projekt.clique.generator;
+
+import hr.fer.projekt.clique.input.GraphFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes generated graphs in textual formats supported by
+ * {@link hr.fer.projekt.clique.input.GraphLoader}, as edges are generated,
+ * so that graph is never held in memory. Vertex with id i is named i + 1.
+ * <p>
+ * Supported formats are {@link GraphFormat#TEXT}, {@link GraphFormat#EDGE_LIST}
+ * and {@link GraphFormat#DIMACS}. DIMACS header holds number of edges, so
+ * graph is generated twice - first only to count its edges. Binary and
+ * METIS formats store edges grouped by vertex and can not be written
+ * without holding the whole graph.
+ */
+public class GraphWriter {
+
+    /**
+     * Size of output buffer.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Free space needed in buffer before every write, which is enough
+     * for any vertex name or separator.
+     */
+    private static final int MAXIMUM_WRITE_SIZE = 16;
+
+    /**
+     * Stream to which graph is written.
+     */
+    private final OutputStream stream;
+
+    /**
+     * Bytes not yet written to stream.
+     */
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    /**
+     * Number of bytes in buffer.
+     */
+    private int size;
+
+    private GraphWriter(OutputStream stream) {
+        this.stream = stream;
+    }
+
+    /**
+     * Generates graph with given generator and writes it to given stream
+     * in given format. Stream is flushed, but it is not closed.
+     *
+     * @param generator generator of graph written
+     * @param format    format of graph definition
+     * @param stream    stream to which graph is written
+     * @return number of edges written
+     * @throws IOException              if graph could not be written
+     * @throws IllegalArgumentException if any of passed values is null or
+     *                                  format given is not supported
+     */
+    public static long write(GraphGenerator generator, GraphFormat format, OutputStream stream) throws IOException {
+        if (generator == null) {
+            throw new IllegalArgumentException("Generator given can not be null.");
+        } else if (format == null) {
+            throw new IllegalArgumentException("Format given can not be null.");
+        } else if (stream == null) {
+            throw new IllegalArgumentException("Stream given can not be null.");
+        }
+
+        GraphWriter writer = new GraphWriter(stream);
+        long[] edgeCount = new long[1];
+        switch (format) {
+            case TEXT:
+                writer.writeAscii("%Vertices%\n");
+                for (int vertex = 0; vertex < generator.getVertexCount(); vertex++) {
+                    writer.writeVertex(vertex);
+                    writer.writeByte('\n');
+                }
+                writer.writeAscii("%Connections%\n");
+                generator.generate((source, target) -> {
+                    writer.writeVertex(source);
+                    writer.writeByte('-');
+                    writer.writeVertex(target);
+                    writer.writeByte('\n');
+                    edgeCount[0]++;
+                });
+                break;
+            case EDGE_LIST:
+                generator.generate((source, target) -> {
+                    writer.writeVertex(source);
+                    writer.writeByte('\t');
+                    writer.writeVertex(target);
+                    writer.writeByte('\n');
+                    edgeCount[0]++;
+                });
+                break;
+            case DIMACS:
+                generator.generate((source, target) -> edgeCount[0]++);
+                writer.writeAscii("p edge " + generator.getVertexCount() + " " + edgeCount[0] + "\n");
+                generator.generate((source, target) -> {
+                    writer.writeAscii("e ");
+                    writer.writeVertex(source);
+                    writer.writeByte(' ');
+                    writer.writeVertex(target);
+                    writer.writeByte('\n');
+                });
+                break;
+            default:
+                throw new IllegalArgumentException("Format " + format + " can not be written while graph is generated.");
+        }
+        writer.flush();
+        return edgeCount[0];
+    }
+
+    /**
+     * Writes name of vertex with given id, which is its id increased by one.
+     */
+    private void writeVertex(int vertex) throws IOException {
+        ensureCapacity();
+        long name = vertex + 1L;
+        int start = size;
+        do {
+            buffer[size++] = (byte) ('0' + name % 10);
+            name /= 10;
+        } while (name > 0);
+
+        // Digits were written from the least significant one.
+        for (int i = start, j = size - 1; i < j; i++, j--) {
+            byte digit = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = digit;
+        }
+    }
+
+    private void writeByte(char c) throws IOException {
+        ensureCapacity();
+        buffer[size++] = (byte) c;
+    }
+
+    private void writeAscii(String text) throws IOException {
+        for (byte b : text.getBytes(StandardCharsets.US_ASCII)) {
+            ensureCapacity();
+            buffer[size++] = b;
+        }
+    }
+
+    private void ensureCapacity() throws IOException {
+        if (size > BUFFER_SIZE - MAXIMUM_WRITE_SIZE) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        stream.write(buffer, 0, size);
+        size = 0;
+    }
+
+    private void flush() throws IOException {
+        drain();
+        stream.flush();
+    }
+}
@@ -0,0 +1,61 @@
+package hr.fer.projekt.clique.generator;
+
+import java.io.IOException;
+
+/**
+ * Generator of Moon-Moser graphs - complete multipartite graphs whose
+ * parts have three vertices, which have the largest possible number of
+ * maximal cliques among graphs with n vertices, 3^(n / 3). When n is
+ * not divisible by 3, remaining vertices form either one part of two
+ * vertices, or two such parts in place of one part of three vertices,
+ * which keeps number of maximal cliques the largest possible. Graphs are
+ * worst case inputs of clique enumeration.
+ */
+public class MoonMoserGenerator implements GraphGenerator {
+
+    /**
+     * Number of vertices.
+     */
+    private final int vertexCount;
+
+    /**
+     * Constructor which receives number of vertices.
+     *
+     * @param vertexCount number of vertices
+     * @throws IllegalArgumentException if number of vertices is negative
+     */
+    public MoonMoserGenerator(int vertexCount) {
+        if (vertexCount < 0) {
+            throw new IllegalArgumentException("Number of vertices can not be negative.");
+        }
+        this.vertexCount = vertexCount;
+    }
+
+    @Override
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public void generate(EdgeConsumer consumer) throws IOException {
+        for (int target = 1; target < vertexCount; target++) {
+            int part = part(target);
+            for (int source = 0; source < target; source++) {
+                if (part(source) != part) {
+                    consumer.accept(source, target);
+                }
+            }
+        }
+    }
+
+    /**
+     * Part of vertex with given id. The last parts have two vertices
+     * when number of vertices is not divisible by 3.
+     */
+    private int part(int vertex) {
+        int remainder = vertexCount % 3;
+        int pairs = remainder == 1 && vertexCount >= 4 ? 4 : remainder;
+        int triples = vertexCount - pairs;
+        return vertex < triples ? vertex / 3 : triples / 3 + (vertex - triples) / 2;
+    }
+}
@@ -0,0 +1,87 @@
+package hr.fer.projekt.clique.generator;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+/**
+ * Generator of Erdos-Renyi random graphs with planted clique - clique
+ * on randomly chosen vertices is added to random graph G(n, p), so that
+ * clique number of generated graph is known in advance when clique is
+ * larger than cliques expected in G(n, p).
+ */
+public class PlantedCliqueGenerator implements GraphGenerator {
+
+    /**
+     * Random graph to which clique is added.
+     */
+    private final ErdosRenyiGenerator randomGraph;
+
+    /**
+     * Number of vertices of planted clique.
+     */
+    private final int cliqueSize;
+
+    /**
+     * Seed of random generator.
+     */
+    private final long seed;
+
+    /**
+     * Constructor which receives model parameters.
+     *
+     * @param vertexCount number of vertices
+     * @param probability probability of every edge outside of clique
+     * @param cliqueSize  number of vertices of planted clique
+     * @param seed        seed of random generator
+     * @throws IllegalArgumentException if number of vertices is negative,
+     *                                  probability is not between 0 and 1 or
+     *                                  clique size is not between 0 and number of vertices
+     */
+    public PlantedCliqueGenerator(int vertexCount, double probability, int cliqueSize, long seed) {
+        randomGraph = new ErdosRenyiGenerator(vertexCount, probability, seed);
+        if (cliqueSize < 0 || cliqueSize > vertexCount) {
+            throw new IllegalArgumentException("Clique size needs to be between 0 and number of vertices.");
+        }
+        this.cliqueSize = cliqueSize;
+        this.seed = seed;
+    }
+
+    @Override
+    public int getVertexCount() {
+        return randomGraph.getVertexCount();
+    }
+
+    /**
+     * Vertices of planted clique, chosen uniformly by Floyd's algorithm.
+     *
+     * @return ids of clique vertices
+     */
+    public BitSet getClique() {
+        SplittableRandom random = new SplittableRandom(~seed);
+        BitSet clique = new BitSet(getVertexCount());
+        for (int bound = getVertexCount() - cliqueSize; bound < getVertexCount(); bound++) {
+            int vertex = random.nextInt(bound + 1);
+            clique.set(clique.get(vertex) ? bound : vertex);
+        }
+        return clique;
+    }
+
+    @Override
+    public void generate(EdgeConsumer consumer) throws IOException {
+        BitSet clique = getClique();
+
+        // Random edges inside of clique are skipped, so that every
+        // clique edge is generated only once.
+        randomGraph.generate((source, target) -> {
+            if (!clique.get(source) || !clique.get(target)) {
+                consumer.accept(source, target);
+            }
+        });
+        for (int target = clique.nextSetBit(0); target >= 0; target = clique.nextSetBit(target + 1)) {
+            for (int source = clique.nextSetBit(0); source < target; source = clique.nextSetBit(source + 1)) {
+                consumer.accept(source, target);
+            }
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package hr.fer.projekt.clique.graph;
+
+import org.jgrapht.Graph;
+import org.jgrapht.UndirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.SimpleGraph;
+
+import java.util.*;
+
+/**
+ * Immutable undirected graph stored in compressed sparse row format.
+ * Vertices are identified by dense integer ids, which are indices in
+ * list of graph vertices. Neighbours of vertex {@code i} are ids
+ * {@code targets[offsets[i]]} up to {@code targets[offsets[i + 1] - 1]},
+ * sorted in ascending order. Every edge is stored once for each of its
+ * endpoints, so graph needs {@code 4 * (n + 1 + 2 * m)} bytes for its
+ * structure, without any per edge objects.
+ * <p>
+ * Graphs are formed through {@link CompactGraphBuilder} or adapted from
+ * existing {@link Graph} objects through {@link #fromGraph(Graph)}.
+ *
+ * @param <V> variable type of vertices in graph
+ */
+public final class CompactGraph<V> {
+
+    /**
+     * Graph vertices, indexed by their dense ids.
+     */
+    private final List<V> vertices;
+
+    /**
+     * Dense ids of graph vertices.
+     */
+    private final Map<V, Integer> vertexIds;
+
+    /**
+     * Start of adjacency list of every vertex id in targets array,
+     * followed by total number of targets.
+     */
+    private final int[] offsets;
+
+    /**
+     * Concatenated sorted adjacency lists of all vertex ids.
+     */
+    private final int[] targets;
+
+    /**
+     * Constructor which receives already formed graph structure.
+     *
+     * @param vertices  graph vertices, indexed by their dense ids
+     * @param vertexIds dense ids of graph vertices
+     * @param offsets   start of adjacency list of every vertex id
+     * @param targets   concatenated sorted adjacency lists
+     */
+    CompactGraph(List<V> vertices, Map<V, Integer> vertexIds, int[] offsets, int[] targets) {
+        this.vertices = vertices;
+        this.vertexIds = vertexIds;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    /**
+     * Forms compact representation of given graph. Vertices are assigned
+     * ids in iteration order of graph's vertex set, while loops and
+     * multiple edges are ignored.
+     *
+     * @param graph graph whose representation is formed
+     * @param <V>   vertex type parameter
+     * @param <E>   edge type parameter
+     * @return compact graph
+     * @throws IllegalArgumentException if graph given is null value
+     */
+    public static <V, E> CompactGraph<V> fromGraph(Graph<V, E> graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph given is null.");
+        }
+
+        CompactGraphBuilder<V> builder = new CompactGraphBuilder<>();
+        for (V vertex : graph.vertexSet()) {
+            builder.addVertex(vertex);
+        }
+        for (E edge : graph.edgeSet()) {
+            int source = builder.getId(graph.getEdgeSource(edge));
+            int target = builder.getId(graph.getEdgeTarget(edge));
+            if (source != target) {
+                builder.addEdge(source, target);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Forms graph from already built compressed sparse row structure,
+     * such as one read from a file. Arrays are not copied. Structure is
+     * validated in time linear in its size - adjacency lists need to be
+     * strictly ascending, without loops, and every edge needs to be
+     * stored for both of its endpoints.
+     *
+     * @param vertices graph vertices, indexed by their dense ids
+     * @param offsets  start of adjacency list of every vertex id, followed
+     *                 by total number of targets
+     * @param targets  concatenated sorted adjacency lists
+     * @param <V>      vertex type parameter
+     * @return compact graph
+     * @throws IllegalArgumentException if any of passed values is null or
+     *                                  structure given is not valid
+     */
+    public static <V> CompactGraph<V> of(List<V> vertices, int[] offsets, int[] targets) {
+        if (vertices == null || offsets == null || targets == null) {
+            throw new IllegalArgumentException("Graph structure given can not be null.");
+        }
+        int n = vertices.size();
+        if (offsets.length != n + 1 || offsets[0] != 0 || offsets[n] != targets.length) {
+            throw new IllegalArgumentException("Adjacency list offsets are not valid.");
+        }
+
+        Map<V, Integer> vertexIds = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            if (vertices.get(i) == null || vertexIds.put(vertices.get(i), i) != null) {
+                throw new IllegalArgumentException("Vertices need to be unique and not null.");
+            }
+        }
+
+        // Lists are traversed in order of vertex ids, so every vertex u
+        // needs to be the next unmatched smaller neighbour of its larger
+        // neighbours - next[v] is position of that neighbour of vertex v.
+        int[] next = Arrays.copyOf(offsets, n);
+        for (int u = 0; u < n; u++) {
+            if (offsets[u] > offsets[u + 1]) {
+                throw new IllegalArgumentException("Adjacency list offsets are not valid.");
+            }
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                if (v < 0 || v >= n || v == u || (i > offsets[u] && v <= targets[i - 1])) {
+                    throw new IllegalArgumentException("Adjacency lists need to be sorted and without loops.");
+                }
+                if (v < u) {
+                    // Smaller neighbour needs to be matched by its own list.
+                    if (i >= next[u]) {
+                        throw new IllegalArgumentException("Adjacency lists are not symmetric.");
+                    }
+                } else {
+                    if (next[v] == offsets[v + 1] || targets[next[v]] != u) {
+                        throw new IllegalArgumentException("Adjacency lists are not symmetric.");
+                    }
+                    next[v]++;
+                }
+            }
+        }
+
+        return new CompactGraph<>(new ArrayList<>(vertices), vertexIds, offsets, targets);
+    }
+
+    /**
+     * Forms undirected {@link Graph} with vertices and edges of this
+     * graph, for use with algorithms working on such graphs.
+     *
+     * @return undirected graph equal to this graph
+     */
+    public UndirectedGraph<V, DefaultEdge> toGraph() {
+        UndirectedGraph<V, DefaultEdge> graph = new SimpleGraph<>(DefaultEdge.class);
+        for (V vertex : vertices) {
+            graph.addVertex(vertex);
+        }
+        for (int source = 0; source < vertices.size(); source++) {
+            for (int i = offsets[source], j = offsets[source + 1]; i < j; i++) {
+                if (source < targets[i]) {
+                    graph.addEdge(vertices.get(source), vertices.get(targets[i]));
+                }
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Forms subgraph induced by vertices with given ids. Vertex
+     * {@code i} of subgraph is vertex {@code ids[i]} of this graph, so
+     * ids of subgraph are compact, and edges to vertices outside of
+     * subgraph are dropped. Since ids are ascending, so are adjacency
+     * lists of subgraph.
+     *
+     * @param ids strictly ascending vertex ids of this graph
+     * @return induced subgraph
+     * @throws IllegalArgumentException if ids given are null or not
+     *                                  strictly ascending
+     */
+    public CompactGraph<V> getSubgraph(int[] ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("Vertex ids given can not be null.");
+        }
+
+        List<V> subgraphVertices = new ArrayList<>(ids.length);
+        Map<V, Integer> subgraphVertexIds = new HashMap<>();
+        int[] subgraphOffsets = new int[ids.length + 1];
+        int edges = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (i > 0 && ids[i] <= ids[i - 1]) {
+                throw new IllegalArgumentException("Vertex ids need to be strictly ascending.");
+            }
+            subgraphVertices.add(vertices.get(ids[i]));
+            subgraphVertexIds.put(vertices.get(ids[i]), i);
+            edges += getDegree(ids[i]);
+        }
+
+        int[] subgraphTargets = new int[edges];
+        int length = 0;
+        for (int i = 0; i < ids.length; i++) {
+            for (int j = offsets[ids[i]]; j < offsets[ids[i] + 1]; j++) {
+                int target = Arrays.binarySearch(ids, targets[j]);
+                if (target >= 0) {
+                    subgraphTargets[length++] = target;
+                }
+            }
+            subgraphOffsets[i + 1] = length;
+        }
+
+        return new CompactGraph<>(subgraphVertices, subgraphVertexIds, subgraphOffsets,
+                length == edges ? subgraphTargets : Arrays.copyOf(subgraphTargets, length));
+    }
+
+    /**
+     * Number of graph vertices.
+     *
+     * @return number of vertices
+     */
+    public int getVertexCount() {
+        return vertices.size();
+    }
+
+    /**
+     * Number of graph edges.
+     *
+     * @return number of edges
+     */
+    public int getEdgeCount() {
+        return targets.length / 2;
+    }
+
+    /**
+     * Graph vertices, indexed by their dense ids.
+     *
+     * @return unmodifiable list of vertices
+     */
+    public List<V> getVertices() {
+        return Collections.unmodifiableList(vertices);
+    }
+
+    /**
+     * Vertex with given dense id.
+     *
+     * @param id vertex id
+     * @return vertex
+     */
+    public V getVertex(int id) {
+        return vertices.get(id);
+    }
+
+    /**
+     * Dense id of given vertex.
+     *
+     * @param vertex graph vertex
+     * @return vertex id, or -1 if graph does not contain vertex
+     */
+    public int getId(V vertex) {
+        Integer id = vertexIds.get(vertex);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Number of neighbours of vertex with given dense id.
+     *
+     * @param id vertex id
+     * @return vertex degree
+     */
+    public int getDegree(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    /**
+     * Checks whether vertices with given dense ids are connected.
+     *
+     * @param source first vertex id
+     * @param target second vertex id
+     * @return true if edge exists, false otherwise
+     */
+    public boolean containsEdge(int source, int target) {
+        return Arrays.binarySearch(targets, offsets[source], offsets[source + 1], target) >= 0;
+    }
+
+    /**
+     * Start of adjacency list of every vertex id in array returned by
+     * {@link #getTargets()}, followed by its length. Array is shared
+     * with this graph and must not be modified.
+     *
+     * @return adjacency list offsets
+     */
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    /**
+     * Concatenated adjacency lists of all vertex ids, each sorted in
+     * ascending order. Array is shared with this graph and must not
+     * be modified.
+     *
+     * @return adjacency list targets
+     */
+    public int[] getTargets() {
+        return targets;
+    }
+}
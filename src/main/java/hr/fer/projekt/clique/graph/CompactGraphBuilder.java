@@ -0,0 +1,188 @@
+package hr.fer.projekt.clique.graph;
+
+import java.util.*;
+
+/**
+ * Builder of {@link CompactGraph} objects. Edges are collected as pairs
+ * of dense vertex ids in growing arrays and sorted into compressed sparse
+ * row format once, when graph is built. Multiple edges between the same
+ * vertices are merged into one.
+ *
+ * @param <V> variable type of vertices in graph
+ */
+public class CompactGraphBuilder<V> {
+
+    /**
+     * Graph vertices, indexed by their dense ids.
+     */
+    private List<V> vertices = new ArrayList<>();
+
+    /**
+     * Dense ids of graph vertices.
+     */
+    private Map<V, Integer> vertexIds = new HashMap<>();
+
+    /**
+     * Source vertex id of every edge added.
+     */
+    private int[] sources = new int[16];
+
+    /**
+     * Target vertex id of every edge added.
+     */
+    private int[] targets = new int[16];
+
+    /**
+     * Number of edges added.
+     */
+    private int edgeCount;
+
+    /**
+     * Adds vertex to graph, unless graph already contains it.
+     *
+     * @param vertex vertex added
+     * @return dense id of vertex
+     * @throws IllegalArgumentException if vertex given is null
+     */
+    public int addVertex(V vertex) {
+        if (vertex == null) {
+            throw new IllegalArgumentException("Vertex given can not be null.");
+        }
+        Integer id = vertexIds.get(vertex);
+        if (id == null) {
+            id = vertices.size();
+            vertices.add(vertex);
+            vertexIds.put(vertex, id);
+        }
+        return id;
+    }
+
+    /**
+     * Dense id of given vertex.
+     *
+     * @param vertex graph vertex
+     * @return vertex id, or -1 if vertex was not added
+     */
+    public int getId(V vertex) {
+        Integer id = vertexIds.get(vertex);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Number of vertices added.
+     *
+     * @return number of vertices
+     */
+    public int getVertexCount() {
+        return vertices.size();
+    }
+
+    /**
+     * Adds edge between vertices with given dense ids.
+     *
+     * @param source first vertex id
+     * @param target second vertex id
+     * @throws IllegalArgumentException if either id does not belong to
+     *                                  vertex added or ids are equal
+     */
+    public void addEdge(int source, int target) {
+        if (source < 0 || source >= vertices.size() || target < 0 || target >= vertices.size()) {
+            throw new IllegalArgumentException("No such vertex in graph.");
+        } else if (source == target) {
+            throw new IllegalArgumentException("Loops are not allowed.");
+        }
+        if (edgeCount == sources.length) {
+            sources = Arrays.copyOf(sources, edgeCount * 2);
+            targets = Arrays.copyOf(targets, edgeCount * 2);
+        }
+        sources[edgeCount] = source;
+        targets[edgeCount] = target;
+        edgeCount++;
+    }
+
+    /**
+     * Adds edges between vertices with given dense ids, where edge
+     * {@code i} connects {@code sources[i]} and {@code targets[i]}.
+     *
+     * @param sources first vertex id of every edge
+     * @param targets second vertex id of every edge
+     * @param count   number of edges added
+     * @throws IllegalArgumentException if any id does not belong to
+     *                                  vertex added or ids of an edge are equal
+     */
+    public void addEdges(int[] sources, int[] targets, int count) {
+        if (edgeCount + count > this.sources.length) {
+            int capacity = Math.max(edgeCount + count, this.sources.length * 2);
+            this.sources = Arrays.copyOf(this.sources, capacity);
+            this.targets = Arrays.copyOf(this.targets, capacity);
+        }
+        for (int i = 0; i < count; i++) {
+            addEdge(sources[i], targets[i]);
+        }
+    }
+
+    /**
+     * Adds edge between given vertices.
+     *
+     * @param source first vertex
+     * @param target second vertex
+     * @throws IllegalArgumentException if either vertex was not added
+     *                                  or vertices are equal
+     */
+    public void addEdge(V source, V target) {
+        addEdge(getId(source), getId(target));
+    }
+
+    /**
+     * Builds graph with vertices and edges added so far. Vertex tables
+     * are handed over to graph built instead of being copied, so builder
+     * is left empty afterwards.
+     *
+     * @return compact graph
+     */
+    public CompactGraph<V> build() {
+        int n = vertices.size();
+
+        // Counting sort of edge endpoints by vertex id.
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < edgeCount; i++) {
+            offsets[sources[i] + 1]++;
+            offsets[targets[i] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] adjacency = new int[offsets[n]];
+        int[] next = Arrays.copyOf(offsets, n);
+        for (int i = 0; i < edgeCount; i++) {
+            adjacency[next[sources[i]]++] = targets[i];
+            adjacency[next[targets[i]]++] = sources[i];
+        }
+
+        // Sorting adjacency lists and merging multiple edges in place.
+        int size = 0;
+        for (int vertex = 0; vertex < n; vertex++) {
+            int start = offsets[vertex];
+            int end = offsets[vertex + 1];
+            Arrays.sort(adjacency, start, end);
+            offsets[vertex] = size;
+            for (int i = start; i < end; i++) {
+                if (i == start || adjacency[i] != adjacency[i - 1]) {
+                    adjacency[size++] = adjacency[i];
+                }
+            }
+        }
+        offsets[n] = size;
+        if (size < adjacency.length) {
+            adjacency = Arrays.copyOf(adjacency, size);
+        }
+
+        CompactGraph<V> graph = new CompactGraph<>(vertices, vertexIds, offsets, adjacency);
+        vertices = new ArrayList<>();
+        vertexIds = new HashMap<>();
+        sources = new int[16];
+        targets = new int[16];
+        edgeCount = 0;
+        return graph;
+    }
+}
@@ -0,0 +1,247 @@
+package hr.fer.projekt.clique.input;
+
+import hr.fer.projekt.clique.graph.CompactGraph;
+import hr.fer.projekt.clique.input.exception.GraphLoaderException;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary graph definition format, which stores {@link CompactGraph} of
+ * String vertices so that it can be loaded without parsing text. All
+ * numbers are big-endian. File consists of:
+ * <p>
+ * Header - magic bytes 'BKGF', format version, number of vertices and
+ * total length of adjacency lists, each as 4 byte integer.
+ * <p>
+ * Vertex name table - for every vertex id, length of UTF-8 encoded name
+ * as variable length integer, followed by encoded name.
+ * <p>
+ * Adjacency - for every vertex id, number of neighbours as variable
+ * length integer, followed by sorted neighbour ids, where the first id
+ * and differences between consecutive ids are stored as variable length
+ * integers.
+ * <p>
+ * Variable length integers are stored 7 bits per byte, least significant
+ * bits first, where the highest bit of every byte but the last one is set.
+ */
+public class BinaryGraphFormat {
+
+    /**
+     * Extension of files with binary graph definitions.
+     */
+    public static final String EXTENSION = "bkg";
+
+    /**
+     * Magic bytes at the start of every file.
+     */
+    private static final int MAGIC = 0x424B4746;
+
+    /**
+     * Version of format written.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Size of file region mapped into memory at once.
+     */
+    private static final long MAPPED_REGION_SIZE = 1L << 28;
+
+    /**
+     * Maximum number of bytes of single variable length integer.
+     */
+    private static final int MAXIMUM_VARINT_SIZE = 5;
+
+    /**
+     * Writes given graph to file at given path in binary format.
+     *
+     * @param graph graph written
+     * @param path  path of file written
+     * @throws IOException              if file could not be written
+     * @throws IllegalArgumentException if any of passed values is null
+     */
+    public static void write(CompactGraph<String> graph, Path path) throws IOException {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph given can not be null.");
+        } else if (path == null) {
+            throw new IllegalArgumentException("Path given can not be null.");
+        }
+
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int n = graph.getVertexCount();
+
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(n);
+            output.writeInt(targets.length);
+
+            for (int i = 0; i < n; i++) {
+                byte[] name = graph.getVertex(i).getBytes(StandardCharsets.UTF_8);
+                writeVarint(output, name.length);
+                output.write(name);
+            }
+
+            for (int i = 0; i < n; i++) {
+                writeVarint(output, offsets[i + 1] - offsets[i]);
+                int previous = 0;
+                for (int j = offsets[i]; j < offsets[i + 1]; j++) {
+                    writeVarint(output, targets[j] - previous);
+                    previous = targets[j];
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads graph in binary format from given file channel, mapping
+     * file into memory.
+     *
+     * @param channel channel of file with binary graph definition
+     * @return graph read
+     * @throws IOException          if file could not be mapped
+     * @throws GraphLoaderException if file is not valid binary graph definition
+     */
+    static CompactGraph<String> read(FileChannel channel) throws IOException {
+        MappedInput input = new MappedInput(channel);
+        try {
+            input.require(16);
+            if (input.buffer.getInt() != MAGIC) {
+                throw new GraphLoaderException("File is not binary graph definition.");
+            }
+            int version = input.buffer.getInt();
+            if (version != VERSION) {
+                throw new GraphLoaderException("Unsupported binary graph definition version: " + version + ".");
+            }
+            int n = input.buffer.getInt();
+            int targetCount = input.buffer.getInt();
+            // Every vertex takes at least two bytes and every neighbour
+            // at least one, which bounds memory allocated for corrupted files.
+            if (n < 0 || targetCount < 0 || 2L * n + targetCount > input.size - 16) {
+                throw new GraphLoaderException("Binary graph definition malformed.");
+            }
+
+            CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT);
+            List<String> vertices = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                int length = input.readVarint();
+                input.require(length);
+                ByteBuffer name = input.buffer.slice();
+                name.limit(length);
+                vertices.add(decoder.decode(name).toString());
+                input.buffer.position(input.buffer.position() + length);
+            }
+
+            int[] offsets = new int[n + 1];
+            int[] targets = new int[targetCount];
+            int position = 0;
+            for (int i = 0; i < n; i++) {
+                int degree = input.readVarint();
+                if (degree < 0 || degree > targetCount - position) {
+                    throw new GraphLoaderException("Binary graph definition malformed.");
+                }
+                int target = 0;
+                for (int j = 0; j < degree; j++) {
+                    target += input.readVarint();
+                    targets[position++] = target;
+                }
+                offsets[i + 1] = position;
+            }
+            if (position != targetCount) {
+                throw new GraphLoaderException("Binary graph definition malformed.");
+            }
+
+            return CompactGraph.of(vertices, offsets, targets);
+        } catch (BufferUnderflowException exception) {
+            throw new GraphLoaderException("Binary graph definition truncated.");
+        } catch (CharacterCodingException | IllegalArgumentException exception) {
+            throw new GraphLoaderException("Binary graph definition malformed.", exception);
+        }
+    }
+
+    private static void writeVarint(DataOutputStream output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    /**
+     * Sequential reader of file mapped into memory one region at a time.
+     */
+    private static final class MappedInput {
+
+        /**
+         * Channel of file read.
+         */
+        private final FileChannel channel;
+
+        /**
+         * Size of file read.
+         */
+        private final long size;
+
+        /**
+         * Position of currently mapped region in file.
+         */
+        private long regionStart;
+
+        /**
+         * Currently mapped region.
+         */
+        private MappedByteBuffer buffer;
+
+        MappedInput(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            map(0, 0);
+        }
+
+        /**
+         * Ensures that given number of bytes can be read from mapped
+         * region, unless file ends before.
+         */
+        void require(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                map(regionStart + buffer.position(), bytes);
+            }
+        }
+
+        int readVarint() throws IOException {
+            require(MAXIMUM_VARINT_SIZE);
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                byte b = buffer.get();
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new GraphLoaderException("Binary graph definition malformed.");
+        }
+
+        private void map(long position, int minimumLength) throws IOException {
+            long length = Math.min(size - position, Math.max(MAPPED_REGION_SIZE, minimumLength));
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            regionStart = position;
+        }
+    }
+}
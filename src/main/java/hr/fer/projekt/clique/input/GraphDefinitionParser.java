@@ -0,0 +1,208 @@
+package hr.fer.projekt.clique.input;
+
+import hr.fer.projekt.clique.graph.CompactGraph;
+import hr.fer.projekt.clique.graph.CompactGraphBuilder;
+import hr.fer.projekt.clique.input.exception.GraphLoaderException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parser of textual graph definition, as described in
+ * {@link GraphLoader#loadStringGraph(java.nio.file.Path)}, which scans
+ * bytes of input by hand. Input is passed in consecutive portions and
+ * only complete lines of every portion are consumed, so lines may be
+ * split between buffers read from a file or a pipe. Vertex names are
+ * matched as UTF-8 bytes and decoded once per vertex, so connection
+ * definitions are parsed without allocating any objects.
+ */
+final class GraphDefinitionParser {
+
+    /**
+     * Declaration which starts vertices definition.
+     */
+    private static final byte[] VERTICES_DECLARATION = "%Vertices%".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Declaration which starts connections definition.
+     */
+    private static final byte[] CONNECTIONS_DECLARATION = "%Connections%".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Graph being built.
+     */
+    private final CompactGraphBuilder<String> graph = new CompactGraphBuilder<>();
+
+    /**
+     * Vertex ids by their encoded names.
+     */
+    private final VertexNameTable vertexNames = new VertexNameTable();
+
+    /**
+     * Parser state - 0 before vertices declaration, 1 after vertices
+     * declaration, 2 after vertices definition, 3 after connections
+     * declaration and 4 after connections definition.
+     */
+    private int state;
+
+    /**
+     * Parses complete lines of given portion of input. Line ends with
+     * '\n' or '\r' character, or with end of input.
+     *
+     * @param buffer     buffer holding input
+     * @param from       start of portion, inclusive
+     * @param to         end of portion, exclusive
+     * @param endOfInput true if portion is the last one
+     * @return position after the last line consumed, where the next
+     * portion needs to start
+     * @throws GraphLoaderException if graph definition is malformed
+     */
+    int parse(ByteBuffer buffer, int from, int to, boolean endOfInput) {
+        int lineStart = from;
+        for (int i = from; i < to; i++) {
+            byte b = buffer.get(i);
+            if (b == '\n' || b == '\r') {
+                parseLine(buffer, lineStart, i);
+                lineStart = i + 1;
+            }
+        }
+        if (endOfInput && lineStart < to) {
+            parseLine(buffer, lineStart, to);
+            lineStart = to;
+        }
+        return lineStart;
+    }
+
+    /**
+     * Builds graph once all of input was parsed.
+     *
+     * @return graph defined by input
+     * @throws GraphLoaderException if graph definition is incomplete
+     */
+    CompactGraph<String> finish() {
+
+        /*
+         * After successful graph load, we should end up in 4th state which
+         * signals that edge definitions, connections, were given.
+         * We throw appropriate exception otherwise.
+         */
+        if (state != 4) {
+            throw new GraphLoaderException("Graph definition file malformed.");
+        }
+        return graph.build();
+    }
+
+    private void parseLine(ByteBuffer buffer, int from, int to) {
+
+        // Trailing white space is not a part of any definition.
+        while (to > from && isWhitespace(buffer.get(to - 1))) {
+            to--;
+        }
+
+        // Comments and empty lines should be discarded.
+        if (from == to || startsWith(buffer, from, to, (byte) '#', (byte) '#')) {
+            return;
+        }
+        // Signals start of vertices definition.
+        else if (state == 0 && equals(buffer, from, to, VERTICES_DECLARATION)) {
+            state = 1;
+        }
+        // Signals start of connection definitions.
+        else if (state == 2 && equals(buffer, from, to, CONNECTIONS_DECLARATION)) {
+            state = 3;
+        }
+        // Vertices definitions.
+        else if (state == 1 || state == 2) {
+            state = 2;
+            parseVertices(buffer, from, to);
+        }
+        // Connection definitions.
+        else if (state == 3 || state == 4) {
+            state = 4;
+            parseConnections(buffer, from, to);
+        }
+        // Unsupported graph definition file format.
+        else {
+            throw new GraphLoaderException("Graph definition file malformed.");
+        }
+    }
+
+    private void parseVertices(ByteBuffer buffer, int from, int to) {
+        int i = from;
+        while (i < to) {
+            while (i < to && isWhitespace(buffer.get(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < to && !isWhitespace(buffer.get(i))) {
+                i++;
+            }
+            if (start < i) {
+                int id = vertexNames.add(buffer, start, i);
+                if (id == graph.getVertexCount()) {
+                    try {
+                        graph.addVertex(vertexNames.name(id));
+                    } catch (CharacterCodingException exception) {
+                        throw new GraphLoaderException("Exception occurred during graph definition read.", exception);
+                    }
+                }
+            }
+        }
+    }
+
+    private void parseConnections(ByteBuffer buffer, int from, int to) {
+        int i = from;
+        while (i < to) {
+            while (i < to && isWhitespace(buffer.get(i))) {
+                i++;
+            }
+            int start = i;
+            int separator = -1;
+            while (i < to && !isWhitespace(buffer.get(i))) {
+                if (buffer.get(i) == '-') {
+                    if (separator >= 0) {
+                        throw new GraphLoaderException("Malformed connection definition.");
+                    }
+                    separator = i;
+                }
+                i++;
+            }
+            if (start == i) {
+                continue;
+            }
+            if (separator <= start || separator == i - 1) {
+                throw new GraphLoaderException("Malformed connection definition.");
+            }
+
+            int source = vertexNames.find(buffer, start, separator);
+            int target = vertexNames.find(buffer, separator + 1, i);
+            if (source < 0 || target < 0) {
+                throw new GraphLoaderException("Connection to undefined vertex.");
+            } else if (source == target) {
+                throw new GraphLoaderException("Vertex can not be connected to itself.");
+            }
+            graph.addEdge(source, target);
+        }
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\f' || b == 0x0B;
+    }
+
+    private static boolean startsWith(ByteBuffer buffer, int from, int to, byte first, byte second) {
+        return to - from >= 2 && buffer.get(from) == first && buffer.get(from + 1) == second;
+    }
+
+    private static boolean equals(ByteBuffer buffer, int from, int to, byte[] declaration) {
+        if (to - from != declaration.length) {
+            return false;
+        }
+        for (int i = 0; i < declaration.length; i++) {
+            if (buffer.get(from + i) != declaration[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
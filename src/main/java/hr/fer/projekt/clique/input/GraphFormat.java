@@ -0,0 +1,72 @@
+package hr.fer.projekt.clique.input;
+
+/**
+ * Formats of files with graph definitions supported by {@link GraphLoader},
+ * each recognized by its file extension.
+ */
+public enum GraphFormat {
+
+    /**
+     * Textual graph definition with '%Vertices%' and '%Connections%'
+     * sections, described in {@link GraphLoader#loadStringGraph(java.nio.file.Path)}.
+     */
+    TEXT("txt"),
+
+    /**
+     * Binary graph definition, described in {@link BinaryGraphFormat}.
+     */
+    BINARY(BinaryGraphFormat.EXTENSION),
+
+    /**
+     * Edge list, as published by SNAP - every line holds two numeric
+     * vertex ids of a connection, further columns are ignored. Lines
+     * starting with '#' or '%' are comments.
+     */
+    EDGE_LIST("edges"),
+
+    /**
+     * DIMACS clique format - 'p edge n m' line followed by 'e u v' lines
+     * with vertex ids from 1 to n. Lines starting with 'c' are comments.
+     */
+    DIMACS("clq"),
+
+    /**
+     * METIS adjacency format - 'n m [fmt [ncon]]' line followed by one
+     * line per vertex listing its neighbours, with vertex ids from 1 to n.
+     * Lines starting with '%' are comments.
+     */
+    METIS("graph");
+
+    /**
+     * File extension of format.
+     */
+    private final String extension;
+
+    GraphFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * File extension of format.
+     *
+     * @return file extension
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Finds format with given file extension.
+     *
+     * @param extension file extension
+     * @return format, or null if no format has given extension
+     */
+    public static GraphFormat forExtension(String extension) {
+        for (GraphFormat format : values()) {
+            if (format.extension.equals(extension)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
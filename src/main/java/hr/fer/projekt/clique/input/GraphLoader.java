@@ -1,14 +1,21 @@
 package hr.fer.projekt.clique.input;
 
 
+import hr.fer.projekt.clique.graph.CompactGraph;
 import hr.fer.projekt.clique.input.exception.GraphLoaderException;
 import org.jgrapht.UndirectedGraph;
 import org.jgrapht.graph.DefaultEdge;
-import org.jgrapht.graph.SimpleGraph;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -18,10 +25,35 @@ import java.util.List;
 public class GraphLoader {
 
     /**
-     * Supported extension for files with graph definitions.
+     * Supported extension for textual files with graph definitions.
      */
     public static final String SUPPORTED_EXTENSION = "txt";
 
+    /**
+     * All supported extensions for files with graph definitions, one
+     * for every {@link GraphFormat}.
+     */
+    public static final List<String> SUPPORTED_EXTENSIONS;
+
+    static {
+        List<String> extensions = new ArrayList<>();
+        for (GraphFormat format : GraphFormat.values()) {
+            extensions.add(format.getExtension());
+        }
+        SUPPORTED_EXTENSIONS = Collections.unmodifiableList(extensions);
+    }
+
+    /**
+     * Size of file region mapped into memory at once.
+     */
+    private static final long MAPPED_REGION_SIZE = 1L << 28;
+
+    /**
+     * Initial size of buffer used for reading graph definitions
+     * from channels.
+     */
+    private static final int READ_BUFFER_SIZE = 1 << 22;
+
     /**
      * Singleton GraphLoader object.
      */
@@ -54,7 +86,7 @@ public class GraphLoader {
      * <p>
      * Comments start with '##' and are ignored.
      * <p>
-     * Empty lines are ignored.
+     * Empty lines, and lines made of white space only, are ignored.
      * <p>
      * Vertices definition starts with single line and '%Vertices%' declaration.
      * Vertices definition can span through one or more lines after declaration
@@ -69,6 +101,9 @@ public class GraphLoader {
      * Graph definition needs to conform to order of defining vertices first,
      * and connections after vertices. Lines which do not conform to specified
      * format will be considered malformed and graph will not be loaded.
+     * <p>
+     * File is expected to be UTF-8 encoded. Lines may end with '\n', '\r'
+     * or '\r\n' characters.
      *
      * @param path path to textual file with graph definition
      * @return undirected String graph
@@ -76,8 +111,29 @@ public class GraphLoader {
      *                              to file or is of unsupported type. Furthermore, exception is thrown
      *                              if file has malformed structure which does not comply to
      *                              aforementioned rules.
+     * @see #loadCompactGraph(Path)
      */
     public UndirectedGraph<String, DefaultEdge> loadStringGraph(Path path) {
+        return loadCompactGraph(path).toGraph();
+    }
+
+    /**
+     * Loads undirected string graph in compact representation, without
+     * forming object for every edge. Graph definition is given through
+     * textual file at the given path, which needs to conform to rules
+     * defined in {@link #loadStringGraph(Path)}, or through file in any
+     * other {@link GraphFormat}, recognized by its extension. Files in
+     * {@link BinaryGraphFormat binary format} are loaded without parsing
+     * text, while edge list, DIMACS and METIS files are parsed by several
+     * threads through {@link ParallelGraphLoader}.
+     *
+     * @param path path to file with graph definition
+     * @return undirected String graph in compact representation
+     * @throws GraphLoaderException If path given is null, does not lead
+     *                              to file or is of unsupported type. Furthermore, exception is thrown
+     *                              if file has malformed structure.
+     */
+    public CompactGraph<String> loadCompactGraph(Path path) {
 
         if (path == null) {
             throw new GraphLoaderException("Path given is null.");
@@ -90,89 +146,131 @@ public class GraphLoader {
         String fileName = path.getFileName().toString();
         String fileExtension = Utility.getFileExtension(fileName);
 
-        if (fileExtension == null || !fileExtension.equals(SUPPORTED_EXTENSION)) {
+        GraphFormat format = fileExtension == null ? null : GraphFormat.forExtension(fileExtension);
+
+        if (format == null) {
             throw new GraphLoaderException("Unsupported file type.");
         }
 
-        List<String> lines;
-        try {
-            lines = Files.readAllLines(path);
+        return loadCompactGraph(path, format);
+    }
+
+    /**
+     * Loads undirected string graph in compact representation from file
+     * in given format, regardless of file extension.
+     *
+     * @param path   path to file with graph definition
+     * @param format format of file
+     * @return undirected String graph in compact representation
+     * @throws GraphLoaderException If path or format given is null, path does
+     *                              not lead to file or file is malformed.
+     */
+    public CompactGraph<String> loadCompactGraph(Path path, GraphFormat format) {
+
+        if (path == null) {
+            throw new GraphLoaderException("Path given is null.");
+        }
+
+        if (format == null) {
+            throw new GraphLoaderException("Format given is null.");
+        }
+
+        if (!Files.isRegularFile(path)) {
+            throw new GraphLoaderException("Path does not lead to file.");
+        }
+
+        if (format != GraphFormat.TEXT && format != GraphFormat.BINARY) {
+            return new ParallelGraphLoader().load(path, format);
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (format == GraphFormat.BINARY) {
+                return BinaryGraphFormat.read(channel);
+            }
+            return parseFile(channel);
         } catch (IOException exception) {
             throw new GraphLoaderException("Exception occurred during graph definition read.", exception);
         }
+    }
+
+    /**
+     * Loads undirected string graph in compact representation from given
+     * channel, such as standard input or a pipe. Channel is read until its
+     * end, but it is not closed. Graph definition needs to conform to rules
+     * defined in {@link #loadStringGraph(Path)}.
+     *
+     * @param channel channel with graph definition
+     * @return undirected String graph in compact representation
+     * @throws GraphLoaderException If channel given is null, could not be
+     *                              read or graph definition is malformed.
+     */
+    public CompactGraph<String> loadCompactGraph(ReadableByteChannel channel) {
+
+        if (channel == null) {
+            throw new GraphLoaderException("Channel given is null.");
+        }
+
+        GraphDefinitionParser parser = new GraphDefinitionParser();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        try {
+            while (true) {
+                boolean endOfInput = channel.read(buffer) < 0;
+                int consumed = parser.parse(buffer, 0, buffer.position(), endOfInput);
+                if (endOfInput) {
+                    break;
+                }
 
-        return parseFile(lines);
+                // Moving incomplete last line to the start of buffer,
+                // enlarging buffer if the line fills it whole.
+                buffer.limit(buffer.position());
+                buffer.position(consumed);
+                buffer.compact();
+                if (!buffer.hasRemaining()) {
+                    buffer.flip();
+                    buffer = ByteBuffer.allocateDirect(buffer.capacity() * 2).put(buffer);
+                }
+            }
+        } catch (IOException exception) {
+            throw new GraphLoaderException("Exception occurred during graph definition read.", exception);
+        }
+        return parser.finish();
     }
 
     /**
      * Performs actual data parsing on textual file with graph
-     * definition. Textual file needs to conform to rules defined
-     * in calling method.
+     * definition. File is mapped into memory in regions which end
+     * at line boundaries, and every region is scanned only once.
+     * Textual file needs to conform to rules defined in
+     * {@link #loadStringGraph(Path)}.
      *
-     * @param lines lines of textual file with graph definition
-     * @return undirected String graph
+     * @param channel channel of textual file with graph definition
+     * @return undirected String graph in compact representation
+     * @throws IOException          If file could not be mapped.
      * @throws GraphLoaderException If graph definition file is malformed.
      */
-    private UndirectedGraph<String, DefaultEdge> parseFile(List<String> lines) {
+    private CompactGraph<String> parseFile(FileChannel channel) throws IOException {
 
-        UndirectedGraph<String, DefaultEdge> graph = new SimpleGraph<>(DefaultEdge.class);
-        int state = 0;
+        GraphDefinitionParser parser = new GraphDefinitionParser();
+        long size = channel.size();
+        long position = 0;
+        long regionSize = MAPPED_REGION_SIZE;
 
-        for (int i = 0, j = lines.size(); i < j; i++) {
+        while (position < size) {
+            long length = Math.min(size - position, regionSize);
+            boolean endOfInput = position + length == size;
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            int consumed = parser.parse(region, 0, (int) length, endOfInput);
 
-            // Comments and empty lines should be discarded.
-            if (lines.get(i).isEmpty() || lines.get(i).startsWith("##")) {
-                continue;
-            }
-            // Signals start of vertices definition.
-            else if (state == 0 && lines.get(i).equals("%Vertices%")) {
-                state = 1;
-            }
-            // Signals start of connection definitions.
-            else if (state == 2 && lines.get(i).equals("%Connections%")) {
-                state = 3;
-            }
-            // Vertices definitions.
-            else if (state == 1 || state == 2) {
-                if (state == 1) {
-                    state = 2;
-                }
-                String vertexDef = lines.get(i);
-                String[] crumbs = vertexDef.trim().split("\\s+");
-                for (String crumb : crumbs) {
-                    graph.addVertex(crumb);
-                }
-            }
-            // Connection definitions.
-            else if (state == 3 || state == 4) {
-                if (state == 3) {
-                    state = 4;
+            // Single line does not fit into region, so larger region is mapped.
+            if (consumed == 0 && !endOfInput) {
+                if (regionSize == Integer.MAX_VALUE) {
+                    throw new GraphLoaderException("Graph definition line too long.");
                 }
-                String connectionDef = lines.get(i);
-                String[] crumbs = connectionDef.trim().split("\\s+");
-                for (String crumb : crumbs) {
-                    String[] def = crumb.split("-");
-                    if (def.length != 2) {
-                        throw new GraphLoaderException("Malformed connection definition.");
-                    }
-                    graph.addEdge(def[0], def[1]);
-                }
-            }
-            // Unsupported graph definition file format.
-            else {
-                throw new GraphLoaderException("Graph definition file malformed.");
+                regionSize = Math.min(regionSize * 2, Integer.MAX_VALUE);
             }
+            position += consumed;
         }
 
-        /*
-         * After successful graph load, we should end up in 4th state which
-         * signals that edge definitions, connections, were given.
-         * We throw appropriate exception otherwise.
-         */
-        if (state != 4) {
-            throw new GraphLoaderException("Graph definition file malformed.");
-        }
-
-        return graph;
+        return parser.finish();
     }
 }
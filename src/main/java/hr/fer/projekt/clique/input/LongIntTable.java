@@ -0,0 +1,89 @@
+package hr.fer.projekt.clique.input;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash table which assigns dense ids to numeric vertex
+ * keys in order of their first appearance, without boxing keys.
+ */
+final class LongIntTable {
+
+    /**
+     * Keys in order of their ids.
+     */
+    private long[] keys = new long[1 << 8];
+
+    /**
+     * Number of keys added.
+     */
+    private int size;
+
+    /**
+     * Hash table slots - key id increased by one, or zero for
+     * an empty slot.
+     */
+    private int[] slots = new int[1 << 9];
+
+    /**
+     * Number of keys added.
+     *
+     * @return number of keys
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Key with given id.
+     *
+     * @param id key id
+     * @return key
+     */
+    long key(int id) {
+        return keys[id];
+    }
+
+    /**
+     * Adds key, unless it was already added.
+     *
+     * @param key key added
+     * @return id of key
+     */
+    int add(long key) {
+        int mask = slots.length - 1;
+        int slot = hash(key) & mask;
+        for (; slots[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slots[slot] - 1] == key) {
+                return slots[slot] - 1;
+            }
+        }
+
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        keys[size] = key;
+        slots[slot] = ++size;
+
+        if (size * 2 > slots.length) {
+            rehash();
+        }
+        return size - 1;
+    }
+
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        int mask = slots.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = hash(keys[id]) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = id + 1;
+        }
+    }
+
+    private static int hash(long key) {
+        key *= 0x9E3779B97F4A7C15L;
+        return (int) (key ^ (key >>> 32));
+    }
+}
@@ -0,0 +1,584 @@
+package hr.fer.projekt.clique.input;
+
+import hr.fer.projekt.clique.graph.CompactGraph;
+import hr.fer.projekt.clique.graph.CompactGraphBuilder;
+import hr.fer.projekt.clique.input.exception.GraphLoaderException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Loader of graphs in {@link GraphFormat#EDGE_LIST edge list},
+ * {@link GraphFormat#DIMACS DIMACS} and {@link GraphFormat#METIS METIS}
+ * formats, which uses several threads to parse a single file. File is
+ * split into byte ranges which end at line boundaries, every range is
+ * memory mapped and parsed by its own task into local edge arrays, and
+ * results of all ranges are merged into one {@link CompactGraph}.
+ * <p>
+ * Vertices are named by their numeric ids. Edge list vertices are
+ * assigned dense ids in order of their first appearance in file, which
+ * is determined after parsing by merging vertex tables of all ranges in
+ * file order, while vertices of other formats keep order of their ids.
+ * Loops are ignored and multiple edges are merged into one.
+ */
+public class ParallelGraphLoader {
+
+    /**
+     * Smallest size of byte range parsed by single task.
+     */
+    private static final long MINIMUM_CHUNK_SIZE = 1L << 20;
+
+    /**
+     * Largest size of byte range parsed by single task.
+     */
+    private static final long MAXIMUM_CHUNK_SIZE = 1L << 30;
+
+    /**
+     * Number of byte ranges per thread, which balances work
+     * between threads when ranges take different time to parse.
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * Size of file start searched for format header.
+     */
+    private static final int HEADER_REGION_SIZE = 1 << 20;
+
+    /**
+     * Number of threads used for parsing.
+     */
+    private final int parallelism;
+
+    /**
+     * Constructor of loader which uses as many threads as there
+     * are available processors.
+     */
+    public ParallelGraphLoader() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor of loader which uses given number of threads.
+     *
+     * @param parallelism number of threads
+     * @throws IllegalArgumentException if number of threads is not positive
+     */
+    public ParallelGraphLoader(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism needs to be positive.");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Loads undirected string graph in compact representation from file
+     * in given format.
+     *
+     * @param path   path to file with graph definition
+     * @param format format of file, one of {@link GraphFormat#EDGE_LIST},
+     *               {@link GraphFormat#DIMACS} or {@link GraphFormat#METIS}
+     * @return undirected String graph in compact representation
+     * @throws GraphLoaderException If path given is null or does not lead
+     *                              to file, if format is not supported by
+     *                              this loader or if file is malformed.
+     */
+    public CompactGraph<String> load(Path path, GraphFormat format) {
+
+        if (path == null) {
+            throw new GraphLoaderException("Path given is null.");
+        }
+
+        if (!Files.isRegularFile(path)) {
+            throw new GraphLoaderException("Path does not lead to file.");
+        }
+
+        if (format != GraphFormat.EDGE_LIST && format != GraphFormat.DIMACS && format != GraphFormat.METIS) {
+            throw new GraphLoaderException("Unsupported file type.");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = readHeader(channel, format);
+            List<Chunk> chunks = split(channel, header.end);
+
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                List<Callable<Void>> tasks = new ArrayList<>();
+                for (Chunk chunk : chunks) {
+                    tasks.add(() -> {
+                        parse(channel, chunk, format, header);
+                        return null;
+                    });
+                }
+                await(pool.invokeAll(tasks));
+
+                switch (format) {
+                    case EDGE_LIST:
+                        return mergeEdgeList(pool, chunks);
+                    case DIMACS:
+                        return merge(chunks, header.vertexCount);
+                    default:
+                        return mergeMetis(chunks, header.vertexCount);
+                }
+            } finally {
+                pool.shutdown();
+            }
+        } catch (IOException exception) {
+            throw new GraphLoaderException("Exception occurred during graph definition read.", exception);
+        }
+    }
+
+    /**
+     * Reads format header from the start of file. Edge lists have
+     * no header.
+     */
+    private Header readHeader(FileChannel channel, GraphFormat format) throws IOException {
+        Header header = new Header();
+        if (format == GraphFormat.EDGE_LIST) {
+            return header;
+        }
+
+        int length = (int) Math.min(channel.size(), HEADER_REGION_SIZE);
+        Scanner scanner = new Scanner(channel.map(FileChannel.MapMode.READ_ONLY, 0, length), length);
+        while (scanner.hasMore()) {
+            scanner.skipBlanks();
+            if (scanner.atLineEnd()) {
+                scanner.nextLine();
+                continue;
+            }
+
+            byte first = scanner.peek();
+            if (format == GraphFormat.DIMACS && first == 'c' || format == GraphFormat.METIS && first == '%') {
+                scanner.nextLine();
+                continue;
+            }
+
+            if (format == GraphFormat.DIMACS) {
+                if (first != 'p') {
+                    throw new GraphLoaderException("Graph definition file malformed.");
+                }
+                scanner.skipWord();
+                scanner.skipBlanks();
+                scanner.skipWord();
+                header.vertexCount = scanner.nextInt();
+                scanner.nextNumber();
+            } else {
+                header.vertexCount = scanner.nextInt();
+                scanner.nextNumber();
+                if (!scanner.atLineEnd()) {
+                    long fmt = scanner.nextNumber();
+                    header.vertexSizes = fmt / 100 % 10 == 1;
+                    header.vertexWeights = fmt / 10 % 10 == 1 ? 1 : 0;
+                    header.edgeWeights = fmt % 10 == 1;
+                    if (!scanner.atLineEnd()) {
+                        int constraints = scanner.nextInt();
+                        header.vertexWeights = header.vertexWeights > 0 ? constraints : 0;
+                    }
+                }
+            }
+            if (!scanner.atLineEnd()) {
+                throw new GraphLoaderException("Graph definition file malformed.");
+            }
+            scanner.nextLine();
+            header.end = scanner.position;
+            return header;
+        }
+        throw new GraphLoaderException("Graph definition file malformed.");
+    }
+
+    /**
+     * Splits file after header into byte ranges which start and
+     * end at line boundaries.
+     */
+    private List<Chunk> split(FileChannel channel, long start) throws IOException {
+        long size = channel.size();
+        long chunkSize = (size - start) / ((long) parallelism * CHUNKS_PER_THREAD);
+        chunkSize = Math.min(Math.max(chunkSize, MINIMUM_CHUNK_SIZE), MAXIMUM_CHUNK_SIZE);
+
+        List<Chunk> chunks = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 12);
+        while (start < size) {
+            long end = Math.min(start + chunkSize, size);
+
+            // Moving end of range after the end of line it falls into.
+            while (end < size) {
+                buffer.clear();
+                int read = channel.read(buffer, end);
+                int newLine = -1;
+                for (int i = 0; i < read && newLine < 0; i++) {
+                    if (buffer.get(i) == '\n') {
+                        newLine = i;
+                    }
+                }
+                if (newLine >= 0) {
+                    end += newLine + 1;
+                    break;
+                }
+                end += Math.max(read, 0);
+            }
+            if (end - start > Integer.MAX_VALUE) {
+                throw new GraphLoaderException("Graph definition line too long.");
+            }
+
+            chunks.add(new Chunk(start, end));
+            start = end;
+        }
+        return chunks;
+    }
+
+    private void parse(FileChannel channel, Chunk chunk, GraphFormat format, Header header) throws IOException {
+        int length = (int) (chunk.end - chunk.start);
+        Scanner scanner = new Scanner(channel.map(FileChannel.MapMode.READ_ONLY, chunk.start, length), length);
+
+        while (scanner.hasMore()) {
+            scanner.skipBlanks();
+            byte first = scanner.hasMore() ? scanner.peek() : (byte) '\n';
+
+            switch (format) {
+                case EDGE_LIST:
+                    if (first != '\n' && first != '#' && first != '%') {
+                        int source = chunk.vertexIds.add(scanner.nextNumber());
+                        int target = chunk.vertexIds.add(scanner.nextNumber());
+                        if (source != target) {
+                            chunk.addEdge(source, target);
+                        }
+                    }
+                    break;
+                case DIMACS:
+                    if (first == 'e') {
+                        scanner.skipWord();
+                        int source = vertex(scanner.nextNumber(), header.vertexCount);
+                        int target = vertex(scanner.nextNumber(), header.vertexCount);
+                        if (source != target) {
+                            chunk.addEdge(source, target);
+                        }
+                        if (!scanner.atLineEnd()) {
+                            throw new GraphLoaderException("Malformed connection definition.");
+                        }
+                    } else if (first != '\n' && first != 'c') {
+                        throw new GraphLoaderException("Graph definition file malformed.");
+                    }
+                    break;
+                case METIS:
+                    if (first == '%') {
+                        break;
+                    }
+
+                    // Every line which is not a comment defines neighbours
+                    // of next vertex, identified by its line within range.
+                    int line = chunk.lines++;
+                    int skipped = (header.vertexSizes ? 1 : 0) + header.vertexWeights;
+                    for (int i = 0; i < skipped; i++) {
+                        scanner.nextNumber();
+                    }
+                    while (!scanner.atLineEnd()) {
+                        int target = vertex(scanner.nextNumber(), header.vertexCount);
+                        if (header.edgeWeights) {
+                            scanner.nextNumber();
+                        }
+                        chunk.addEdge(line, target);
+                    }
+                    break;
+            }
+            scanner.nextLine();
+        }
+    }
+
+    private CompactGraph<String> mergeEdgeList(ForkJoinPool pool, List<Chunk> chunks) {
+
+        // Vertex tables of ranges are merged in file order, so vertex ids
+        // follow order of first appearance regardless of range borders.
+        LongIntTable vertexIds = new LongIntTable();
+        List<int[]> mappings = new ArrayList<>();
+        for (Chunk chunk : chunks) {
+            int[] mapping = new int[chunk.vertexIds.size()];
+            for (int i = 0; i < mapping.length; i++) {
+                mapping[i] = vertexIds.add(chunk.vertexIds.key(i));
+            }
+            mappings.add(mapping);
+        }
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int c = 0; c < chunks.size(); c++) {
+            Chunk chunk = chunks.get(c);
+            int[] mapping = mappings.get(c);
+            tasks.add(() -> {
+                for (int i = 0; i < chunk.edgeCount; i++) {
+                    chunk.sources[i] = mapping[chunk.sources[i]];
+                    chunk.targets[i] = mapping[chunk.targets[i]];
+                }
+                return null;
+            });
+        }
+        await(pool.invokeAll(tasks));
+
+        CompactGraphBuilder<String> builder = new CompactGraphBuilder<>();
+        for (int i = 0; i < vertexIds.size(); i++) {
+            builder.addVertex(Long.toString(vertexIds.key(i)));
+        }
+        for (Chunk chunk : chunks) {
+            builder.addEdges(chunk.sources, chunk.targets, chunk.edgeCount);
+        }
+        return builder.build();
+    }
+
+    private CompactGraph<String> mergeMetis(List<Chunk> chunks, int vertexCount) {
+        int lines = 0;
+        for (Chunk chunk : chunks) {
+            for (int i = 0; i < chunk.edgeCount; i++) {
+                chunk.sources[i] += lines;
+                if (chunk.sources[i] >= vertexCount) {
+                    throw new GraphLoaderException("Graph definition file malformed.");
+                }
+            }
+            lines += chunk.lines;
+        }
+
+        // Trailing lines without neighbours are tolerated, but every
+        // vertex needs to have its line.
+        if (lines < vertexCount) {
+            throw new GraphLoaderException("Graph definition file malformed.");
+        }
+        return merge(chunks, vertexCount);
+    }
+
+    /**
+     * Merges edges of all ranges, which already use final vertex ids,
+     * into graph whose vertices are named by ids increased by one.
+     */
+    private CompactGraph<String> merge(List<Chunk> chunks, int vertexCount) {
+        CompactGraphBuilder<String> builder = new CompactGraphBuilder<>();
+        for (int i = 0; i < vertexCount; i++) {
+            builder.addVertex(Integer.toString(i + 1));
+        }
+        for (Chunk chunk : chunks) {
+            for (int i = 0; i < chunk.edgeCount; i++) {
+                if (chunk.sources[i] != chunk.targets[i]) {
+                    builder.addEdge(chunk.sources[i], chunk.targets[i]);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Converts vertex id counted from 1 to dense vertex id.
+     */
+    private static int vertex(long id, int vertexCount) {
+        if (id < 1 || id > vertexCount) {
+            throw new GraphLoaderException("Connection to undefined vertex.");
+        }
+        return (int) id - 1;
+    }
+
+    /**
+     * Waits for completion of given tasks, rethrowing exception of
+     * the first task which failed.
+     */
+    private static void await(List<Future<Void>> futures) {
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new GraphLoaderException("Graph definition read interrupted.", exception);
+            } catch (ExecutionException exception) {
+                Throwable cause = exception.getCause();
+                if (cause instanceof GraphLoaderException) {
+                    throw (GraphLoaderException) cause;
+                }
+                throw new GraphLoaderException("Exception occurred during graph definition read.",
+                        cause instanceof Exception ? (Exception) cause : exception);
+            }
+        }
+    }
+
+    /**
+     * Format header - number of vertices, METIS format flags and
+     * position in file where header ends.
+     */
+    private static final class Header {
+
+        /**
+         * Position after header line.
+         */
+        private long end;
+
+        /**
+         * Number of vertices declared.
+         */
+        private int vertexCount;
+
+        /**
+         * Specifies whether METIS vertex lines start with vertex size.
+         */
+        private boolean vertexSizes;
+
+        /**
+         * Number of weights at the start of METIS vertex lines.
+         */
+        private int vertexWeights;
+
+        /**
+         * Specifies whether every METIS neighbour is followed by edge weight.
+         */
+        private boolean edgeWeights;
+    }
+
+    /**
+     * Byte range of file and edges parsed from it.
+     */
+    private static final class Chunk {
+
+        /**
+         * Start of range in file, inclusive.
+         */
+        private final long start;
+
+        /**
+         * End of range in file, exclusive.
+         */
+        private final long end;
+
+        /**
+         * First vertex id of every edge parsed.
+         */
+        private int[] sources = new int[1 << 10];
+
+        /**
+         * Second vertex id of every edge parsed.
+         */
+        private int[] targets = new int[1 << 10];
+
+        /**
+         * Number of edges parsed.
+         */
+        private int edgeCount;
+
+        /**
+         * Local ids of edge list vertices met in range.
+         */
+        private final LongIntTable vertexIds = new LongIntTable();
+
+        /**
+         * Number of METIS vertex lines in range.
+         */
+        private int lines;
+
+        Chunk(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        void addEdge(int source, int target) {
+            if (edgeCount == sources.length) {
+                sources = Arrays.copyOf(sources, edgeCount * 2);
+                targets = Arrays.copyOf(targets, edgeCount * 2);
+            }
+            sources[edgeCount] = source;
+            targets[edgeCount] = target;
+            edgeCount++;
+        }
+    }
+
+    /**
+     * Scanner of numbers and words in mapped byte range. Lines end with
+     * '\n' character, while '\r' is treated as white space.
+     */
+    private static final class Scanner {
+
+        /**
+         * Range scanned.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * Length of range.
+         */
+        private final int limit;
+
+        /**
+         * Position of next byte scanned.
+         */
+        private int position;
+
+        Scanner(ByteBuffer buffer, int limit) {
+            this.buffer = buffer;
+            this.limit = limit;
+        }
+
+        boolean hasMore() {
+            return position < limit;
+        }
+
+        byte peek() {
+            return buffer.get(position);
+        }
+
+        void skipBlanks() {
+            while (position < limit && isBlank(buffer.get(position))) {
+                position++;
+            }
+        }
+
+        boolean atLineEnd() {
+            skipBlanks();
+            return position == limit || buffer.get(position) == '\n';
+        }
+
+        void nextLine() {
+            while (position < limit && buffer.get(position++) != '\n') {
+            }
+        }
+
+        void skipWord() {
+            while (position < limit && !isBlank(buffer.get(position)) && buffer.get(position) != '\n') {
+                position++;
+            }
+        }
+
+        long nextNumber() {
+            skipBlanks();
+            long number = 0;
+            int start = position;
+            while (position < limit) {
+                int digit = buffer.get(position) - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                if (number > (Long.MAX_VALUE - digit) / 10) {
+                    throw new GraphLoaderException("Vertex id too large.");
+                }
+                number = number * 10 + digit;
+                position++;
+            }
+            if (position == start || (position < limit && !isBlank(buffer.get(position))
+                    && buffer.get(position) != '\n')) {
+                throw new GraphLoaderException("Malformed connection definition.");
+            }
+            return number;
+        }
+
+        int nextInt() {
+            long number = nextNumber();
+            if (number > Integer.MAX_VALUE - 1) {
+                throw new GraphLoaderException("Graph definition file malformed.");
+            }
+            return (int) number;
+        }
+
+        private static boolean isBlank(byte b) {
+            return b == ' ' || b == '\t' || b == '\r' || b == '\f' || b == 0x0B;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package hr.fer.projekt.clique.input;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Open addressing hash table which maps UTF-8 encoded vertex names to
+ * dense vertex ids. Names are looked up directly in byte buffer being
+ * parsed and copied into single byte array when added, so no object is
+ * allocated for a lookup.
+ */
+final class VertexNameTable {
+
+    /**
+     * Encoded names of all vertices, concatenated in order of their ids.
+     */
+    private byte[] names = new byte[1 << 12];
+
+    /**
+     * Start of encoded name of every vertex id, followed by total
+     * length of encoded names.
+     */
+    private int[] nameOffsets = new int[1 << 8];
+
+    /**
+     * Number of vertices added.
+     */
+    private int size;
+
+    /**
+     * Hash table slots - vertex id increased by one, or zero
+     * for an empty slot.
+     */
+    private int[] slots = new int[1 << 8];
+
+    /**
+     * Decoder which reports malformed names instead of replacing
+     * their characters.
+     */
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT);
+
+    /**
+     * Number of vertices added.
+     *
+     * @return number of vertices
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Searches for vertex with name encoded by given bytes.
+     *
+     * @param buffer buffer holding encoded name
+     * @param from   start of name, inclusive
+     * @param to     end of name, exclusive
+     * @return vertex id, or -1 if no vertex has given name
+     */
+    int find(ByteBuffer buffer, int from, int to) {
+        int mask = slots.length - 1;
+        for (int slot = hash(buffer, from, to) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int id = slots[slot] - 1;
+            if (matches(id, buffer, from, to)) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds vertex with name encoded by given bytes, unless such
+     * vertex already exists.
+     *
+     * @param buffer buffer holding encoded name
+     * @param from   start of name, inclusive
+     * @param to     end of name, exclusive
+     * @return id of vertex with given name
+     */
+    int add(ByteBuffer buffer, int from, int to) {
+        int mask = slots.length - 1;
+        int slot = hash(buffer, from, to) & mask;
+        for (; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int id = slots[slot] - 1;
+            if (matches(id, buffer, from, to)) {
+                return id;
+            }
+        }
+
+        int length = to - from;
+        int offset = nameOffsets[size];
+        if (offset + length > names.length) {
+            names = Arrays.copyOf(names, Math.max(names.length * 2, offset + length));
+        }
+        for (int i = 0; i < length; i++) {
+            names[offset + i] = buffer.get(from + i);
+        }
+        if (size + 2 > nameOffsets.length) {
+            nameOffsets = Arrays.copyOf(nameOffsets, nameOffsets.length * 2);
+        }
+        nameOffsets[size + 1] = offset + length;
+        slots[slot] = size + 1;
+        size++;
+
+        if (size * 2 > slots.length) {
+            rehash();
+        }
+        return size - 1;
+    }
+
+    /**
+     * Decodes name of vertex with given id.
+     *
+     * @param id vertex id
+     * @return vertex name
+     * @throws CharacterCodingException if name is not valid UTF-8
+     */
+    String name(int id) throws CharacterCodingException {
+        int offset = nameOffsets[id];
+        CharBuffer name = decoder.decode(ByteBuffer.wrap(names, offset, nameOffsets[id + 1] - offset));
+        return name.toString();
+    }
+
+    private boolean matches(int id, ByteBuffer buffer, int from, int to) {
+        int offset = nameOffsets[id];
+        if (nameOffsets[id + 1] - offset != to - from) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            if (names[offset++] != buffer.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        int mask = slots.length - 1;
+        ByteBuffer wrapped = ByteBuffer.wrap(names);
+        for (int id = 0; id < size; id++) {
+            int slot = hash(wrapped, nameOffsets[id], nameOffsets[id + 1]) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = id + 1;
+        }
+    }
+
+    private static int hash(ByteBuffer buffer, int from, int to) {
+        int hash = 0x811c9dc5;
+        for (int i = from; i < to; i++) {
+            hash = (hash ^ buffer.get(i)) * 0x01000193;
+        }
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,101 @@
+package hr.fer.projekt.clique.monitoring;
+
+/**
+ * Emits flight recorder events of clique search if runtime provides
+ * flight recorder, and does nothing otherwise. Event classes extend
+ * {@code jdk.jfr.Event}, which is missing from Java 8 runtimes before
+ * 8u262 and from runtimes without {@code jdk.jfr} module, so they are
+ * loaded only once it is known that their superclass can be loaded.
+ * <p>
+ * Events are passed around as handles of type {@link Object}, so that
+ * callers do not refer to event classes. Handle is null if flight
+ * recorder is not available.
+ */
+public final class SearchEvents {
+
+    /**
+     * Specifies whether runtime provides flight recorder events.
+     */
+    private static final boolean AVAILABLE = isAvailable();
+
+    private SearchEvents() {
+    }
+
+    /**
+     * Checks whether runtime provides flight recorder events.
+     *
+     * @return true if event classes can be loaded, false otherwise
+     */
+    public static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, SearchEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Starts event which spans phase of search.
+     *
+     * @param phase       phase of search, one of {@link SearchPhaseEvent} phases
+     * @param vertexCount number of vertices of graph searched
+     * @return handle of started event
+     */
+    public static Object beginPhase(String phase, int vertexCount) {
+        if (!AVAILABLE) {
+            return null;
+        }
+        SearchPhaseEvent event = new SearchPhaseEvent(phase, vertexCount);
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends event which spans phase of search and records it.
+     *
+     * @param phase handle of event returned by {@link #beginPhase(String, int)}
+     */
+    public static void endPhase(Object phase) {
+        if (phase != null) {
+            ((SearchPhaseEvent) phase).commit();
+        }
+    }
+
+    /**
+     * Starts event which spans search of subtree of one vertex.
+     *
+     * @return handle of started event
+     */
+    public static Object beginSubtree() {
+        if (!AVAILABLE) {
+            return null;
+        }
+        SlowSubtreeEvent event = new SlowSubtreeEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends event which spans search of subtree of one vertex, and records
+     * it if search took longer than threshold of event. Properties of
+     * subtree are set only if event is recorded.
+     *
+     * @param subtree    handle of event returned by {@link #beginSubtree()}
+     * @param vertex     vertex whose subtree was searched
+     * @param candidates number of candidate vertices at the root of subtree
+     * @param excluded   number of already found vertices at the root of subtree
+     * @param cliques    number of maximal cliques found in subtree
+     */
+    public static void endSubtree(Object subtree, Object vertex, int candidates, int excluded, long cliques) {
+        if (subtree == null) {
+            return;
+        }
+        SlowSubtreeEvent event = (SlowSubtreeEvent) subtree;
+        event.end();
+        if (event.shouldCommit()) {
+            event.setSubtree(String.valueOf(vertex), candidates, excluded, cliques);
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package hr.fer.projekt.clique.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event which spans one phase of clique search.
+ * Events are recorded only while flight recording is running, and
+ * cost a single check otherwise.
+ */
+@Name(SearchPhaseEvent.NAME)
+@Label("Clique Search Phase")
+@Category("Clique Search")
+@Description("Phase of clique search - degeneracy ordering, maximal clique enumeration or maximum clique filtering.")
+@StackTrace(false)
+public class SearchPhaseEvent extends Event {
+
+    /**
+     * Name of event type.
+     */
+    public static final String NAME = "hr.fer.projekt.clique.SearchPhase";
+
+    /**
+     * Phase of degeneracy ordering computation.
+     */
+    public static final String DEGENERACY_ORDERING = "Degeneracy ordering";
+
+    /**
+     * Phase of maximal clique enumeration.
+     */
+    public static final String MAXIMAL_ENUMERATION = "Maximal enumeration";
+
+    /**
+     * Phase of maximum clique filtering.
+     */
+    public static final String MAXIMUM_FILTERING = "Maximum filtering";
+
+    /**
+     * Phase of search.
+     */
+    @Label("Phase")
+    String phase;
+
+    /**
+     * Number of vertices of graph searched.
+     */
+    @Label("Vertices")
+    int vertexCount;
+
+    /**
+     * Constructor which receives phase of search.
+     *
+     * @param phase       phase of search
+     * @param vertexCount number of vertices of graph searched
+     */
+    public SearchPhaseEvent(String phase, int vertexCount) {
+        this.phase = phase;
+        this.vertexCount = vertexCount;
+    }
+}
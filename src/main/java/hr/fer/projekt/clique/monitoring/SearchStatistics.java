@@ -0,0 +1,229 @@
+package hr.fer.projekt.clique.monitoring;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of clique search, collected while search runs and readable
+ * at any time, including from other threads and over JMX. Counters are
+ * striped, so updates from several search threads do not contend, and
+ * search engines report work in batches, once per recursive call,
+ * which keeps overhead of collection low.
+ */
+public class SearchStatistics implements SearchStatisticsMBean {
+
+    /**
+     * Domain of object names under which statistics are registered.
+     */
+    public static final String JMX_DOMAIN = "hr.fer.projekt.clique";
+
+    /**
+     * Number of depths of recursion with separate branching histogram.
+     */
+    public static final int HISTOGRAM_DEPTHS = 64;
+
+    /**
+     * Number of branching factor buckets at every depth - one for zero
+     * and one for every power of two of int values.
+     */
+    public static final int HISTOGRAM_BUCKETS = 33;
+
+    /**
+     * Number of recursive calls.
+     */
+    private final LongAdder recursiveCalls = new LongAdder();
+
+    /**
+     * Number of maximal cliques found.
+     */
+    private final LongAdder maximalCliques = new LongAdder();
+
+    /**
+     * Number of edge probes.
+     */
+    private final LongAdder edgeProbes = new LongAdder();
+
+    /**
+     * Number of pivot computations.
+     */
+    private final LongAdder pivotComputations = new LongAdder();
+
+    /**
+     * Number of early exits.
+     */
+    private final LongAdder earlyExits = new LongAdder();
+
+    /**
+     * Maximum depth of recursion reached.
+     */
+    private final LongAccumulator maximumDepth = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Branching factor histogram, stored by rows.
+     */
+    private final AtomicLongArray branchingHistogram = new AtomicLongArray(HISTOGRAM_DEPTHS * HISTOGRAM_BUCKETS);
+
+    /**
+     * Records recursive call at given depth.
+     *
+     * @param depth depth of recursion
+     */
+    public void recordCall(int depth) {
+        recursiveCalls.increment();
+        maximumDepth.accumulate(depth);
+    }
+
+    /**
+     * Records maximal clique found.
+     */
+    public void recordClique() {
+        maximalCliques.increment();
+    }
+
+    /**
+     * Records given number of edge probes.
+     *
+     * @param count number of edge probes
+     */
+    public void recordEdgeProbes(long count) {
+        if (count > 0) {
+            edgeProbes.add(count);
+        }
+    }
+
+    /**
+     * Records pivot computation.
+     */
+    public void recordPivot() {
+        pivotComputations.increment();
+    }
+
+    /**
+     * Records branch abandoned early.
+     */
+    public void recordEarlyExit() {
+        earlyExits.increment();
+    }
+
+    /**
+     * Records call at given depth which branched on given number
+     * of candidates.
+     *
+     * @param depth    depth of recursion
+     * @param branches number of candidates branched on
+     */
+    public void recordBranching(int depth, int branches) {
+        int row = Math.min(Math.max(depth, 0), HISTOGRAM_DEPTHS - 1);
+        int bucket = Integer.SIZE - Integer.numberOfLeadingZeros(Math.max(branches, 0));
+        branchingHistogram.incrementAndGet(row * HISTOGRAM_BUCKETS + bucket);
+    }
+
+    @Override
+    public long getRecursiveCalls() {
+        return recursiveCalls.sum();
+    }
+
+    @Override
+    public long getMaximalCliques() {
+        return maximalCliques.sum();
+    }
+
+    @Override
+    public long getEdgeProbes() {
+        return edgeProbes.sum();
+    }
+
+    @Override
+    public long getPivotComputations() {
+        return pivotComputations.sum();
+    }
+
+    @Override
+    public long getEarlyExits() {
+        return earlyExits.sum();
+    }
+
+    @Override
+    public int getMaximumDepth() {
+        return (int) maximumDepth.get();
+    }
+
+    @Override
+    public long[][] getBranchingHistogram() {
+        long[][] histogram = new long[HISTOGRAM_DEPTHS][HISTOGRAM_BUCKETS];
+        for (int i = 0; i < branchingHistogram.length(); i++) {
+            histogram[i / HISTOGRAM_BUCKETS][i % HISTOGRAM_BUCKETS] = branchingHistogram.get(i);
+        }
+        return histogram;
+    }
+
+    @Override
+    public void reset() {
+        recursiveCalls.reset();
+        maximalCliques.reset();
+        edgeProbes.reset();
+        pivotComputations.reset();
+        earlyExits.reset();
+        maximumDepth.reset();
+        for (int i = 0; i < branchingHistogram.length(); i++) {
+            branchingHistogram.set(i, 0);
+        }
+    }
+
+    /**
+     * Registers these statistics with platform MBean server, under
+     * object name with {@link #JMX_DOMAIN} domain and given name.
+     *
+     * @param name name of statistics, such as name of graph searched
+     * @return object name statistics were registered under
+     * @throws JMException              if statistics could not be registered
+     * @throws IllegalArgumentException if name given is null
+     */
+    public ObjectName register(String name) throws JMException {
+        if (name == null) {
+            throw new IllegalArgumentException("Name given can not be null.");
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=SearchStatistics,name=" + ObjectName.quote(name));
+        server.registerMBean(this, objectName);
+        return objectName;
+    }
+
+    /**
+     * Forms human readable summary of counters, listing branching
+     * histogram for every depth reached.
+     *
+     * @return textual summary
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder()
+                .append("Recursive calls: ").append(getRecursiveCalls()).append('\n')
+                .append("Maximal cliques: ").append(getMaximalCliques()).append('\n')
+                .append("Edge probes: ").append(getEdgeProbes()).append('\n')
+                .append("Pivot computations: ").append(getPivotComputations()).append('\n')
+                .append("Early exits: ").append(getEarlyExits()).append('\n')
+                .append("Maximum depth: ").append(getMaximumDepth()).append('\n')
+                .append("Branching factor histogram (depth: [0] [1] [2-3] [4-7] ...):");
+        long[][] histogram = getBranchingHistogram();
+        for (int depth = 0; depth < histogram.length; depth++) {
+            int last = HISTOGRAM_BUCKETS - 1;
+            while (last >= 0 && histogram[depth][last] == 0) {
+                last--;
+            }
+            if (last < 0) {
+                continue;
+            }
+            sb.append('\n').append(depth).append(':');
+            for (int bucket = 0; bucket <= last; bucket++) {
+                sb.append(' ').append(histogram[depth][bucket]);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,67 @@
+package hr.fer.projekt.clique.monitoring;
+
+/**
+ * Management interface of {@link SearchStatistics}, through which
+ * counters of running or finished search are read over JMX.
+ */
+public interface SearchStatisticsMBean {
+
+    /**
+     * Number of recursive calls of search.
+     *
+     * @return number of recursive calls
+     */
+    long getRecursiveCalls();
+
+    /**
+     * Number of maximal cliques found.
+     *
+     * @return number of maximal cliques
+     */
+    long getMaximalCliques();
+
+    /**
+     * Number of edge existence checks between two vertices.
+     *
+     * @return number of edge probes
+     */
+    long getEdgeProbes();
+
+    /**
+     * Number of pivot vertices computed.
+     *
+     * @return number of pivot computations
+     */
+    long getPivotComputations();
+
+    /**
+     * Number of branches abandoned because already found vertex is
+     * connected to all candidates.
+     *
+     * @return number of early exits
+     */
+    long getEarlyExits();
+
+    /**
+     * Maximum depth of recursion reached.
+     *
+     * @return maximum depth
+     */
+    int getMaximumDepth();
+
+    /**
+     * Histogram of branching factor per depth of recursion. Element
+     * {@code [d][b]} holds number of calls at depth d which branched on
+     * {@code 0} candidates for {@code b = 0}, or on {@code 2^(b - 1)} up
+     * to {@code 2^b - 1} candidates otherwise. Calls deeper than the
+     * last row are counted in the last row.
+     *
+     * @return branching factor histogram
+     */
+    long[][] getBranchingHistogram();
+
+    /**
+     * Resets all counters to zero.
+     */
+    void reset();
+}
@@ -0,0 +1,72 @@
+package hr.fer.projekt.clique.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Java Flight Recorder event which spans search of subtree of one vertex
+ * of degeneracy ordering, recorded only if search took longer than event
+ * threshold. Threshold is 100 ms by default, and can be changed through
+ * recording settings, for example with
+ * {@code -XX:StartFlightRecording:settings=custom.jfc} where custom
+ * settings set {@code threshold} of {@value #NAME} event.
+ */
+@Name(SlowSubtreeEvent.NAME)
+@Label("Slow Clique Search Subtree")
+@Category("Clique Search")
+@Description("Search of subtree of one vertex of degeneracy ordering which took longer than threshold.")
+@Threshold("100 ms")
+@StackTrace(false)
+public class SlowSubtreeEvent extends Event {
+
+    /**
+     * Name of event type.
+     */
+    public static final String NAME = "hr.fer.projekt.clique.SlowSubtree";
+
+    /**
+     * Vertex whose subtree was searched.
+     */
+    @Label("Vertex")
+    String vertex;
+
+    /**
+     * Number of candidate vertices at the root of subtree.
+     */
+    @Label("Candidates")
+    @Description("Size of candidate set P at the root of subtree.")
+    int candidates;
+
+    /**
+     * Number of already found vertices at the root of subtree.
+     */
+    @Label("Excluded")
+    @Description("Size of already found set X at the root of subtree.")
+    int excluded;
+
+    /**
+     * Number of maximal cliques found in subtree.
+     */
+    @Label("Cliques")
+    long cliques;
+
+    /**
+     * Sets properties of subtree searched.
+     *
+     * @param vertex     vertex whose subtree was searched
+     * @param candidates number of candidate vertices at the root of subtree
+     * @param excluded   number of already found vertices at the root of subtree
+     * @param cliques    number of maximal cliques found in subtree
+     */
+    public void setSubtree(String vertex, int candidates, int excluded, long cliques) {
+        this.vertex = vertex;
+        this.candidates = candidates;
+        this.excluded = excluded;
+        this.cliques = cliques;
+    }
+}
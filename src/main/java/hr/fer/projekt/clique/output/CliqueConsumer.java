@@ -0,0 +1,26 @@
+package hr.fer.projekt.clique.output;
+
+import java.util.Collection;
+
+/**
+ * Receives maximal cliques the moment they are found during graph
+ * traversal, so that cliques do not have to be stored until traversal
+ * is finished. Traversal waits for consumer to return before searching
+ * further, which means slow consumer slows down traversal instead of
+ * cliques piling up in memory.
+ *
+ * @param <V> variable type of vertices in graph
+ */
+@FunctionalInterface
+public interface CliqueConsumer<V> {
+
+    /**
+     * Accepts maximal clique found during graph traversal. Collection
+     * passed is a read-only view which is valid only until this method
+     * returns, consumer needs to copy it in order to retain it.
+     *
+     * @param clique maximal clique found
+     * @return true if traversal should continue, false if it should stop
+     */
+    boolean accept(Collection<V> clique);
+}
@@ -1,27 +1,88 @@
 package hr.fer.projekt.clique.output;
 
+import hr.fer.projekt.clique.monitoring.SearchStatistics;
+
 import java.util.Collection;
 import java.util.Set;
 
 /**
  * Defines abstract output environment used during graph traversal
- * with different algorithms. Environment offers output of algorithm
- * steps, as well as result storage and retrieval.
+ * with different algorithms. Environment receives structured events
+ * describing algorithm steps, as well as offers result storage and
+ * retrieval.
+ * <p>
+ * Events are reported only if environment's trace level includes them.
+ * Collections passed with events are live views of algorithm state,
+ * which are valid only until event method returns.
  *
  * @param <V> variable type of vertices in graph
  */
 public interface OutputEnvironment<V> {
 
     /**
-     * Outputs detailed description of algorithm step,
-     * during graph traversal, to OutputEnvironment.
-     * Used for educative purposes and identifying
-     * differences between algorithm nuances.
+     * Trace level which determines which events are reported
+     * to this environment.
      *
-     * @param step description of algorithm step
-     * @throws IllegalArgumentException if value passed is null
+     * @return trace level
+     */
+    TraceLevel getTraceLevel();
+
+    /**
+     * Reports start of graph traversal. Reported on
+     * {@link TraceLevel#SUMMARY} trace level.
+     *
+     * @param description description of algorithm and its configuration
+     */
+    void traversalStarted(String description);
+
+    /**
+     * Reports degeneracy ordering computed for graph vertices. Reported
+     * on {@link TraceLevel#STEPS} trace level.
+     *
+     * @param degeneracyOrdering vertices in degeneracy order
+     */
+    void degeneracyOrderingComputed(Collection<V> degeneracyOrdering);
+
+    /**
+     * Reports recursive call of algorithm. Reported on
+     * {@link TraceLevel#STEPS} trace level.
+     *
+     * @param depth            depth of recursion
+     * @param potentialClique  vertices of potential clique
+     * @param vertexCandidates candidate vertices
+     * @param vertexFound      already found vertices
+     */
+    void callEntered(int depth,
+                     Collection<V> potentialClique,
+                     Collection<V> vertexCandidates,
+                     Collection<V> vertexFound);
+
+    /**
+     * Reports maximal clique found. Reported on {@link TraceLevel#STEPS}
+     * trace level.
+     *
+     * @param depth  depth of recursion
+     * @param clique maximal clique found
+     */
+    void cliqueFound(int depth, Collection<V> clique);
+
+    /**
+     * Reports branch of recursion abandoned because no maximal clique
+     * can be formed in it. Reported on {@link TraceLevel#STEPS} trace level.
+     *
+     * @param depth           depth of recursion
+     * @param potentialClique vertices of potential clique
+     */
+    void branchPruned(int depth, Collection<V> potentialClique);
+
+    /**
+     * Reports end of graph traversal, after results were passed to
+     * this environment. Reported on {@link TraceLevel#SUMMARY} trace level.
+     *
+     * @param complete true if traversal visited whole graph, false if
+     *                 it was stopped before
      */
-    void outputStep(String step);
+    void traversalFinished(boolean complete);
 
     /**
      * Maximal cliques found during graph traversal.
@@ -52,4 +113,21 @@ public interface OutputEnvironment<V> {
      * @throws IllegalArgumentException if value passed is null
      */
     void setMaximumCliques(Collection<Set<V>> maximumCliques);
+
+    /**
+     * Search statistics collected during graph traversal.
+     *
+     * @return search statistics, or null if they were not collected
+     */
+    SearchStatistics getSearchStatistics();
+
+    /**
+     * Sets search statistics collected during graph traversal. Set
+     * before end of traversal is reported, so that statistics can be
+     * reported next to results.
+     *
+     * @param searchStatistics search statistics, or null if they
+     *                         were not collected
+     */
+    void setSearchStatistics(SearchStatistics searchStatistics);
 }
@@ -0,0 +1,35 @@
+package hr.fer.projekt.clique.output;
+
+/**
+ * Amount of algorithm steps reported to output environment during
+ * graph traversal. Algorithms check trace level before forming any
+ * step event, so traversal with tracing turned off pays nothing for it.
+ */
+public enum TraceLevel {
+
+    /**
+     * No algorithm steps are reported.
+     */
+    OFF,
+
+    /**
+     * Only start and end of traversal are reported.
+     */
+    SUMMARY,
+
+    /**
+     * Every recursive call, found clique and pruned branch is reported,
+     * in addition to start and end of traversal.
+     */
+    STEPS;
+
+    /**
+     * Checks whether this trace level includes given trace level.
+     *
+     * @param level trace level checked
+     * @return true if steps of given level are reported, false otherwise
+     */
+    public boolean includes(TraceLevel level) {
+        return compareTo(level) >= 0;
+    }
+}
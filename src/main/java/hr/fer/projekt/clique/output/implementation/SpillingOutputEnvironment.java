@@ -0,0 +1,728 @@
+package hr.fer.projekt.clique.output.implementation;
+
+import hr.fer.projekt.clique.monitoring.SearchStatistics;
+import hr.fer.projekt.clique.output.CliqueConsumer;
+import hr.fer.projekt.clique.output.OutputEnvironment;
+import hr.fer.projekt.clique.output.TraceLevel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Implementation of {@link OutputEnvironment} which writes maximal
+ * cliques to files instead of holding them in memory, so that number of
+ * cliques is limited by disk space rather than by heap. Environment is
+ * also a {@link CliqueConsumer}, and is meant to be passed to streaming
+ * traversal, which hands every clique to it the moment it is found:
+ * <pre>
+ *     cliqueFinder.performTraversal(spillingOutputEnvironment);
+ * </pre>
+ * Cliques are appended through off-heap buffers to a data file, as clique
+ * size followed by sorted vertex ids, while an index file holds offset of
+ * every clique. Vertex ids are indices in list of vertices environment is
+ * formed with. Once cliques are read, files are mapped into memory, so
+ * maximal cliques can be accessed at random or iterated as {@link Set}
+ * views over mapped files. Clique number and number of maximum cliques
+ * are tracked while cliques are appended, and maximum cliques are read
+ * by filtering stored cliques, so no pass over results is needed after
+ * traversal and heap used does not depend on number of cliques.
+ * <p>
+ * Once stored cliques are replaced by {@link #setMaximalCliques(Collection)},
+ * files of previous cliques are removed and a new pair of files is created
+ * in their place, so memory mapped by views of previous cliques is never
+ * truncated. Collections and cliques returned earlier do not survive
+ * replacement - any use of them afterwards throws
+ * {@link IllegalStateException}.
+ * <p>
+ * Environment reports no algorithm steps. Files are kept once environment
+ * is closed.
+ *
+ * @param <V> variable type of vertices in graph
+ */
+public class SpillingOutputEnvironment<V> implements OutputEnvironment<V>, CliqueConsumer<V>, Closeable {
+
+    /**
+     * Name of file with stored cliques.
+     */
+    public static final String DATA_FILE_NAME = "cliques.bin";
+
+    /**
+     * Name of file with offsets of stored cliques.
+     */
+    public static final String INDEX_FILE_NAME = "cliques.idx";
+
+    /**
+     * Default size of file region mapped into memory at once. Cliques are
+     * never split between two regions.
+     */
+    private static final int REGION_SIZE = 1 << 28;
+
+    /**
+     * Size of buffer through which cliques are written.
+     */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /**
+     * Size of file region mapped into memory at once.
+     */
+    private final int regionSize;
+
+    /**
+     * Graph vertices, indexed by their ids.
+     */
+    private final List<V> vertices;
+
+    /**
+     * Ids of graph vertices.
+     */
+    private final Map<V, Integer> vertexIds = new HashMap<>();
+
+    /**
+     * File with stored cliques.
+     */
+    private final Path dataFile;
+
+    /**
+     * File with offsets of stored cliques.
+     */
+    private final Path indexFile;
+
+    /**
+     * Channel of file with stored cliques.
+     */
+    private FileChannel dataChannel;
+
+    /**
+     * Channel of file with offsets of stored cliques.
+     */
+    private FileChannel indexChannel;
+
+    /**
+     * Number of times stored cliques were replaced, used for recognizing
+     * views of previous cliques.
+     */
+    private volatile long generation;
+
+    /**
+     * Buffer of clique data not yet written to file.
+     */
+    private final ByteBuffer dataBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    /**
+     * Buffer of clique offsets not yet written to file.
+     */
+    private final ByteBuffer indexBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    /**
+     * Vertex ids of clique being appended.
+     */
+    private final int[] cliqueIds;
+
+    /**
+     * Size of clique data, including data still in buffer.
+     */
+    private long dataSize;
+
+    /**
+     * Number of stored cliques.
+     */
+    private long cliqueCount;
+
+    /**
+     * Size of the largest stored clique.
+     */
+    private int cliqueNumber;
+
+    /**
+     * Number of stored cliques of the largest size.
+     */
+    private long maximumCliqueCount;
+
+    /**
+     * Mapped regions of data file.
+     */
+    private MappedByteBuffer[] dataRegions;
+
+    /**
+     * Mapped regions of index file.
+     */
+    private MappedByteBuffer[] indexRegions;
+
+    /**
+     * Number of cliques stored when files were last mapped.
+     */
+    private long mappedCliqueCount = -1;
+
+    /**
+     * Search statistics collected during graph traversal.
+     */
+    private SearchStatistics searchStatistics;
+
+    /**
+     * Constructor which creates files in given directory, replacing
+     * files of previous results.
+     *
+     * @param vertices  graph vertices, indexed by ids under which they are
+     *                  stored
+     * @param directory directory in which files are created
+     * @throws IllegalArgumentException if any argument given is null
+     * @throws UncheckedIOException     if files can not be created
+     */
+    public SpillingOutputEnvironment(List<V> vertices, Path directory) {
+        this(vertices, directory, REGION_SIZE);
+    }
+
+    /**
+     * Constructor which maps files in regions of given size, so that
+     * cliques padded to region boundaries can be tested on small files.
+     *
+     * @param vertices   graph vertices, indexed by ids under which they are
+     *                   stored
+     * @param directory  directory in which files are created
+     * @param regionSize size of mapped file region, positive multiple of 8
+     * @throws IllegalArgumentException if vertices or directory given is
+     *                                  null, or region size is not valid
+     * @throws UncheckedIOException     if files can not be created
+     */
+    SpillingOutputEnvironment(List<V> vertices, Path directory, int regionSize) {
+        if (vertices == null) {
+            throw new IllegalArgumentException("Vertices passed can not be null.");
+        } else if (directory == null) {
+            throw new IllegalArgumentException("Directory passed can not be null.");
+        } else if (regionSize <= 0 || regionSize % 8 != 0) {
+            throw new IllegalArgumentException("Region size needs to be a positive multiple of 8.");
+        } else if (4L * (vertices.size() + 1) > regionSize) {
+            throw new IllegalArgumentException("Graph has too many vertices for clique files.");
+        }
+        this.regionSize = regionSize;
+        this.vertices = vertices;
+        for (int i = 0; i < vertices.size(); i++) {
+            vertexIds.put(vertices.get(i), i);
+        }
+        cliqueIds = new int[vertices.size()];
+        dataFile = directory.resolve(DATA_FILE_NAME);
+        indexFile = directory.resolve(INDEX_FILE_NAME);
+
+        try {
+            Files.createDirectories(directory);
+            openFiles();
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Could not create clique files.", exception);
+        }
+    }
+
+    /**
+     * Opens channels of both files, creating files which do not exist
+     * and truncating ones which do.
+     *
+     * @throws IOException if any file can not be opened
+     */
+    private void openFiles() throws IOException {
+        dataChannel = open(dataFile);
+        try {
+            indexChannel = open(indexFile);
+        } catch (IOException exception) {
+            try {
+                dataChannel.close();
+            } catch (IOException ignorable) {
+            }
+            throw exception;
+        }
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Appends given maximal clique to stored cliques.
+     *
+     * @param clique maximal clique found
+     * @return true, so that traversal continues
+     * @throws IllegalArgumentException if clique holds vertex unknown
+     *                                  to this environment
+     * @throws UncheckedIOException     if clique can not be written
+     */
+    @Override
+    public synchronized boolean accept(Collection<V> clique) {
+        int size = 0;
+        for (V vertex : clique) {
+            Integer id = vertexIds.get(vertex);
+            if (id == null) {
+                throw new IllegalArgumentException("Vertex is not known to output environment: " + vertex);
+            }
+            cliqueIds[size++] = id;
+        }
+        Arrays.sort(cliqueIds, 0, size);
+
+        try {
+            // Region boundary is padded, so that clique lies within one region.
+            int recordSize = 4 * (size + 1);
+            long regionRemainder = regionSize - dataSize % regionSize;
+            if (recordSize > regionRemainder) {
+                for (long i = 0; i < regionRemainder; i += 4) {
+                    putInt(0);
+                }
+            }
+
+            if (!indexBuffer.hasRemaining()) {
+                flush(indexBuffer, indexChannel);
+            }
+            indexBuffer.putLong(dataSize);
+            putInt(size);
+            for (int i = 0; i < size; i++) {
+                putInt(cliqueIds[i]);
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Could not write clique.", exception);
+        }
+        cliqueCount++;
+
+        if (size > cliqueNumber) {
+            cliqueNumber = size;
+            maximumCliqueCount = 0;
+        }
+        if (size == cliqueNumber) {
+            maximumCliqueCount++;
+        }
+        return true;
+    }
+
+    private void putInt(int value) throws IOException {
+        if (!dataBuffer.hasRemaining()) {
+            flush(dataBuffer, dataChannel);
+        }
+        dataBuffer.putInt(value);
+        dataSize += 4;
+    }
+
+    private static void flush(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Returns number of stored maximal cliques.
+     *
+     * @return number of cliques
+     */
+    public synchronized long getCliqueCount() {
+        return cliqueCount;
+    }
+
+    /**
+     * Returns size of the largest stored clique.
+     *
+     * @return clique number of graph once traversal is completed
+     */
+    public synchronized int getCliqueNumber() {
+        return cliqueNumber;
+    }
+
+    /**
+     * Returns number of stored cliques of the largest size.
+     *
+     * @return number of maximum cliques
+     */
+    public synchronized long getMaximumCliqueCount() {
+        return maximumCliqueCount;
+    }
+
+    /**
+     * Returns stored clique with given index, in order in which cliques
+     * were appended.
+     *
+     * @param index clique index
+     * @return unmodifiable set view of clique vertices
+     * @throws IndexOutOfBoundsException if index is not valid
+     * @throws UncheckedIOException      if files can not be mapped
+     */
+    public synchronized Set<V> getClique(long index) {
+        return getClique(index, generation);
+    }
+
+    /**
+     * Returns stored clique with given index for a view formed while
+     * stored cliques were of given generation.
+     *
+     * @param index      clique index
+     * @param generation generation of stored cliques of the view
+     * @return unmodifiable set view of clique vertices
+     * @throws IllegalStateException if stored cliques were replaced since
+     */
+    private synchronized Set<V> getClique(long index, long generation) {
+        checkGeneration(generation);
+        if (index < 0 || index >= cliqueCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + cliqueCount);
+        }
+        map();
+        long offset = indexRegions[(int) (index * 8 / regionSize)].getLong((int) (index * 8 % regionSize));
+        return new SpilledClique(dataRegions[(int) (offset / regionSize)], (int) (offset % regionSize), generation);
+    }
+
+    private void checkGeneration(long generation) {
+        if (generation != this.generation) {
+            throw new IllegalStateException("Stored cliques were replaced since the view was formed.");
+        }
+    }
+
+    /**
+     * Writes buffered data and maps files into memory, unless they were
+     * mapped since the last clique was appended.
+     */
+    private void map() {
+        if (mappedCliqueCount == cliqueCount) {
+            return;
+        }
+        try {
+            flush(dataBuffer, dataChannel);
+            flush(indexBuffer, indexChannel);
+            dataRegions = map(dataChannel, dataSize);
+            indexRegions = map(indexChannel, cliqueCount * 8);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Could not map clique files.", exception);
+        }
+        mappedCliqueCount = cliqueCount;
+    }
+
+    private MappedByteBuffer[] map(FileChannel channel, long size) throws IOException {
+        MappedByteBuffer[] regions = new MappedByteBuffer[(int) ((size + regionSize - 1) / regionSize)];
+        for (int i = 0; i < regions.length; i++) {
+            long start = (long) i * regionSize;
+            regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(regionSize, size - start));
+        }
+        return regions;
+    }
+
+    /**
+     * Writes buffered data and closes files. Files are kept, while
+     * cliques can not be read through this environment any more.
+     *
+     * @throws IOException if data can not be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush(dataBuffer, dataChannel);
+            flush(indexBuffer, indexChannel);
+        } finally {
+            dataRegions = null;
+            indexRegions = null;
+            try {
+                dataChannel.close();
+            } finally {
+                indexChannel.close();
+            }
+        }
+    }
+
+    /**
+     * Removes all stored cliques, invalidating views of them. Files are
+     * removed and created anew rather than truncated, so regions still
+     * mapped by previous views keep their contents.
+     *
+     * @throws UncheckedIOException if files can not be replaced
+     */
+    private void clear() {
+        generation++;
+        dataRegions = null;
+        indexRegions = null;
+        try {
+            try {
+                dataChannel.close();
+            } finally {
+                indexChannel.close();
+            }
+            Files.delete(dataFile);
+            Files.delete(indexFile);
+            openFiles();
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Could not replace clique files.", exception);
+        }
+        dataBuffer.clear();
+        indexBuffer.clear();
+        mappedCliqueCount = -1;
+        dataSize = 0;
+        cliqueCount = 0;
+        cliqueNumber = 0;
+        maximumCliqueCount = 0;
+    }
+
+    @Override
+    public TraceLevel getTraceLevel() {
+        return TraceLevel.OFF;
+    }
+
+    @Override
+    public void traversalStarted(String description) {
+    }
+
+    @Override
+    public void degeneracyOrderingComputed(Collection<V> degeneracyOrdering) {
+    }
+
+    @Override
+    public void callEntered(int depth,
+                            Collection<V> potentialClique,
+                            Collection<V> vertexCandidates,
+                            Collection<V> vertexFound) {
+    }
+
+    @Override
+    public void cliqueFound(int depth, Collection<V> clique) {
+    }
+
+    @Override
+    public void branchPruned(int depth, Collection<V> potentialClique) {
+    }
+
+    @Override
+    public void traversalFinished(boolean complete) {
+    }
+
+    /**
+     * Returns list view of stored maximal cliques, read from mapped files.
+     * List holds at most {@link Integer#MAX_VALUE} cliques, while all of
+     * them can be read through {@link #getClique(long)}. View can not be
+     * used once stored cliques are replaced.
+     *
+     * @return unmodifiable list of maximal cliques
+     */
+    @Override
+    public synchronized Collection<Set<V>> getMaximalCliques() {
+        long viewGeneration = generation;
+        return new AbstractList<Set<V>>() {
+
+            @Override
+            public Set<V> get(int index) {
+                return getClique(index, viewGeneration);
+            }
+
+            @Override
+            public int size() {
+                synchronized (SpillingOutputEnvironment.this) {
+                    checkGeneration(viewGeneration);
+                    return (int) Math.min(Integer.MAX_VALUE, cliqueCount);
+                }
+            }
+        };
+    }
+
+    /**
+     * Replaces stored cliques with given ones. Cliques found by
+     * traversal which stores them on its own are passed here, so they
+     * end up in files as well.
+     *
+     * @param maximalCliques maximal cliques found
+     * @throws IllegalArgumentException if value passed is null
+     */
+    @Override
+    public synchronized void setMaximalCliques(Collection<Set<V>> maximalCliques) {
+        if (maximalCliques == null) {
+            throw new IllegalArgumentException("Maximal cliques given can not be null.");
+        }
+        clear();
+        for (Set<V> clique : maximalCliques) {
+            accept(clique);
+        }
+    }
+
+    /**
+     * Returns view of stored cliques of the largest size, which filters
+     * stored cliques when iterated. View can not be used once stored
+     * cliques are replaced.
+     *
+     * @return unmodifiable collection of maximum cliques
+     */
+    @Override
+    public synchronized Collection<Set<V>> getMaximumCliques() {
+        long viewGeneration = generation;
+        return new AbstractCollection<Set<V>>() {
+
+            @Override
+            public Iterator<Set<V>> iterator() {
+                return new Iterator<Set<V>>() {
+
+                    /**
+                     * Index of next clique checked.
+                     */
+                    private long index;
+
+                    /**
+                     * Next maximum clique, null if it was not found yet.
+                     */
+                    private Set<V> next;
+
+                    @Override
+                    public boolean hasNext() {
+                        synchronized (SpillingOutputEnvironment.this) {
+                            checkGeneration(viewGeneration);
+                            while (next == null && index < cliqueCount) {
+                                Set<V> clique = getClique(index++, viewGeneration);
+                                if (clique.size() == cliqueNumber) {
+                                    next = clique;
+                                }
+                            }
+                            return next != null;
+                        }
+                    }
+
+                    @Override
+                    public Set<V> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Set<V> clique = next;
+                        next = null;
+                        return clique;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                synchronized (SpillingOutputEnvironment.this) {
+                    checkGeneration(viewGeneration);
+                    return (int) Math.min(Integer.MAX_VALUE, maximumCliqueCount);
+                }
+            }
+        };
+    }
+
+    /**
+     * Accepts maximum cliques found by traversal without storing them,
+     * since maximum cliques are tracked while maximal cliques are stored.
+     *
+     * @param maximumCliques maximum cliques found
+     * @throws IllegalArgumentException if value passed is null
+     */
+    @Override
+    public void setMaximumCliques(Collection<Set<V>> maximumCliques) {
+        if (maximumCliques == null) {
+            throw new IllegalArgumentException("Maximum cliques given can not be null.");
+        }
+    }
+
+    @Override
+    public SearchStatistics getSearchStatistics() {
+        return searchStatistics;
+    }
+
+    @Override
+    public void setSearchStatistics(SearchStatistics searchStatistics) {
+        this.searchStatistics = searchStatistics;
+    }
+
+    /**
+     * Read-only set view of a clique stored in mapped region of data file.
+     */
+    private final class SpilledClique extends AbstractSet<V> {
+
+        /**
+         * Mapped region holding clique.
+         */
+        private final ByteBuffer region;
+
+        /**
+         * Position of clique size in region, followed by vertex ids.
+         */
+        private final int position;
+
+        /**
+         * Number of clique vertices.
+         */
+        private final int size;
+
+        /**
+         * Generation of stored cliques clique belongs to.
+         */
+        private final long generation;
+
+        SpilledClique(ByteBuffer region, int position, long generation) {
+            this.region = region;
+            this.position = position;
+            this.size = region.getInt(position);
+            this.generation = generation;
+        }
+
+        private void checkGeneration() {
+            if (generation != SpillingOutputEnvironment.this.generation) {
+                throw new IllegalStateException("Stored cliques were replaced since the clique was read.");
+            }
+        }
+
+        private int id(int index) {
+            checkGeneration();
+            return region.getInt(position + 4 * (index + 1));
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            checkGeneration();
+            return new Iterator<V>() {
+
+                /**
+                 * Index of next clique vertex.
+                 */
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < size;
+                }
+
+                @Override
+                public V next() {
+                    if (next >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    return vertices.get(id(next++));
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object object) {
+            checkGeneration();
+            Integer id = vertexIds.get(object);
+            if (id == null) {
+                return false;
+            }
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int middleId = id(middle);
+                if (middleId < id) {
+                    low = middle + 1;
+                } else if (middleId > id) {
+                    high = middle - 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public int size() {
+            checkGeneration();
+            return size;
+        }
+    }
+}
@@ -2,11 +2,6 @@ package hr.fer.projekt.clique.output.implementation;
 
 import hr.fer.projekt.clique.output.OutputEnvironment;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.Set;
-
 /**
  * Implementation of {@link OutputEnvironment} that outputs
  * algorithm steps to standard output and stores traversal
@@ -14,23 +9,13 @@ import java.util.Set;
  *
  * @param <V> variable type of vertices in graph
  */
-public class StandardOutputEnvironment<V> implements OutputEnvironment<V> {
+public class StandardOutputEnvironment<V> extends TextOutputEnvironment<V> {
 
     /**
      * Singleton StandardOutputEnvironment object.
      */
     private static StandardOutputEnvironment instance;
 
-    /**
-     * Maximal cliques found during graph traversal.
-     */
-    private Collection<Set<V>> maximalCliques = Collections.emptyList();
-
-    /**
-     * Maximum cliques found during graph traversal.
-     */
-    private Collection<Set<V>> maximumCliques = Collections.emptyList();
-
     /**
      * Private constructor ensures that only one instance of
      * StandardOutputEnvironment object exists and is utilized.
@@ -51,27 +36,7 @@ public class StandardOutputEnvironment<V> implements OutputEnvironment<V> {
     }
 
     @Override
-    public void outputStep(String step) {
-        System.out.print(step);
-    }
-
-    @Override
-    public Collection<Set<V>> getMaximalCliques() {
-        return Collections.unmodifiableCollection(maximalCliques);
-    }
-
-    @Override
-    public void setMaximalCliques(Collection<Set<V>> maximalCliques) {
-        this.maximalCliques = new ArrayList<>(maximalCliques);
-    }
-
-    @Override
-    public Collection<Set<V>> getMaximumCliques() {
-        return Collections.unmodifiableCollection(maximumCliques);
-    }
-
-    @Override
-    public void setMaximumCliques(Collection<Set<V>> maximumCliques) {
-        this.maximumCliques = new ArrayList<>(maximumCliques);
+    protected void output(String text) {
+        System.out.print(text);
     }
 }
@@ -0,0 +1,186 @@
+package hr.fer.projekt.clique.output.implementation;
+
+import hr.fer.projekt.clique.monitoring.SearchStatistics;
+import hr.fer.projekt.clique.output.OutputEnvironment;
+import hr.fer.projekt.clique.output.TraceLevel;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Partial implementation of {@link OutputEnvironment} that formats
+ * algorithm steps as human readable text and stores traversal results
+ * in memory. Text is formed only for events which are reported, so
+ * nothing is formatted for trace levels below {@link TraceLevel#STEPS}
+ * other than traversal start and end. Implementations define where
+ * text is written to.
+ *
+ * @param <V> variable type of vertices in graph
+ */
+public abstract class TextOutputEnvironment<V> implements OutputEnvironment<V> {
+
+    /**
+     * Maximal cliques found during graph traversal.
+     */
+    private Collection<Set<V>> maximalCliques = Collections.emptyList();
+
+    /**
+     * Maximum cliques found during graph traversal.
+     */
+    private Collection<Set<V>> maximumCliques = Collections.emptyList();
+
+    /**
+     * Search statistics collected during graph traversal.
+     */
+    private SearchStatistics searchStatistics;
+
+    /**
+     * Trace level of this environment.
+     */
+    private TraceLevel traceLevel = TraceLevel.STEPS;
+
+    /**
+     * Signals whether results were set since the start of
+     * current traversal.
+     */
+    private boolean resultsSet;
+
+    /**
+     * Signals whether maximal cliques were set since the start of
+     * current traversal. Algorithms which do not enumerate maximal
+     * cliques set maximum cliques only.
+     */
+    private boolean maximalCliquesSet;
+
+    /**
+     * Writes formatted text.
+     *
+     * @param text text to be written
+     */
+    protected abstract void output(String text);
+
+    @Override
+    public TraceLevel getTraceLevel() {
+        return traceLevel;
+    }
+
+    /**
+     * Sets trace level of this environment. All algorithm
+     * steps are reported by default.
+     *
+     * @param traceLevel trace level
+     * @throws IllegalArgumentException if value passed is null
+     */
+    public void setTraceLevel(TraceLevel traceLevel) {
+        if (traceLevel == null) {
+            throw new IllegalArgumentException("Trace level given can not be null.");
+        }
+        this.traceLevel = traceLevel;
+    }
+
+    @Override
+    public void traversalStarted(String description) {
+        resultsSet = false;
+        maximalCliquesSet = false;
+        searchStatistics = null;
+        output(description + "\n");
+    }
+
+    @Override
+    public void degeneracyOrderingComputed(Collection<V> degeneracyOrdering) {
+        output("Computed degeneracy ordering: " + degeneracyOrdering + "\n");
+    }
+
+    @Override
+    public void callEntered(int depth,
+                            Collection<V> potentialClique,
+                            Collection<V> vertexCandidates,
+                            Collection<V> vertexFound) {
+        outputForDepth("Maximal cliques: " + potentialClique
+                + "\tCandidate vertices: " + vertexCandidates
+                + "\tDisqualified vertices: " + vertexFound, depth);
+    }
+
+    @Override
+    public void cliqueFound(int depth, Collection<V> clique) {
+        outputForDepth("End of depth search, output: " + clique, depth);
+    }
+
+    @Override
+    public void branchPruned(int depth, Collection<V> potentialClique) {
+        outputForDepth("End of depth search, branch pruned: " + potentialClique, depth);
+    }
+
+    @Override
+    public void traversalFinished(boolean complete) {
+        if (resultsSet) {
+            if (traceLevel.includes(TraceLevel.STEPS)) {
+                if (maximalCliquesSet) {
+                    output("Maximal cliques: " + maximalCliques + "\n");
+                }
+                output("Maximum cliques: " + maximumCliques + "\n");
+            } else {
+                if (maximalCliquesSet) {
+                    output("Maximal cliques found: " + maximalCliques.size() + "\n");
+                }
+                int cliqueNumber = maximumCliques.isEmpty() ? 0 : maximumCliques.iterator().next().size();
+                output("Clique number: " + cliqueNumber + "\n");
+            }
+        }
+        if (searchStatistics != null) {
+            output(searchStatistics + "\n");
+        }
+        output(complete ? "Traversal completed.\n" : "Traversal stopped before completion.\n");
+    }
+
+    @Override
+    public Collection<Set<V>> getMaximalCliques() {
+        return Collections.unmodifiableCollection(maximalCliques);
+    }
+
+    @Override
+    public void setMaximalCliques(Collection<Set<V>> maximalCliques) {
+        if (maximalCliques == null) {
+            throw new IllegalArgumentException("Maximal cliques given can not be null.");
+        }
+        // Kept without copying, since algorithms pass compact clique stores
+        // which they no longer modify, and copy would hold a view per clique.
+        this.maximalCliques = maximalCliques;
+        resultsSet = true;
+        maximalCliquesSet = true;
+    }
+
+    @Override
+    public Collection<Set<V>> getMaximumCliques() {
+        return Collections.unmodifiableCollection(maximumCliques);
+    }
+
+    @Override
+    public void setMaximumCliques(Collection<Set<V>> maximumCliques) {
+        if (maximumCliques == null) {
+            throw new IllegalArgumentException("Maximum cliques given can not be null.");
+        }
+        this.maximumCliques = new ArrayList<>(maximumCliques);
+        resultsSet = true;
+    }
+
+    @Override
+    public SearchStatistics getSearchStatistics() {
+        return searchStatistics;
+    }
+
+    @Override
+    public void setSearchStatistics(SearchStatistics searchStatistics) {
+        this.searchStatistics = searchStatistics;
+    }
+
+    private void outputForDepth(String step, int level) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < level; i++) {
+            sb.append('\t');
+        }
+        output(sb.append(step).append('\n').toString());
+    }
+}
@@ -0,0 +1,233 @@
+package hr.fer.projekt.clique.utility;
+
+/**
+ * Utility class with word-wide operations over bit sets represented
+ * as arrays of longs. Vertex with dense id {@code i} is contained in
+ * bit set if bit {@code i % 64} of word {@code i / 64} is set. Methods
+ * do not allocate and expect all passed arrays to be of the same length.
+ */
+public class BitSetUtility {
+
+    /**
+     * Number of bits in single word of bit set.
+     */
+    public static final int WORD_SIZE = Long.SIZE;
+
+    /**
+     * Calculates number of words needed for bit set which can hold
+     * given number of bits.
+     *
+     * @param bits number of bits
+     * @return number of words needed
+     */
+    public static int words(int bits) {
+        return (bits + WORD_SIZE - 1) / WORD_SIZE;
+    }
+
+    /**
+     * Sets bit with given index.
+     *
+     * @param bitSet bit set
+     * @param index  bit index
+     */
+    public static void set(long[] bitSet, int index) {
+        bitSet[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * Clears bit with given index.
+     *
+     * @param bitSet bit set
+     * @param index  bit index
+     */
+    public static void clear(long[] bitSet, int index) {
+        bitSet[index >>> 6] &= ~(1L << index);
+    }
+
+    /**
+     * Checks whether bit with given index is set.
+     *
+     * @param bitSet bit set
+     * @param index  bit index
+     * @return true if bit is set, false otherwise
+     */
+    public static boolean get(long[] bitSet, int index) {
+        return (bitSet[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets first {@code bits} bits of given bit set and clears the rest.
+     *
+     * @param bitSet bit set
+     * @param bits   number of bits to set
+     */
+    public static void fill(long[] bitSet, int bits) {
+        int fullWords = bits / WORD_SIZE;
+        for (int i = 0; i < bitSet.length; i++) {
+            if (i < fullWords) {
+                bitSet[i] = -1L;
+            } else if (i == fullWords && bits % WORD_SIZE != 0) {
+                bitSet[i] = (1L << bits) - 1;
+            } else {
+                bitSet[i] = 0L;
+            }
+        }
+    }
+
+    /**
+     * Clears all bits of given bit set.
+     *
+     * @param bitSet bit set
+     */
+    public static void clearAll(long[] bitSet) {
+        for (int i = 0; i < bitSet.length; i++) {
+            bitSet[i] = 0L;
+        }
+    }
+
+    /**
+     * Checks whether given bit set has no bits set.
+     *
+     * @param bitSet bit set
+     * @return true if bit set is empty, false otherwise
+     */
+    public static boolean isEmpty(long[] bitSet) {
+        for (long word : bitSet) {
+            if (word != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counts bits set in given bit set.
+     *
+     * @param bitSet bit set
+     * @return number of bits set
+     */
+    public static int cardinality(long[] bitSet) {
+        int cardinality = 0;
+        for (long word : bitSet) {
+            cardinality += Long.bitCount(word);
+        }
+        return cardinality;
+    }
+
+    /**
+     * Counts bits set in both given bit sets, without forming
+     * their intersection.
+     *
+     * @param first  first bit set
+     * @param second second bit set
+     * @return cardinality of intersection
+     */
+    public static int intersectionCardinality(long[] first, long[] second) {
+        int cardinality = 0;
+        for (int i = 0; i < first.length; i++) {
+            cardinality += Long.bitCount(first[i] & second[i]);
+        }
+        return cardinality;
+    }
+
+    /**
+     * Stores intersection of two bit sets into target bit set.
+     *
+     * @param target target bit set
+     * @param first  first bit set
+     * @param second second bit set
+     * @return true if resulting intersection is not empty, false otherwise
+     */
+    public static boolean intersection(long[] target, long[] first, long[] second) {
+        long any = 0L;
+        for (int i = 0; i < target.length; i++) {
+            long word = first[i] & second[i];
+            target[i] = word;
+            any |= word;
+        }
+        return any != 0L;
+    }
+
+    /**
+     * Stores all bits of first bit set which are not set in second
+     * bit set into target bit set.
+     *
+     * @param target target bit set
+     * @param first  first bit set
+     * @param second second bit set
+     * @return true if resulting bit set is not empty, false otherwise
+     */
+    public static boolean removeAll(long[] target, long[] first, long[] second) {
+        long any = 0L;
+        for (int i = 0; i < target.length; i++) {
+            long word = first[i] & ~second[i];
+            target[i] = word;
+            any |= word;
+        }
+        return any != 0L;
+    }
+
+    /**
+     * Checks whether all bits set in subset are also set in superset.
+     *
+     * @param superset bit set which should contain all bits
+     * @param subset   bit set whose bits are checked
+     * @return true if subset is contained in superset, false otherwise
+     */
+    public static boolean containsAll(long[] superset, long[] subset) {
+        for (int i = 0; i < subset.length; i++) {
+            if ((subset[i] & ~superset[i]) != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns index of first bit set at or after given index, or -1
+     * if no such bit exists.
+     *
+     * @param bitSet bit set
+     * @param from   index from which search starts
+     * @return index of next bit set or -1
+     */
+    public static int nextSetBit(long[] bitSet, int from) {
+        int wordIndex = from >>> 6;
+        if (wordIndex >= bitSet.length) {
+            return -1;
+        }
+        long word = bitSet[wordIndex] & (-1L << from);
+        while (true) {
+            if (word != 0L) {
+                return wordIndex * WORD_SIZE + Long.numberOfTrailingZeros(word);
+            }
+            if (++wordIndex == bitSet.length) {
+                return -1;
+            }
+            word = bitSet[wordIndex];
+        }
+    }
+
+    /**
+     * Returns index of bit set with given rank - the number of bits
+     * set before it, or -1 if bit set has fewer bits set.
+     *
+     * @param bitSet bit set
+     * @param rank   rank of bit searched for
+     * @return index of bit with given rank or -1
+     */
+    public static int select(long[] bitSet, int rank) {
+        for (int i = 0; i < bitSet.length; i++) {
+            long word = bitSet[i];
+            int count = Long.bitCount(word);
+            if (rank < count) {
+                for (int j = 0; j < rank; j++) {
+                    word &= word - 1;
+                }
+                return i * WORD_SIZE + Long.numberOfTrailingZeros(word);
+            }
+            rank -= count;
+        }
+        return -1;
+    }
+}
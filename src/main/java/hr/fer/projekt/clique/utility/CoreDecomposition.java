@@ -0,0 +1,138 @@
+package hr.fer.projekt.clique.utility;
+
+import java.util.*;
+
+/**
+ * Result of graph core decomposition - degeneracy ordering of graph
+ * vertices, core number of every vertex and graph degeneracy. Vertices
+ * are identified by dense integer ids, which are indices in list of
+ * vertices decomposition was calculated for.
+ *
+ * @param <V> vertex type parameter
+ */
+public class CoreDecomposition<V> {
+
+    /**
+     * Graph vertices, indexed by their dense ids.
+     */
+    private final List<V> vertices;
+
+    /**
+     * Vertex ids in degeneracy order.
+     */
+    private final int[] ordering;
+
+    /**
+     * Core number of every vertex id.
+     */
+    private final int[] coreNumbers;
+
+    /**
+     * Graph degeneracy - largest core number.
+     */
+    private final int degeneracy;
+
+    /**
+     * Constructor which receives calculated decomposition.
+     *
+     * @param vertices    graph vertices, indexed by their dense ids
+     * @param ordering    vertex ids in degeneracy order
+     * @param coreNumbers core number of every vertex id
+     * @param degeneracy  graph degeneracy
+     */
+    public CoreDecomposition(List<V> vertices, int[] ordering, int[] coreNumbers, int degeneracy) {
+        this.vertices = vertices;
+        this.ordering = ordering;
+        this.coreNumbers = coreNumbers;
+        this.degeneracy = degeneracy;
+    }
+
+    /**
+     * Degeneracy ordering of graph vertices - every vertex has at most
+     * {@link #getDegeneracy()} neighbours which come later in ordering.
+     *
+     * @return vertices in degeneracy order
+     */
+    public List<V> getOrdering() {
+        return new AbstractList<V>() {
+
+            @Override
+            public V get(int index) {
+                return vertices.get(ordering[index]);
+            }
+
+            @Override
+            public int size() {
+                return ordering.length;
+            }
+        };
+    }
+
+    /**
+     * Vertices of {@code k}-core of graph - its largest subgraph in which
+     * every vertex has at least {@code k} neighbours. Core numbers never
+     * decrease along degeneracy ordering, so core is a suffix of the
+     * ordering, and vertices are returned in that order, which is also
+     * a degeneracy ordering of the core itself.
+     *
+     * @param k minimum number of neighbours of core vertices
+     * @return core vertices in degeneracy order, empty list if graph
+     * has no {@code k}-core
+     */
+    public List<V> getCore(int k) {
+        int start = 0;
+        int end = ordering.length;
+        while (start < end) {
+            int middle = (start + end) >>> 1;
+            if (coreNumbers[ordering[middle]] < k) {
+                start = middle + 1;
+            } else {
+                end = middle;
+            }
+        }
+        return getOrdering().subList(start, ordering.length);
+    }
+
+    /**
+     * Degeneracy ordering of graph vertices as dense vertex ids.
+     *
+     * @return vertex ids in degeneracy order
+     */
+    public int[] getOrderingIds() {
+        return ordering.clone();
+    }
+
+    /**
+     * Graph degeneracy - the largest {@code k} for which graph has
+     * non-empty {@code k}-core.
+     *
+     * @return graph degeneracy
+     */
+    public int getDegeneracy() {
+        return degeneracy;
+    }
+
+    /**
+     * Core number of vertex with given dense id - the largest {@code k}
+     * for which vertex belongs to {@code k}-core of graph.
+     *
+     * @param id vertex id
+     * @return core number of vertex
+     */
+    public int getCoreNumber(int id) {
+        return coreNumbers[id];
+    }
+
+    /**
+     * Core numbers of all graph vertices.
+     *
+     * @return map of vertices to their core numbers
+     */
+    public Map<V, Integer> getCoreNumbers() {
+        Map<V, Integer> map = new HashMap<>();
+        for (int i = 0; i < coreNumbers.length; i++) {
+            map.put(vertices.get(i), coreNumbers[i]);
+        }
+        return map;
+    }
+}
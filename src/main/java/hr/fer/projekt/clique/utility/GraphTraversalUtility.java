@@ -1,11 +1,9 @@
 package hr.fer.projekt.clique.utility;
 
+import hr.fer.projekt.clique.graph.CompactGraph;
 import org.jgrapht.Graph;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.List;
+import java.util.*;
 
 /**
  * Utility class with common methods utilized during
@@ -24,39 +22,194 @@ public class GraphTraversalUtility {
      * @throws IllegalArgumentException if graph given is null value
      */
     public static <V, E> Collection<V> getDegeneracyOrdering(Graph<V, E> graph) {
+        return getCoreDecomposition(graph).getOrdering();
+    }
+
+    /**
+     * Calculates vertices of {@code k}-core of given graph - its largest
+     * subgraph in which every vertex has at least {@code k} neighbours.
+     * Every clique of {@code k + 1} or more vertices lies within the core.
+     *
+     * @param graph graph whose core is required
+     * @param k     minimum number of neighbours of core vertices
+     * @param <V>   vertex type parameter
+     * @param <E>   edge type parameter
+     * @return core vertices in degeneracy order of the core
+     * @throws IllegalArgumentException if graph given is null value
+     */
+    public static <V, E> List<V> getCore(Graph<V, E> graph, int k) {
+        return getCoreDecomposition(graph).getCore(k);
+    }
+
+    /**
+     * Calculates core decomposition of given graph - degeneracy ordering,
+     * core number of every vertex and graph degeneracy. Runs in time
+     * linear in number of vertices and edges.
+     *
+     * @param graph graph whose core decomposition is required
+     * @param <V>   vertex type parameter
+     * @param <E>   edge type parameter
+     * @return core decomposition of graph
+     * @throws IllegalArgumentException if graph given is null value
+     */
+    public static <V, E> CoreDecomposition<V> getCoreDecomposition(Graph<V, E> graph) {
 
         if (graph == null) {
             throw new IllegalArgumentException("Graph given is null.");
         }
 
-        Collection<V> vertices = new HashSet<>(graph.vertexSet());
-        Collection<V> degeneracyOrdering = new ArrayList<>();
+        return getCoreDecomposition(CompactGraph.fromGraph(graph));
+    }
 
-        while (!vertices.isEmpty()) {
+    /**
+     * Calculates core decomposition of given compact graph. Dense vertex
+     * ids of decomposition are equal to vertex ids of graph.
+     *
+     * @param graph graph whose core decomposition is required
+     * @param <V>   vertex type parameter
+     * @return core decomposition of graph
+     * @throws IllegalArgumentException if graph given is null value
+     */
+    public static <V> CoreDecomposition<V> getCoreDecomposition(CompactGraph<V> graph) {
 
-            // Finding current degeneracy.
-            int d = Integer.MAX_VALUE;
-            for (V vertex : vertices) {
-                int currentEdges = graph.edgesOf(vertex).size();
-                if (currentEdges < d) {
-                    d = currentEdges;
-                }
-            }
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph given is null.");
+        }
 
-            V candidate = null;
-            for (V vertex : vertices) {
-                int currentEdges = graph.edgesOf(vertex).size();
-                if (currentEdges == d) {
-                    candidate = vertex;
-                    break;
+        return getCoreDecomposition(graph.getVertices(), graph.getOffsets(), graph.getTargets());
+    }
+
+    /**
+     * Calculates core decomposition of graph given through adjacency
+     * lists of dense vertex ids, using bucket queue of vertices ordered
+     * by their residual degree (Matula-Beck, Batagelj-Zaversnik). Vertex
+     * of the smallest residual degree is repeatedly removed from graph
+     * and degrees of its remaining neighbours decreased, which takes time
+     * linear in number of vertices and edges.
+     *
+     * @param vertices graph vertices, indexed by their dense ids
+     * @param offsets  start of adjacency list for every vertex id, with
+     *                 additional last element marking end of last list
+     * @param targets  concatenated adjacency lists
+     * @param <V>      vertex type parameter
+     * @return core decomposition of graph
+     * @throws IllegalArgumentException if any of passed values is null value
+     */
+    public static <V> CoreDecomposition<V> getCoreDecomposition(List<V> vertices, int[] offsets, int[] targets) {
+
+        if (vertices == null) {
+            throw new IllegalArgumentException("Vertices given are null.");
+        } else if (offsets == null || targets == null) {
+            throw new IllegalArgumentException("Adjacency lists given are null.");
+        }
+
+        int n = vertices.size();
+        int[] degrees = new int[n];
+        int maximumDegree = 0;
+        for (int i = 0; i < n; i++) {
+            degrees[i] = offsets[i + 1] - offsets[i];
+            maximumDegree = Math.max(maximumDegree, degrees[i]);
+        }
+
+        // Bucket sort of vertices by degree - bucketStarts[d] is position
+        // of the first vertex of degree d in sorted array of vertices.
+        int[] bucketStarts = new int[maximumDegree + 1];
+        for (int degree : degrees) {
+            bucketStarts[degree]++;
+        }
+        for (int degree = 0, start = 0; degree <= maximumDegree; degree++) {
+            int count = bucketStarts[degree];
+            bucketStarts[degree] = start;
+            start += count;
+        }
+        int[] sorted = new int[n];
+        int[] positions = new int[n];
+        for (int i = 0; i < n; i++) {
+            positions[i] = bucketStarts[degrees[i]]++;
+            sorted[positions[i]] = i;
+        }
+        for (int degree = maximumDegree; degree > 0; degree--) {
+            bucketStarts[degree] = bucketStarts[degree - 1];
+        }
+        bucketStarts[0] = 0;
+
+        int degeneracy = 0;
+        for (int i = 0; i < n; i++) {
+            int vertex = sorted[i];
+            degeneracy = Math.max(degeneracy, degrees[vertex]);
+
+            for (int j = offsets[vertex]; j < offsets[vertex + 1]; j++) {
+                int neighbour = targets[j];
+                if (degrees[neighbour] > degrees[vertex]) {
+
+                    // Moving neighbour to the start of its bucket and
+                    // shrinking the bucket, which places it at the end
+                    // of bucket of one smaller degree.
+                    int degree = degrees[neighbour];
+                    int position = positions[neighbour];
+                    int start = bucketStarts[degree];
+                    int first = sorted[start];
+                    if (first != neighbour) {
+                        sorted[position] = first;
+                        positions[first] = position;
+                        sorted[start] = neighbour;
+                        positions[neighbour] = start;
+                    }
+                    bucketStarts[degree]++;
+                    degrees[neighbour]--;
                 }
             }
+        }
 
-            vertices.remove(candidate);
-            degeneracyOrdering.add(candidate);
+        // Residual degree at the moment of removal is vertex's core number.
+        return new CoreDecomposition<>(vertices, sorted, degrees, degeneracy);
+    }
+
+    /**
+     * Splits given compact graph into connected components, found by
+     * breadth first search from every vertex not reached before. Runs
+     * in time linear in number of vertices and edges.
+     *
+     * @param graph graph whose components are required
+     * @param <V>   vertex type parameter
+     * @return vertex ids of every component in ascending order, with
+     * components ordered by their smallest vertex id
+     * @throws IllegalArgumentException if graph given is null value
+     */
+    public static <V> List<int[]> getConnectedComponents(CompactGraph<V> graph) {
+
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph given is null.");
         }
 
-        return degeneracyOrdering;
+        int n = graph.getVertexCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+
+        List<int[]> components = new ArrayList<>();
+        boolean[] reached = new boolean[n];
+        int[] queue = new int[n];
+        for (int root = 0; root < n; root++) {
+            if (reached[root]) {
+                continue;
+            }
+            reached[root] = true;
+            queue[0] = root;
+            int size = 1;
+            for (int head = 0; head < size; head++) {
+                int vertex = queue[head];
+                for (int i = offsets[vertex]; i < offsets[vertex + 1]; i++) {
+                    if (!reached[targets[i]]) {
+                        reached[targets[i]] = true;
+                        queue[size++] = targets[i];
+                    }
+                }
+            }
+            int[] component = Arrays.copyOf(queue, size);
+            Arrays.sort(component);
+            components.add(component);
+        }
+        return components;
     }
 
     /**
@@ -0,0 +1,328 @@
+package hr.fer.projekt.clique.algorithm;
+
+import hr.fer.projekt.clique.cache.CachingCliqueFinder;
+import hr.fer.projekt.clique.cache.CliqueCache;
+import hr.fer.projekt.clique.graph.CompactGraph;
+import hr.fer.projekt.clique.output.OutputEnvironment;
+import hr.fer.projekt.clique.output.TraceLevel;
+import hr.fer.projekt.clique.output.implementation.TextOutputEnvironment;
+import org.jgrapht.UndirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.SimpleGraph;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Cross-checks clique finders against {@link BronKerbosch} on small
+ * random graphs. Every engine is run with and without degeneracy
+ * ordering and pivot environment, and its stored, streamed and counted
+ * cliques are compared with maximal cliques found by standard engine.
+ */
+public class CliqueFinderTest {
+
+    /**
+     * Number of random graphs every engine is checked on.
+     */
+    private static final int GRAPH_COUNT = 60;
+
+    /**
+     * Seed of random graphs, so that failures can be reproduced.
+     */
+    private static final long SEED = 20160517L;
+
+    /**
+     * Forms clique finder of given graph, which stores its results in
+     * given output environment.
+     */
+    private interface FinderFactory {
+
+        CliqueFinder<Integer> create(
+                CompactGraph<Integer> graph,
+                boolean utilizeDegeneracyOrdering,
+                boolean utilizePivotEnvironment,
+                OutputEnvironment<Integer> outputEnvironment);
+    }
+
+    @Test
+    public void testStandardEngineModes() {
+        checkEngine((graph, degeneracy, pivot, environment) ->
+                new BronKerbosch<>(graph.toGraph(), degeneracy, pivot, environment));
+    }
+
+    @Test
+    public void testBitSetEngine() {
+        checkEngine(BitSetBronKerbosch::new);
+    }
+
+    @Test
+    public void testPivotStrategies() {
+        for (PivotStrategy pivotStrategy : PivotStrategy.values()) {
+            checkEngine((graph, degeneracy, pivot, environment) -> {
+                BronKerbosch<Integer, DefaultEdge> finder = new BronKerbosch<>(
+                        graph.toGraph(), degeneracy, pivot, environment);
+                finder.setPivotStrategy(pivotStrategy);
+                return finder;
+            });
+            checkEngine((graph, degeneracy, pivot, environment) -> {
+                BitSetBronKerbosch<Integer> finder = new BitSetBronKerbosch<>(
+                        graph, degeneracy, pivot, environment);
+                finder.setPivotStrategy(pivotStrategy);
+                return finder;
+            });
+        }
+    }
+
+    @Test
+    public void testParallelEngine() {
+        checkEngine((graph, degeneracy, pivot, environment) ->
+                new ParallelBronKerbosch<>(graph, degeneracy, pivot, environment, 4));
+    }
+
+    @Test
+    public void testSingleThreadedParallelEngine() {
+        checkEngine((graph, degeneracy, pivot, environment) ->
+                new ParallelBronKerbosch<>(graph, degeneracy, pivot, environment, 1));
+    }
+
+    @Test
+    public void testComponentEngine() {
+        checkEngine((graph, degeneracy, pivot, environment) ->
+                new ComponentBronKerbosch<>(graph, degeneracy, pivot, environment, 3));
+    }
+
+    @Test
+    public void testIterativeEngine() {
+        checkEngine(IterativeBronKerbosch::new);
+    }
+
+    @Test
+    public void testIterativeEnginePivotStrategies() {
+        for (PivotStrategy pivotStrategy : PivotStrategy.values()) {
+            checkEngine((graph, degeneracy, pivot, environment) -> {
+                IterativeBronKerbosch<Integer> finder = new IterativeBronKerbosch<>(
+                        graph, degeneracy, pivot, environment);
+                finder.setPivotStrategy(pivotStrategy);
+                return finder;
+            });
+        }
+    }
+
+    @Test
+    public void testCachingFinder() {
+        checkEngine((graph, degeneracy, pivot, environment) -> new CachingCliqueFinder<>(graph,
+                new BitSetBronKerbosch<>(graph, degeneracy, pivot, environment),
+                environment, new CliqueCache<>(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void testMaximumCliqueSolver() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < GRAPH_COUNT; i++) {
+            UndirectedGraph<Integer, DefaultEdge> graph = randomGraph(random);
+            Set<Set<Integer>> expected = findReference(graph);
+
+            MaximumCliqueSolver<Integer> solver = new MaximumCliqueSolver<>(graph, silentEnvironment());
+            solver.performTraversal();
+            assertEquals("Clique number of graph " + i, cliqueNumber(expected), solver.getCliqueNumber());
+        }
+    }
+
+    @Test
+    public void testMinimumCliqueSize() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < GRAPH_COUNT; i++) {
+            UndirectedGraph<Integer, DefaultEdge> graph = randomGraph(random);
+            Set<Set<Integer>> expected = findReference(graph);
+            int minimumCliqueSize = 1 + random.nextInt(6);
+
+            Set<Set<Integer>> filtered = new HashSet<>();
+            for (Set<Integer> clique : expected) {
+                if (clique.size() >= minimumCliqueSize) {
+                    filtered.add(clique);
+                }
+            }
+
+            for (int mode = 0; mode < 4; mode++) {
+                TextOutputEnvironment<Integer> environment = silentEnvironment();
+                BronKerbosch<Integer, DefaultEdge> finder = new BronKerbosch<>(
+                        graph, (mode & 1) != 0, (mode & 2) != 0, environment);
+                finder.setMinimumCliqueSize(minimumCliqueSize);
+                finder.performTraversal();
+                assertEquals("Cliques of graph " + i + " in mode " + mode,
+                        filtered, toSetOfSets(environment.getMaximalCliques()));
+            }
+        }
+    }
+
+    @Test
+    public void testStoppedStreamingTraversal() {
+        Random random = new Random(SEED);
+        UndirectedGraph<Integer, DefaultEdge> graph = randomGraph(random);
+        while (findReference(graph).size() < 4) {
+            graph = randomGraph(random);
+        }
+        CompactGraph<Integer> compactGraph = CompactGraph.fromGraph(graph);
+
+        List<CliqueFinder<Integer>> finders = new ArrayList<>();
+        finders.add(new BronKerbosch<>(graph, true, true, silentEnvironment()));
+        finders.add(new BitSetBronKerbosch<>(compactGraph, true, true, silentEnvironment()));
+        finders.add(new IterativeBronKerbosch<>(compactGraph, true, true, silentEnvironment()));
+        for (CliqueFinder<Integer> finder : finders) {
+            int[] accepted = new int[1];
+            finder.performTraversal(clique -> ++accepted[0] < 2);
+            assertEquals(finder.getClass().getSimpleName(), 2, accepted[0]);
+        }
+    }
+
+    /**
+     * Checks clique finders formed by given factory on random graphs in
+     * every combination of degeneracy ordering and pivot environment.
+     *
+     * @param factory factory of clique finders checked
+     */
+    private static void checkEngine(FinderFactory factory) {
+        Random random = new Random(SEED);
+        for (int i = 0; i < GRAPH_COUNT; i++) {
+            UndirectedGraph<Integer, DefaultEdge> graph = randomGraph(random);
+            CompactGraph<Integer> compactGraph = CompactGraph.fromGraph(graph);
+            Set<Set<Integer>> expected = findReference(graph);
+
+            for (int mode = 0; mode < 4; mode++) {
+                String description = "Graph " + i + " in mode " + mode;
+                TextOutputEnvironment<Integer> environment = silentEnvironment();
+                CliqueFinder<Integer> finder = factory.create(
+                        compactGraph, (mode & 1) != 0, (mode & 2) != 0, environment);
+
+                for (int run = 0; run < 2; run++) {
+                    finder.performTraversal();
+                    Collection<Set<Integer>> maximalCliques = environment.getMaximalCliques();
+                    assertEquals(description + ", duplicate cliques", expected.size(), maximalCliques.size());
+                    assertEquals(description, expected, toSetOfSets(maximalCliques));
+
+                    Collection<Set<Integer>> maximumCliques = environment.getMaximumCliques();
+                    for (Set<Integer> clique : maximumCliques) {
+                        assertEquals(description, cliqueNumber(expected), clique.size());
+                    }
+                    assertEquals(description, countOfSize(expected, cliqueNumber(expected)), maximumCliques.size());
+                }
+
+                Set<Set<Integer>> streamed = ConcurrentHashMap.newKeySet();
+                finder.performTraversal(clique -> {
+                    assertTrue(streamed.add(new HashSet<>(clique)));
+                    return true;
+                });
+                assertEquals(description + ", streamed", expected, streamed);
+
+                CliqueCounts cliqueCounts = finder.countCliques();
+                assertEquals(description + ", counted", expected.size(), cliqueCounts.getCliqueCount());
+                assertEquals(description + ", counted", cliqueNumber(expected), cliqueCounts.getCliqueNumber());
+                for (int size = 1; size <= cliqueCounts.getCliqueNumber(); size++) {
+                    assertEquals(description + ", counted size " + size,
+                            countOfSize(expected, size), cliqueCounts.getCount(size));
+                }
+            }
+        }
+    }
+
+    /**
+     * Forms random graph of up to 40 vertices. Some graphs consist of
+     * several parts of different density, some of which are complete.
+     *
+     * @param random source of randomness
+     * @return random graph
+     */
+    private static UndirectedGraph<Integer, DefaultEdge> randomGraph(Random random) {
+        UndirectedGraph<Integer, DefaultEdge> graph = new SimpleGraph<>(DefaultEdge.class);
+        int parts = 1 + random.nextInt(4);
+        int vertexCount = 0;
+        for (int part = 0; part < parts; part++) {
+            int size = 1 + random.nextInt(10);
+            double probability = random.nextInt(5) == 0 ? 1.0 : random.nextDouble();
+            for (int i = 0; i < size; i++) {
+                graph.addVertex(vertexCount + i);
+            }
+            for (int i = 0; i < size; i++) {
+                for (int j = i + 1; j < size; j++) {
+                    if (random.nextDouble() < probability) {
+                        graph.addEdge(vertexCount + i, vertexCount + j);
+                    }
+                }
+            }
+            vertexCount += size;
+        }
+
+        int bridges = random.nextInt(4);
+        for (int i = 0; i < bridges; i++) {
+            int source = random.nextInt(vertexCount);
+            int target = random.nextInt(vertexCount);
+            if (source != target) {
+                graph.addEdge(source, target);
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Finds maximal cliques of given graph through standard engine.
+     *
+     * @param graph graph traversed
+     * @return maximal cliques
+     */
+    private static Set<Set<Integer>> findReference(UndirectedGraph<Integer, DefaultEdge> graph) {
+        TextOutputEnvironment<Integer> environment = silentEnvironment();
+        new BronKerbosch<>(graph, false, false, environment).performTraversal();
+        return toSetOfSets(environment.getMaximalCliques());
+    }
+
+    private static Set<Set<Integer>> toSetOfSets(Collection<Set<Integer>> cliques) {
+        Set<Set<Integer>> result = new HashSet<>();
+        for (Set<Integer> clique : cliques) {
+            result.add(new HashSet<>(clique));
+        }
+        return result;
+    }
+
+    private static int cliqueNumber(Set<Set<Integer>> cliques) {
+        int cliqueNumber = 0;
+        for (Set<Integer> clique : cliques) {
+            cliqueNumber = Math.max(cliqueNumber, clique.size());
+        }
+        return cliqueNumber;
+    }
+
+    private static long countOfSize(Set<Set<Integer>> cliques, int size) {
+        long count = 0;
+        for (Set<Integer> clique : cliques) {
+            if (clique.size() == size) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Forms output environment which stores results without writing
+     * anything.
+     *
+     * @return silent output environment
+     */
+    private static TextOutputEnvironment<Integer> silentEnvironment() {
+        TextOutputEnvironment<Integer> environment = new TextOutputEnvironment<Integer>() {
+            @Override
+            protected void output(String text) {
+            }
+        };
+        environment.setTraceLevel(TraceLevel.OFF);
+        return environment;
+    }
+}
@@ -0,0 +1,206 @@
+package hr.fer.projekt.clique.algorithm;
+
+import hr.fer.projekt.clique.output.TraceLevel;
+import hr.fer.projekt.clique.output.implementation.TextOutputEnvironment;
+import org.jgrapht.UndirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.SimpleGraph;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks {@link DynamicCliqueIndex} against full recomputation. Random
+ * edges are added and removed, and after every update maximal cliques of
+ * index and changes it published are compared with maximal cliques
+ * found by {@link BronKerbosch} on a copy of updated graph.
+ */
+public class DynamicCliqueIndexTest {
+
+    /**
+     * Seed of random updates, so that failures can be reproduced.
+     */
+    private static final long SEED = 20160517L;
+
+    /**
+     * Number of graphs updates are applied to.
+     */
+    private static final int ROUNDS = 40;
+
+    /**
+     * Number of edge updates applied to every graph.
+     */
+    private static final int UPDATES = 300;
+
+    @Test
+    public void testRandomUpdates() {
+        Random random = new Random(SEED);
+        for (int round = 0; round < ROUNDS; round++) {
+            int vertexCount = 4 + random.nextInt(13);
+            UndirectedGraph<Integer, DefaultEdge> graph = new SimpleGraph<>(DefaultEdge.class);
+            for (int i = 0; i < vertexCount; i++) {
+                graph.addVertex(i);
+            }
+            double density = random.nextDouble();
+            for (int i = 0; i < vertexCount; i++) {
+                for (int j = i + 1; j < vertexCount; j++) {
+                    if (random.nextDouble() < density) {
+                        graph.addEdge(i, j);
+                    }
+                }
+            }
+
+            DynamicCliqueIndex<Integer> index = new DynamicCliqueIndex<>(graph);
+            List<CliqueDelta<Integer>> published = new ArrayList<>();
+            index.addListener(published::add);
+            Set<Set<Integer>> expected = findReference(graph);
+            assertIndex("Round " + round + " before updates", expected, index);
+
+            // Updates lean towards additions in some rounds and towards
+            // removals in others, so that both sparse and dense graphs occur.
+            double additionProbability = 0.3 + 0.4 * random.nextDouble();
+            for (int update = 0; update < UPDATES; update++) {
+                String description = "Round " + round + ", update " + update;
+                int source = random.nextInt(vertexCount);
+                int target = random.nextInt(vertexCount - 1);
+                if (target >= source) {
+                    target++;
+                }
+
+                CliqueDelta<Integer> delta;
+                if (random.nextDouble() < additionProbability) {
+                    graph.addEdge(source, target);
+                    delta = index.addEdge(source, target);
+                } else {
+                    graph.removeEdge(source, target);
+                    delta = index.removeEdge(source, target);
+                }
+
+                Set<Set<Integer>> previous = expected;
+                expected = findReference(graph);
+                assertIndex(description, expected, index);
+                assertDelta(description, previous, expected, delta);
+
+                if (delta.isEmpty()) {
+                    assertTrue(description, published.isEmpty());
+                } else {
+                    assertEquals(description, 1, published.size());
+                    assertSame(description, delta, published.get(0));
+                }
+                published.clear();
+            }
+        }
+    }
+
+    @Test
+    public void testGrowingFromEmptyGraph() {
+        Random random = new Random(SEED);
+        UndirectedGraph<Integer, DefaultEdge> graph = new SimpleGraph<>(DefaultEdge.class);
+        DynamicCliqueIndex<Integer> index = new DynamicCliqueIndex<>();
+        Set<Set<Integer>> expected = findReference(graph);
+        for (int update = 0; update < 400; update++) {
+            String description = "Update " + update;
+            int source = random.nextInt(20);
+            int target = random.nextInt(20);
+            CliqueDelta<Integer> delta;
+            if (source == target) {
+                graph.addVertex(source);
+                delta = index.addVertex(source);
+            } else {
+                graph.addVertex(source);
+                graph.addVertex(target);
+                graph.addEdge(source, target);
+                delta = index.addEdge(source, target);
+            }
+
+            Set<Set<Integer>> previous = expected;
+            expected = findReference(graph);
+            assertIndex(description, expected, index);
+            assertDelta(description, previous, expected, delta);
+        }
+    }
+
+    @Test
+    public void testRepeatedUpdatesChangeNothing() {
+        DynamicCliqueIndex<Integer> index = new DynamicCliqueIndex<>();
+        index.addEdge(1, 2);
+        assertTrue(index.addEdge(2, 1).isEmpty());
+        assertTrue(index.addVertex(1).isEmpty());
+        assertFalse(index.removeEdge(1, 2).isEmpty());
+        assertTrue(index.removeEdge(1, 2).isEmpty());
+        assertTrue(index.removeEdge(3, 4).isEmpty());
+    }
+
+    /**
+     * Checks that index holds given maximal cliques, and that cliques of
+     * every vertex and maximum cliques agree with them.
+     */
+    private static void assertIndex(String description, Set<Set<Integer>> expected,
+                                    DynamicCliqueIndex<Integer> index) {
+        assertEquals(description, expected, toSetOfSets(index.getMaximalCliques()));
+
+        Set<Integer> vertices = new HashSet<>();
+        for (Set<Integer> clique : expected) {
+            vertices.addAll(clique);
+        }
+        for (Integer vertex : vertices) {
+            Set<Set<Integer>> containing = new HashSet<>();
+            for (Set<Integer> clique : expected) {
+                if (clique.contains(vertex)) {
+                    containing.add(clique);
+                }
+            }
+            assertEquals(description + ", vertex " + vertex,
+                    containing, toSetOfSets(index.getMaximalCliques(vertex)));
+        }
+
+        assertEquals(description, toSetOfSets(CliqueStore.findMaximumCliques(expected)),
+                toSetOfSets(index.getMaximumCliques()));
+    }
+
+    /**
+     * Checks that given changes are exactly difference between maximal
+     * cliques before and after update.
+     */
+    private static void assertDelta(String description, Set<Set<Integer>> previous,
+                                    Set<Set<Integer>> current, CliqueDelta<Integer> delta) {
+        Set<Set<Integer>> added = new HashSet<>(current);
+        added.removeAll(previous);
+        Set<Set<Integer>> removed = new HashSet<>(previous);
+        removed.removeAll(current);
+
+        assertEquals(description + ", added", added.size(), delta.getAddedCliques().size());
+        assertEquals(description + ", added", added, toSetOfSets(delta.getAddedCliques()));
+        assertEquals(description + ", removed", removed.size(), delta.getRemovedCliques().size());
+        assertEquals(description + ", removed", removed, toSetOfSets(delta.getRemovedCliques()));
+    }
+
+    private static Set<Set<Integer>> findReference(UndirectedGraph<Integer, DefaultEdge> graph) {
+        TextOutputEnvironment<Integer> environment = new TextOutputEnvironment<Integer>() {
+            @Override
+            protected void output(String text) {
+            }
+        };
+        environment.setTraceLevel(TraceLevel.OFF);
+        new BronKerbosch<>(graph, true, true, environment).performTraversal();
+        return toSetOfSets(environment.getMaximalCliques());
+    }
+
+    private static Set<Set<Integer>> toSetOfSets(Collection<Set<Integer>> cliques) {
+        Set<Set<Integer>> result = new HashSet<>();
+        for (Set<Integer> clique : cliques) {
+            result.add(new HashSet<>(clique));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,230 @@
+package hr.fer.projekt.clique.algorithm;
+
+import hr.fer.projekt.clique.output.TraceLevel;
+import hr.fer.projekt.clique.output.implementation.TextOutputEnvironment;
+import org.jgrapht.UndirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.SimpleGraph;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks traversal limited by {@link SearchHandle}. Traversal stopped by
+ * node or time limit, or cancelled from another thread, needs to return
+ * incomplete results which hold only true maximal cliques of graph.
+ * Dense graphs used for time limits and cancellation have far too many
+ * maximal cliques to be traversed while tests run, so cliques found are
+ * checked against graph directly instead of against full traversal.
+ */
+public class SearchHandleTest {
+
+    /**
+     * Seed of random graphs, so that failures can be reproduced.
+     */
+    private static final long SEED = 20160517L;
+
+    @Test
+    public void testUnlimitedSearch() {
+        UndirectedGraph<Integer, DefaultEdge> graph = randomGraph(new Random(SEED), 60, 0.5);
+        SearchResult<Integer> result = newFinder(graph).performTraversal(new SearchHandle(SearchBudget.UNLIMITED));
+
+        assertTrue(result.isComplete());
+        Set<Set<Integer>> reference = findReference(graph);
+        assertEquals(reference, toSetOfSets(result.getMaximalCliques()));
+        assertEquals(cliqueNumber(reference), result.getLargestClique().size());
+    }
+
+    @Test
+    public void testNodeLimitedSearch() {
+        UndirectedGraph<Integer, DefaultEdge> graph = randomGraph(new Random(SEED), 60, 0.5);
+        Set<Set<Integer>> reference = findReference(graph);
+        long fullNodes = newFinder(graph).performTraversal(new SearchHandle(SearchBudget.UNLIMITED)).getNodes();
+
+        for (long limit = 1; limit < fullNodes; limit *= 3) {
+            String description = "Node limit " + limit;
+            SearchResult<Integer> result = newFinder(graph).performTraversal(
+                    new SearchHandle(SearchBudget.ofNodes(limit)));
+
+            assertFalse(description, result.isComplete());
+            assertTrue(description, result.getNodes() <= limit + 1);
+            Set<Set<Integer>> found = toSetOfSets(result.getMaximalCliques());
+            assertEquals(description, result.getMaximalCliques().size(), found.size());
+            assertTrue(description, reference.containsAll(found));
+            assertLargest(description, found, result);
+        }
+
+        SearchResult<Integer> result = newFinder(graph).performTraversal(
+                new SearchHandle(SearchBudget.ofNodes(fullNodes)));
+        assertTrue(result.isComplete());
+        assertEquals(reference, toSetOfSets(result.getMaximalCliques()));
+    }
+
+    @Test(timeout = 20000)
+    public void testTimeLimitedSearch() {
+        UndirectedGraph<Integer, DefaultEdge> graph = randomGraph(new Random(SEED), 150, 0.9);
+        SearchResult<Integer> result = newFinder(graph).performTraversal(
+                new SearchHandle(SearchBudget.ofTime(500, TimeUnit.MILLISECONDS)));
+
+        assertFalse(result.isComplete());
+        assertFalse(result.getMaximalCliques().isEmpty());
+        assertMaximal(graph, result);
+    }
+
+    @Test(timeout = 20000)
+    public void testCancelFromAnotherThread() throws Exception {
+        UndirectedGraph<Integer, DefaultEdge> graph = randomGraph(new Random(SEED), 150, 0.9);
+        SearchHandle handle = new SearchHandle(SearchBudget.UNLIMITED);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<SearchResult<Integer>> future = executor.submit(() -> newFinder(graph).performTraversal(handle));
+            Thread.sleep(100);
+            assertFalse(future.isDone());
+
+            handle.cancel();
+            SearchResult<Integer> result = future.get(10, TimeUnit.SECONDS);
+            assertTrue(handle.isCancelled());
+            assertFalse(result.isComplete());
+            assertMaximal(graph, result);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCancelBeforeStart() {
+        UndirectedGraph<Integer, DefaultEdge> graph = randomGraph(new Random(SEED), 60, 0.5);
+        SearchHandle handle = new SearchHandle(SearchBudget.UNLIMITED);
+        handle.cancel();
+        SearchResult<Integer> result = newFinder(graph).performTraversal(handle);
+
+        assertFalse(result.isComplete());
+        assertTrue(result.getMaximalCliques().isEmpty());
+        assertTrue(result.getLargestClique().isEmpty());
+        assertEquals(0, result.getNodes());
+    }
+
+    /**
+     * Checks that every clique of given result is a maximal clique of
+     * given graph, that no clique is found twice, and that the largest
+     * clique is the largest one found.
+     */
+    private static void assertMaximal(UndirectedGraph<Integer, DefaultEdge> graph, SearchResult<Integer> result) {
+        int vertexCount = graph.vertexSet().size();
+        boolean[][] adjacent = new boolean[vertexCount][vertexCount];
+        for (DefaultEdge edge : graph.edgeSet()) {
+            int source = graph.getEdgeSource(edge);
+            int target = graph.getEdgeTarget(edge);
+            adjacent[source][target] = true;
+            adjacent[target][source] = true;
+        }
+
+        Set<Set<Integer>> found = toSetOfSets(result.getMaximalCliques());
+        assertEquals(result.getMaximalCliques().size(), found.size());
+        assertLargest("Partial result", found, result);
+
+        for (Set<Integer> clique : found) {
+            for (Integer first : clique) {
+                for (Integer second : clique) {
+                    if (!first.equals(second) && !adjacent[first][second]) {
+                        fail("Not a clique: " + clique);
+                    }
+                }
+            }
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                if (clique.contains(vertex)) {
+                    continue;
+                }
+                boolean extendable = true;
+                for (Integer member : clique) {
+                    if (!adjacent[vertex][member]) {
+                        extendable = false;
+                        break;
+                    }
+                }
+                if (extendable) {
+                    fail("Clique " + clique + " is extended by " + vertex);
+                }
+            }
+        }
+    }
+
+    private static void assertLargest(String description, Set<Set<Integer>> found, SearchResult<Integer> result) {
+        if (found.isEmpty()) {
+            assertTrue(description, result.getLargestClique().isEmpty());
+        } else {
+            assertTrue(description, found.contains(new HashSet<>(result.getLargestClique())));
+            assertEquals(description, cliqueNumber(found), result.getLargestClique().size());
+        }
+    }
+
+    private static BronKerbosch<Integer, DefaultEdge> newFinder(UndirectedGraph<Integer, DefaultEdge> graph) {
+        return new BronKerbosch<>(graph, true, true, silentEnvironment());
+    }
+
+    private static TextOutputEnvironment<Integer> silentEnvironment() {
+        TextOutputEnvironment<Integer> environment = new TextOutputEnvironment<Integer>() {
+            @Override
+            protected void output(String text) {
+            }
+        };
+        environment.setTraceLevel(TraceLevel.OFF);
+        return environment;
+    }
+
+    private static UndirectedGraph<Integer, DefaultEdge> randomGraph(Random random, int vertexCount, double probability) {
+        UndirectedGraph<Integer, DefaultEdge> graph = new SimpleGraph<>(DefaultEdge.class);
+        for (int i = 0; i < vertexCount; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 0; i < vertexCount; i++) {
+            for (int j = i + 1; j < vertexCount; j++) {
+                if (random.nextDouble() < probability) {
+                    graph.addEdge(i, j);
+                }
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Finds maximal cliques of given graph through unlimited traversal,
+     * without degeneracy ordering and pivots.
+     *
+     * @param graph graph traversed
+     * @return maximal cliques
+     */
+    private static Set<Set<Integer>> findReference(UndirectedGraph<Integer, DefaultEdge> graph) {
+        TextOutputEnvironment<Integer> environment = silentEnvironment();
+        new BronKerbosch<>(graph, false, false, environment).performTraversal();
+        return toSetOfSets(environment.getMaximalCliques());
+    }
+
+    private static Set<Set<Integer>> toSetOfSets(Collection<Set<Integer>> cliques) {
+        Set<Set<Integer>> result = new HashSet<>();
+        for (Set<Integer> clique : cliques) {
+            result.add(new HashSet<>(clique));
+        }
+        return result;
+    }
+
+    private static int cliqueNumber(Set<Set<Integer>> cliques) {
+        int cliqueNumber = 0;
+        for (Set<Integer> clique : cliques) {
+            cliqueNumber = Math.max(cliqueNumber, clique.size());
+        }
+        return cliqueNumber;
+    }
+}
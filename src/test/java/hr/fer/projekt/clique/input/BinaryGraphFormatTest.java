@@ -0,0 +1,127 @@
+package hr.fer.projekt.clique.input;
+
+import hr.fer.projekt.clique.graph.CompactGraph;
+import hr.fer.projekt.clique.graph.CompactGraphBuilder;
+import hr.fer.projekt.clique.input.exception.GraphLoaderException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that graphs written in {@link BinaryGraphFormat} are loaded
+ * through {@link GraphLoader} as they were written.
+ */
+public class BinaryGraphFormatTest {
+
+    /**
+     * Directory of files written by tests.
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Random random = new Random(20160517L);
+        for (int i = 0; i < 20; i++) {
+            CompactGraph<String> graph = randomGraph(random, random.nextInt(300), random.nextDouble() * 0.2);
+            assertRoundTrip(graph);
+        }
+    }
+
+    @Test
+    public void testEmptyGraph() throws IOException {
+        assertRoundTrip(new CompactGraphBuilder<String>().build());
+    }
+
+    @Test
+    public void testDistantNeighbours() throws IOException {
+        CompactGraphBuilder<String> builder = new CompactGraphBuilder<>();
+        for (int i = 0; i < 100000; i++) {
+            builder.addVertex(Integer.toString(i));
+        }
+        builder.addEdge(0, 99999);
+        builder.addEdge(0, 128);
+        builder.addEdge(16384, 99999);
+        assertRoundTrip(builder.build());
+    }
+
+    @Test
+    public void testTextNames() throws IOException {
+        CompactGraphBuilder<String> builder = new CompactGraphBuilder<>();
+        int frog = builder.addVertex("\u017eaba");
+        int forest = builder.addVertex("\u0161uma");
+        int spaces = builder.addVertex("vertex with spaces");
+        int empty = builder.addVertex("");
+        builder.addEdge(frog, forest);
+        builder.addEdge(forest, spaces);
+        builder.addEdge(empty, frog);
+        assertRoundTrip(builder.build());
+    }
+
+    @Test(expected = GraphLoaderException.class)
+    public void testTruncatedFile() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("graph." + BinaryGraphFormat.EXTENSION);
+        BinaryGraphFormat.write(randomGraph(new Random(1), 50, 0.3), path);
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 3));
+
+        GraphLoader.getGraphLoader().loadCompactGraph(path);
+    }
+
+    @Test(expected = GraphLoaderException.class)
+    public void testWrongMagic() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("graph." + BinaryGraphFormat.EXTENSION);
+        Files.write(path, "%Vertices%\n1\n%Connections%\n".getBytes("US-ASCII"));
+
+        GraphLoader.getGraphLoader().loadCompactGraph(path);
+    }
+
+    /**
+     * Writes given graph in binary format, loads it and checks that
+     * loaded graph equals given one.
+     *
+     * @param graph graph written
+     * @throws IOException if graph could not be written
+     */
+    private void assertRoundTrip(CompactGraph<String> graph) throws IOException {
+        Path path = folder.newFolder().toPath().resolve("graph." + BinaryGraphFormat.EXTENSION);
+        BinaryGraphFormat.write(graph, path);
+
+        CompactGraph<String> loaded = GraphLoader.getGraphLoader().loadCompactGraph(path);
+        assertEquals(graph.getVertices(), loaded.getVertices());
+        assertArrayEquals(graph.getOffsets(), loaded.getOffsets());
+        assertArrayEquals(graph.getTargets(), loaded.getTargets());
+    }
+
+    /**
+     * Forms random graph whose vertices are named by their ids.
+     *
+     * @param random      source of randomness
+     * @param vertexCount number of vertices
+     * @param probability probability of every edge
+     * @return random graph
+     */
+    static CompactGraph<String> randomGraph(Random random, int vertexCount, double probability) {
+        CompactGraphBuilder<String> builder = new CompactGraphBuilder<>();
+        for (int i = 0; i < vertexCount; i++) {
+            builder.addVertex(Integer.toString(i + 1));
+        }
+        for (int i = 0; i < vertexCount; i++) {
+            for (int j = i + 1; j < vertexCount; j++) {
+                if (random.nextDouble() < probability) {
+                    builder.addEdge(i, j);
+                }
+            }
+        }
+        return builder.build();
+    }
+}
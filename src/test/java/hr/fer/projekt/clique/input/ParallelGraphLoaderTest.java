@@ -0,0 +1,231 @@
+package hr.fer.projekt.clique.input;
+
+import hr.fer.projekt.clique.generator.ErdosRenyiGenerator;
+import hr.fer.projekt.clique.generator.GraphWriter;
+import hr.fer.projekt.clique.graph.CompactGraph;
+import hr.fer.projekt.clique.input.exception.GraphLoaderException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that graphs written in DIMACS, METIS and edge list formats are
+ * loaded through {@link GraphLoader} and {@link ParallelGraphLoader} as
+ * they were written. Large graphs span several byte ranges, so that
+ * merging of ranges parsed by different tasks is checked as well.
+ */
+public class ParallelGraphLoaderTest {
+
+    /**
+     * Directory of files written by tests.
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testDimacsRoundTrip() throws IOException {
+        CompactGraph<String> graph = BinaryGraphFormatTest.randomGraph(new Random(1), 300, 0.1);
+        assertLoaded(graph, writeDimacs(graph, "small." + GraphFormat.DIMACS.getExtension()));
+    }
+
+    @Test
+    public void testLargeDimacsRoundTrip() throws IOException {
+        ErdosRenyiGenerator generator = new ErdosRenyiGenerator(2000, 0.15, 20160517L);
+        Path path = folder.getRoot().toPath().resolve("large." + GraphFormat.DIMACS.getExtension());
+        try (OutputStream stream = Files.newOutputStream(path)) {
+            GraphWriter.write(generator, GraphFormat.DIMACS, stream);
+        }
+        assertTrue(Files.size(path) > 1 << 21);
+
+        CompactGraph<String> graph = GraphLoader.getGraphLoader().loadCompactGraph(path);
+        assertLoaded(graph, writeDimacs(graph, "expected." + GraphFormat.DIMACS.getExtension()));
+        assertEquals(generatedEdges(generator), edgeSet(graph));
+    }
+
+    @Test
+    public void testMetisRoundTrip() throws IOException {
+        CompactGraph<String> graph = BinaryGraphFormatTest.randomGraph(new Random(2), 300, 0.1);
+        assertLoaded(graph, writeMetis(graph, "small." + GraphFormat.METIS.getExtension()));
+    }
+
+    @Test
+    public void testLargeMetisRoundTrip() throws IOException {
+        CompactGraph<String> graph = BinaryGraphFormatTest.randomGraph(new Random(3), 2000, 0.15);
+        Path path = writeMetis(graph, "large." + GraphFormat.METIS.getExtension());
+        assertTrue(Files.size(path) > 1 << 21);
+
+        assertLoaded(graph, path);
+    }
+
+    @Test
+    public void testMetisIsolatedVertices() throws IOException {
+        CompactGraph<String> graph = BinaryGraphFormatTest.randomGraph(new Random(4), 200, 0.005);
+        assertLoaded(graph, writeMetis(graph, "isolated." + GraphFormat.METIS.getExtension()));
+    }
+
+    @Test
+    public void testMetisWeights() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("weights." + GraphFormat.METIS.getExtension());
+        write(path, "% weighted graph\n4 3 11\n7 2 5 3 1\n7 1 5\n7 1 1 4 2\n7 3 2\n");
+
+        CompactGraph<String> graph = GraphLoader.getGraphLoader().loadCompactGraph(path);
+        assertEquals(4, graph.getVertexCount());
+        assertEquals(edges("1-2", "1-3", "3-4"), edgeSet(graph));
+    }
+
+    @Test
+    public void testDimacsCommentsLoopsAndDuplicates() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("comments." + GraphFormat.DIMACS.getExtension());
+        write(path, "c comment\np edge 5 5\nc another comment\ne 1 2\ne 2 1\ne 3 3\ne 4 5\ne 2 4\n");
+
+        CompactGraph<String> graph = GraphLoader.getGraphLoader().loadCompactGraph(path);
+        assertEquals(5, graph.getVertexCount());
+        assertEquals(edges("1-2", "2-4", "4-5"), edgeSet(graph));
+    }
+
+    @Test
+    public void testEdgeListRoundTrip() throws IOException {
+        ErdosRenyiGenerator generator = new ErdosRenyiGenerator(2000, 0.08, 5L);
+        Path path = folder.getRoot().toPath().resolve("large." + GraphFormat.EDGE_LIST.getExtension());
+        try (OutputStream stream = Files.newOutputStream(path)) {
+            GraphWriter.write(generator, GraphFormat.EDGE_LIST, stream);
+        }
+
+        CompactGraph<String> graph = new ParallelGraphLoader(4).load(path, GraphFormat.EDGE_LIST);
+        assertEquals(generatedEdges(generator), edgeSet(graph));
+    }
+
+    @Test(expected = GraphLoaderException.class)
+    public void testDimacsVertexOutOfRange() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("range." + GraphFormat.DIMACS.getExtension());
+        write(path, "p edge 3 2\ne 1 2\ne 2 4\n");
+
+        GraphLoader.getGraphLoader().loadCompactGraph(path);
+    }
+
+    @Test(expected = GraphLoaderException.class)
+    public void testMetisMissingLines() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("missing." + GraphFormat.METIS.getExtension());
+        write(path, "4 1\n2\n1\n");
+
+        GraphLoader.getGraphLoader().loadCompactGraph(path);
+    }
+
+    /**
+     * Loads graph from given file, sequentially and through several
+     * threads, and checks that every loaded graph equals given one.
+     *
+     * @param graph expected graph
+     * @param path  path of file with graph definition
+     */
+    private static void assertLoaded(CompactGraph<String> graph, Path path) {
+        GraphFormat format = GraphFormat.forExtension(Utility.getFileExtension(path.getFileName().toString()));
+        List<CompactGraph<String>> loaded = Arrays.asList(
+                GraphLoader.getGraphLoader().loadCompactGraph(path),
+                new ParallelGraphLoader(1).load(path, format),
+                new ParallelGraphLoader(4).load(path, format));
+        for (CompactGraph<String> candidate : loaded) {
+            assertEquals(graph.getVertices(), candidate.getVertices());
+            assertArrayEquals(graph.getOffsets(), candidate.getOffsets());
+            assertArrayEquals(graph.getTargets(), candidate.getTargets());
+        }
+    }
+
+    private Path writeDimacs(CompactGraph<String> graph, String fileName) throws IOException {
+        Path path = folder.getRoot().toPath().resolve(fileName);
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.US_ASCII)) {
+            writer.write("c written by test\n");
+            writer.write("p edge " + graph.getVertexCount() + " " + graph.getEdgeCount() + "\n");
+            int[] offsets = graph.getOffsets();
+            int[] targets = graph.getTargets();
+            for (int source = 0; source < graph.getVertexCount(); source++) {
+                for (int i = offsets[source]; i < offsets[source + 1]; i++) {
+                    if (source < targets[i]) {
+                        writer.write("e " + (source + 1) + " " + (targets[i] + 1) + "\n");
+                    }
+                }
+            }
+        }
+        return path;
+    }
+
+    private Path writeMetis(CompactGraph<String> graph, String fileName) throws IOException {
+        Path path = folder.getRoot().toPath().resolve(fileName);
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.US_ASCII)) {
+            writer.write("% written by test\n");
+            writer.write(graph.getVertexCount() + " " + graph.getEdgeCount() + "\n");
+            int[] offsets = graph.getOffsets();
+            int[] targets = graph.getTargets();
+            for (int source = 0; source < graph.getVertexCount(); source++) {
+                StringBuilder line = new StringBuilder();
+                for (int i = offsets[source]; i < offsets[source + 1]; i++) {
+                    if (line.length() > 0) {
+                        line.append(' ');
+                    }
+                    line.append(targets[i] + 1);
+                }
+                writer.write(line.append('\n').toString());
+            }
+        }
+        return path;
+    }
+
+    private static void write(Path path, String content) throws IOException {
+        Files.write(path, content.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Edges produced by given generator, named as {@link GraphWriter}
+     * names them.
+     *
+     * @param generator graph generator
+     * @return edges in form 'u-v', where u is smaller name
+     * @throws IOException never, since edges are not written
+     */
+    private static Set<String> generatedEdges(ErdosRenyiGenerator generator) throws IOException {
+        Set<String> edges = new HashSet<>();
+        generator.generate((source, target) -> edges.add(edge(source + 1, target + 1)));
+        return edges;
+    }
+
+    private static Set<String> edgeSet(CompactGraph<String> graph) {
+        Set<String> edges = new HashSet<>();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        for (int source = 0; source < graph.getVertexCount(); source++) {
+            for (int i = offsets[source]; i < offsets[source + 1]; i++) {
+                edges.add(edge(Integer.parseInt(graph.getVertex(source)),
+                        Integer.parseInt(graph.getVertex(targets[i]))));
+            }
+        }
+        return edges;
+    }
+
+    private static Set<String> edges(String... edges) {
+        Set<String> result = new HashSet<>();
+        for (String edge : edges) {
+            result.add(edge);
+        }
+        return result;
+    }
+
+    private static String edge(int source, int target) {
+        return Math.min(source, target) + "-" + Math.max(source, target);
+    }
+}
@@ -0,0 +1,205 @@
+package hr.fer.projekt.clique.output.implementation;
+
+import hr.fer.projekt.clique.algorithm.CliqueStore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that cliques appended to {@link SpillingOutputEnvironment} are
+ * read back from files as they were appended, and that views of stored
+ * cliques can not be used once stored cliques are replaced. Files are
+ * mapped in small regions, so that cliques padded to region boundaries
+ * are read as well.
+ */
+public class SpillingOutputEnvironmentTest {
+
+    /**
+     * Seed of random cliques, so that failures can be reproduced.
+     */
+    private static final long SEED = 20160517L;
+
+    /**
+     * Number of graph vertices.
+     */
+    private static final int VERTEX_COUNT = 20;
+
+    /**
+     * Size of mapped region used by tests, which is just large enough
+     * for clique of all vertices.
+     */
+    private static final int REGION_SIZE = 128;
+
+    /**
+     * Directory of files written by tests.
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testAppendedCliquesAreReadBack() throws IOException {
+        Random random = new Random(SEED);
+        List<Set<Integer>> cliques = randomCliques(random, 500);
+        Path directory = folder.newFolder().toPath();
+
+        long recordsSize = 0;
+        try (SpillingOutputEnvironment<Integer> environment = newEnvironment(directory)) {
+            for (Set<Integer> clique : cliques) {
+                environment.accept(clique);
+                recordsSize += 4 * (clique.size() + 1);
+            }
+            assertStored(cliques, environment);
+        }
+
+        // Records do not divide regions evenly, so some of them were moved
+        // past padding to the start of next region.
+        assertTrue(Files.size(directory.resolve(SpillingOutputEnvironment.DATA_FILE_NAME)) > recordsSize);
+    }
+
+    @Test
+    public void testCliquesAreReadBackWhileAppended() throws IOException {
+        Random random = new Random(SEED + 1);
+        List<Set<Integer>> cliques = new ArrayList<>();
+        try (SpillingOutputEnvironment<Integer> environment = newEnvironment(folder.newFolder().toPath())) {
+            for (Set<Integer> clique : randomCliques(random, 100)) {
+                environment.accept(clique);
+                cliques.add(clique);
+                assertStored(cliques, environment);
+            }
+        }
+    }
+
+    @Test
+    public void testReplacedCliques() throws IOException {
+        Random random = new Random(SEED + 2);
+        List<Set<Integer>> cliques = randomCliques(random, 200);
+        List<Set<Integer>> replacement = randomCliques(random, 150);
+
+        try (SpillingOutputEnvironment<Integer> environment = newEnvironment(folder.newFolder().toPath())) {
+            environment.setMaximalCliques(cliques);
+            assertStored(cliques, environment);
+
+            Collection<Set<Integer>> maximalCliques = environment.getMaximalCliques();
+            Collection<Set<Integer>> maximumCliques = environment.getMaximumCliques();
+            Iterator<Set<Integer>> iterator = maximalCliques.iterator();
+            iterator.next();
+            Set<Integer> clique = environment.getClique(0);
+
+            environment.setMaximalCliques(replacement);
+
+            assertThrows(() -> maximalCliques.size());
+            assertThrows(() -> ((List<Set<Integer>>) maximalCliques).get(0));
+            assertThrows(() -> iterator.next());
+            assertThrows(() -> maximumCliques.size());
+            assertThrows(() -> maximumCliques.iterator().next());
+            assertThrows(() -> clique.size());
+            assertThrows(() -> clique.contains(0));
+            assertThrows(() -> clique.iterator());
+
+            assertStored(replacement, environment);
+
+            environment.setMaximalCliques(new ArrayList<>());
+            assertStored(new ArrayList<>(), environment);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownVertex() throws IOException {
+        try (SpillingOutputEnvironment<Integer> environment = newEnvironment(folder.newFolder().toPath())) {
+            Set<Integer> clique = new HashSet<>();
+            clique.add(VERTEX_COUNT);
+            environment.accept(clique);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyVertices() throws IOException {
+        List<Integer> vertices = new ArrayList<>();
+        for (int i = 0; i < REGION_SIZE / 4; i++) {
+            vertices.add(i);
+        }
+        new SpillingOutputEnvironment<>(vertices, folder.newFolder().toPath(), REGION_SIZE);
+    }
+
+    /**
+     * Checks that environment holds given cliques, read by index and by
+     * iteration, and that maximum cliques and clique number agree with
+     * {@link CliqueStore#findMaximumCliques(Collection)}.
+     */
+    private static void assertStored(List<Set<Integer>> expected, SpillingOutputEnvironment<Integer> environment) {
+        assertEquals(expected.size(), environment.getCliqueCount());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals("Clique " + i, expected.get(i), environment.getClique(i));
+            assertEquals("Clique " + i, expected.get(i).size(), environment.getClique(i).size());
+        }
+
+        Collection<Set<Integer>> maximalCliques = environment.getMaximalCliques();
+        assertEquals(expected.size(), maximalCliques.size());
+        List<Set<Integer>> iterated = new ArrayList<>();
+        for (Set<Integer> clique : maximalCliques) {
+            iterated.add(new HashSet<>(clique));
+        }
+        assertEquals(expected, iterated);
+
+        List<Set<Integer>> maximumCliques = CliqueStore.findMaximumCliques(expected);
+        int cliqueNumber = maximumCliques.isEmpty() ? 0 : maximumCliques.get(0).size();
+        assertEquals(cliqueNumber, environment.getCliqueNumber());
+        assertEquals(maximumCliques.size(), environment.getMaximumCliqueCount());
+        assertEquals(maximumCliques.size(), environment.getMaximumCliques().size());
+        List<Set<Integer>> iteratedMaximum = new ArrayList<>();
+        for (Set<Integer> clique : environment.getMaximumCliques()) {
+            iteratedMaximum.add(new HashSet<>(clique));
+        }
+        assertEquals(maximumCliques, iteratedMaximum);
+    }
+
+    private static void assertThrows(Runnable action) {
+        try {
+            action.run();
+            fail("View of replaced cliques was used.");
+        } catch (IllegalStateException expected) {
+            // View of replaced cliques can not be used.
+        }
+    }
+
+    private static SpillingOutputEnvironment<Integer> newEnvironment(Path directory) {
+        List<Integer> vertices = new ArrayList<>();
+        for (int i = 0; i < VERTEX_COUNT; i++) {
+            vertices.add(i);
+        }
+        return new SpillingOutputEnvironment<>(vertices, directory, REGION_SIZE);
+    }
+
+    /**
+     * Forms random cliques over graph vertices. Sizes are spread up to
+     * clique of all vertices, so that records of various sizes meet
+     * region boundaries.
+     */
+    private static List<Set<Integer>> randomCliques(Random random, int count) {
+        List<Set<Integer>> cliques = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int size = 1 + random.nextInt(VERTEX_COUNT);
+            Set<Integer> clique = new HashSet<>();
+            while (clique.size() < size) {
+                clique.add(random.nextInt(VERTEX_COUNT));
+            }
+            cliques.add(clique);
+        }
+        return cliques;
+    }
+}